@@ -0,0 +1,50 @@
+package com.payments.simulation;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+import io.gatling.javaapi.core.*;
+import io.gatling.javaapi.http.*;
+
+import java.util.UUID;
+
+/**
+ * Drives synchronous submissions, which hold a request open until authorization completes, so thread
+ * usage dominates. Run it once against the default profile and once with the virtual profile added,
+ * then compare the two reports.
+ */
+public class ThreadingComparisonSimulation extends Simulation {
+
+    private static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8080");
+    private static final int USERS_PER_SEC = Integer.getInteger("usersPerSec", 200);
+    private static final int DURATION_SECONDS = Integer.getInteger("durationSeconds", 60);
+
+    private final HttpProtocolBuilder httpProtocol;
+    private final ScenarioBuilder scn;
+
+    public ThreadingComparisonSimulation() {
+        httpProtocol = http
+                .baseUrl(BASE_URL)
+                .acceptHeader("application/json")
+                .contentTypeHeader("application/json");
+
+        scn = scenario("ThreadingComparisonSimulation")
+                .exec(session -> session.set("idempotencyKey", UUID.randomUUID().toString()))
+                .exec(
+                        http("Submit Sync Payment")
+                                .post("/api/payments/v1/submit-payment")
+                                .header("x-correlation-id", "#{randomUuid()}")
+                                .header("x-idempotency-key", "#{idempotencyKey}")
+                                .header("x-request-status", "200")
+                                .body(StringBody("{ \"debtor\": { \"accountNumber\": \"123456789\", \"accountName\": \"John Doe\" }, \"creditor\": { \"accountNumber\": \"123456786\", \"accountName\": \"John Doe\" }, \"amount\": 100.5, \"currency\": \"USD\", \"paymentReference\": \"#{idempotencyKey}\", \"paymentDate\": \"2023-10-01\" }"))
+                                .check(status().in(200, 429))
+                );
+
+        setUp(
+                scn.injectOpen(
+                        rampUsersPerSec(10).to(USERS_PER_SEC).during(DURATION_SECONDS / 3),
+                        constantUsersPerSec(USERS_PER_SEC).during(DURATION_SECONDS))
+        ).protocols(httpProtocol)
+                .assertions(global().failedRequests().percent().lt(1.0));
+    }
+}
@@ -1,12 +1,15 @@
 package com.payments.frontdoor.activities;
 
+import com.payments.frontdoor.config.PaymentActivityCustomProperties;
 import com.payments.frontdoor.exception.*;
 import com.payments.frontdoor.model.PaymentAuthorizationResponse;
 import com.payments.frontdoor.model.PaymentDetails;
 import com.payments.frontdoor.model.PaymentInstruction;
 import com.payments.frontdoor.model.PaymentOrderResponse;
+import com.payments.frontdoor.service.AsyncCompletionManager;
 import com.payments.frontdoor.service.PaymentApiConnector;
 import com.payments.frontdoor.service.PaymentDispatcherService;
+import com.payments.frontdoor.util.PaymentUtil;
 import io.temporal.activity.Activity;
 import io.temporal.activity.ActivityExecutionContext;
 import io.temporal.spring.boot.ActivityImpl;
@@ -14,7 +17,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ForkJoinPool;
 
 @Slf4j
 @Component
@@ -27,21 +29,35 @@ public class PaymentActivityImpl implements PaymentActivity {
 
     private final PaymentApiConnector paymentApiConnector;
     private final PaymentDispatcherService dispatcherService;
+    private final AsyncCompletionManager asyncCompletionManager;
+    private final PaymentActivityCustomProperties properties;
 
     public PaymentActivityImpl(PaymentApiConnector paymentApiConnector,
-                               PaymentDispatcherService dispatcherService) {
+                               PaymentDispatcherService dispatcherService,
+                               AsyncCompletionManager asyncCompletionManager,
+                               PaymentActivityCustomProperties properties) {
         this.paymentApiConnector = paymentApiConnector;
         this.dispatcherService = dispatcherService;
+        this.asyncCompletionManager = asyncCompletionManager;
+        this.properties = properties;
     }
 
     @Override
     public PaymentInstruction initiatePayment(PaymentDetails input) {
         log.info("Initiating payment for: {}", input);
-        return convertToPaymentInstruction(input);
+        return PaymentUtil.toPaymentInstruction(input);
     }
 
     @Override
     public boolean managePaymentOrder(PaymentInstruction instruction) {
+        if (properties.isAsyncHttp()) {
+            return completeAsync("payment order", instruction, paymentApiConnector.orderPaymentAsync(instruction)
+                    .toFuture()
+                    .thenApply(response -> {
+                        validateOrderResponse(response);
+                        return true;
+                    }));
+        }
         return Boolean.TRUE.equals(executePaymentOperation("payment order", instruction, () -> {
             PaymentOrderResponse response = paymentApiConnector.callOrderPayment(instruction);
             validateOrderResponse(response);
@@ -51,6 +67,15 @@ public class PaymentActivityImpl implements PaymentActivity {
 
     @Override
     public boolean authorizePayment(PaymentInstruction instruction) {
+        if (properties.isAsyncHttp()) {
+            return completeAsync("payment authorization", instruction,
+                    paymentApiConnector.authorizePaymentAsync(instruction)
+                            .toFuture()
+                            .thenApply(response -> {
+                                validateAuthorizationResponse(response);
+                                return true;
+                            }));
+        }
         return Boolean.TRUE.equals(executePaymentOperation("payment authorization", instruction, () -> {
             PaymentAuthorizationResponse response = paymentApiConnector.callAuthorizePayment(instruction);
             validateAuthorizationResponse(response);
@@ -84,9 +109,8 @@ public class PaymentActivityImpl implements PaymentActivity {
         ActivityExecutionContext context = Activity.getExecutionContext();
         byte[] taskToken = context.getTaskToken();
 
-        CompletableFuture.runAsync(() ->
-                        dispatcherService.dispatchPayment(instruction, PaymentStepStatus.POSTED, taskToken),
-                ForkJoinPool.commonPool());
+        asyncCompletionManager.dispatch(taskToken, context.getInfo().getStartToCloseTimeout(), () ->
+                dispatcherService.dispatchPayment(instruction, PaymentStepStatus.POSTED, taskToken));
 
         context.doNotCompleteOnReturn();
         return PaymentStepStatus.POSTED;
@@ -115,20 +139,39 @@ public class PaymentActivityImpl implements PaymentActivity {
             T result = operation.execute();
             log.debug("{} successful for instruction: {}", operationName, instruction);
             return result;
-        } catch (PaymentOrderFailedException | PaymentAuthorizationFailedException e) {
-            logAndRethrow("Payment operation failed", correlationId, e);
-        } catch (PaymentBadRequestException e) {
-            logAndRethrow("Invalid payment request", correlationId, e);
-        } catch (PaymentUnauthorizedException | PaymentForbiddenException e) {
-            logAndRethrow("Authentication/Authorization failed", correlationId, e);
-        } catch (PaymentServerException e) {
-            log.error("Payment service error: [correlationId={}] - {}", correlationId, e.getMessage());
-            throw new PaymentProcessingException("Payment service temporarily unavailable", e);
         } catch (Exception e) {
-            log.error("Unexpected error during {}: [correlationId={}]", operationName, correlationId, e);
-            throw new PaymentProcessingException("Unexpected error during payment processing", e);
+            throw toActivityFailure(operationName, correlationId, e);
         }
-        return null; // This line will never be reached due to the exception handling
+    }
+
+    /**
+     * Starts the operation and returns without completing the activity. The activity is completed with the
+     * operation's result, or failed with the same exceptions the blocking path throws, once it finishes.
+     */
+    private boolean completeAsync(String operationName, PaymentInstruction instruction,
+                                  CompletableFuture<Boolean> operation) {
+        String correlationId = instruction.getHeaders().get(CORRELATION_ID_HEADER);
+        ActivityExecutionContext context = Activity.getExecutionContext();
+        log.info("Initiating {} for instruction: {}", operationName, instruction);
+        asyncCompletionManager.completeWhen(context.getTaskToken(), context.getInfo().getStartToCloseTimeout(),
+                operation, error -> toActivityFailure(operationName, correlationId, error));
+        context.doNotCompleteOnReturn();
+        return true; // Ignored, the activity completes through its task token
+    }
+
+    private RuntimeException toActivityFailure(String operationName, String correlationId, Throwable e) {
+        if (e instanceof PaymentOrderFailedException || e instanceof PaymentAuthorizationFailedException) {
+            return logged("Payment operation failed", correlationId, e);
+        } else if (e instanceof PaymentBadRequestException) {
+            return logged("Invalid payment request", correlationId, e);
+        } else if (e instanceof PaymentUnauthorizedException || e instanceof PaymentForbiddenException) {
+            return logged("Authentication/Authorization failed", correlationId, e);
+        } else if (e instanceof PaymentServerException) {
+            log.error("Payment service error: [correlationId={}] - {}", correlationId, e.getMessage());
+            return new PaymentProcessingException("Payment service temporarily unavailable", e);
+        }
+        log.error("Unexpected error during {}: [correlationId={}]", operationName, correlationId, e);
+        return new PaymentProcessingException("Unexpected error during payment processing", e);
     }
 
     private PaymentStepStatus handlePaymentStep(PaymentInstruction instruction,
@@ -166,32 +209,12 @@ public class PaymentActivityImpl implements PaymentActivity {
         }
     }
 
-    private void logAndRethrow(String message, String correlationId, Exception e) {
+    private RuntimeException logged(String message, String correlationId, Throwable e) {
         log.error("{}: [correlationId={}] - {}", message, correlationId, e.getMessage());
-        throw e instanceof RuntimeException ? (RuntimeException) e :
+        return e instanceof RuntimeException ? (RuntimeException) e :
                 new PaymentProcessingException(message, e);
     }
 
-    private PaymentInstruction convertToPaymentInstruction(PaymentDetails details) {
-        return PaymentInstruction.builder()
-                .paymentStatus(details.getPaymentStatus())
-                .paymentId(details.getPaymentId())
-                .debtor(details.getDebtor())
-                .creditor(details.getCreditor())
-                .amount(details.getAmount())
-                .currency(details.getCurrency())
-                .paymentReference(details.getPaymentReference())
-                .paymentDate(details.getPaymentDate())
-                .bankAddress("Main Road")
-                .bankCountry("Australia")
-                .bankCity("Melbourne")
-                .bic("LIAM123")
-                .bankName("Liam Bank")
-                .headers(details.getHeaders())
-                .build();
-    }
-
-
     @FunctionalInterface
     private interface PaymentOperation<T> {
         T execute() throws PaymentProcessingException;
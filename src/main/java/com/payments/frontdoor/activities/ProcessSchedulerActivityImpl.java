@@ -21,7 +21,8 @@ public class ProcessSchedulerActivityImpl implements ProcessSchedulerActivity {
     @Override
     public String submitPayments(PaymentDetails input) {
         log.info("Submitting payment for: {}", input);
-         paymentProcessService.processPaymentAsync(input);
+        // Wait for the start, so a failed start fails the activity and is retried
+        paymentProcessService.processPaymentAsync(input).join();
         return "Payment submitted successfully";
     }
 
@@ -4,8 +4,9 @@ package com.payments.frontdoor.actuator;
 import io.temporal.common.metadata.*;
 import io.temporal.spring.boot.autoconfigure.template.WorkersTemplate;
 import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
@@ -18,77 +19,80 @@ import org.springframework.stereotype.Component;
 public class WorkerActuatorEndpoint {
 
     private final WorkersTemplate workersTemplate;
+    private final WorkerRuntimeStats workerRuntimeStats;
 
-    public WorkerActuatorEndpoint(@Qualifier("temporalWorkersTemplate") WorkersTemplate workersTemplate) {
+    public WorkerActuatorEndpoint(@Qualifier("temporalWorkersTemplate") WorkersTemplate workersTemplate,
+                                  WorkerRuntimeStats workerRuntimeStats) {
         this.workersTemplate = workersTemplate;
+        this.workerRuntimeStats = workerRuntimeStats;
     }
 
 
     @ReadOperation
-    public String workerInfo() {
-        StringBuilder sb = new StringBuilder();
-        Map<String, WorkersTemplate.RegisteredInfo> registeredInfo =
-                workersTemplate.getRegisteredInfo();
-        sb.append("Worker Info:");
-        registeredInfo.forEach(
-                (taskQueue, info) -> {
-                    sb.append("\n\n\tTask Queue: ").append(taskQueue);
-                    info.getRegisteredWorkflowInfo()
-                            .forEach(
-                                    (workflowInfo) -> {
-                                        sb.append("\n\t\t Workflow Interface: ").append(workflowInfo.getClassName());
-                                        POJOWorkflowImplMetadata metadata = workflowInfo.getMetadata();
-                                        sb.append("\n\t\t\t Workflow Methods: ");
-                                        sb.append(
-                                                metadata.getWorkflowMethods().stream()
-                                                        .map(POJOWorkflowMethodMetadata::getWorkflowMethod)
-                                                        .map(Method::getName)
-                                                        .collect(Collectors.joining(", ")));
-                                        sb.append("\n\t\t\t Query Methods: ");
-                                        sb.append(
-                                                metadata.getQueryMethods().stream()
-                                                        .map(POJOWorkflowMethodMetadata::getWorkflowMethod)
-                                                        .map(Method::getName)
-                                                        .collect(Collectors.joining(", ")));
-                                        sb.append("\n\t\t\t Signal Methods: ");
-                                        sb.append(
-                                                metadata.getSignalMethods().stream()
-                                                        .map(POJOWorkflowMethodMetadata::getWorkflowMethod)
-                                                        .map(Method::getName)
-                                                        .collect(Collectors.joining(", ")));
-                                        sb.append("\n\t\t\t Update Methods: ");
-                                        sb.append(
-                                                metadata.getUpdateMethods().stream()
-                                                        .map(POJOWorkflowMethodMetadata::getWorkflowMethod)
-                                                        .map(Method::getName)
-                                                        .collect(Collectors.joining(",")));
-                                        sb.append("\n\t\t\t Update Validator Methods: ");
-                                        sb.append(
-                                                metadata.getUpdateValidatorMethods().stream()
-                                                        .map(POJOWorkflowMethodMetadata::getWorkflowMethod)
-                                                        .map(Method::getName)
-                                                        .collect(Collectors.joining(", ")));
-                                    });
-                    info.getRegisteredActivityInfo()
-                            .forEach(
-                                    (activityInfo) -> {
-                                        sb.append("\n\t\t Activity Impl: ").append(activityInfo.getClassName());
-                                        POJOActivityImplMetadata metadata = activityInfo.getMetadata();
-                                        sb.append("\n\t\t\t Activity Interfaces: ");
-                                        sb.append(
-                                                metadata.getActivityInterfaces().stream()
-                                                        .map(POJOActivityInterfaceMetadata::getInterfaceClass)
-                                                        .map(Class::getName)
-                                                        .collect(Collectors.joining(",")));
-                                        sb.append("\n\t\t\t Activity Methods: ");
-                                        sb.append(
-                                                metadata.getActivityMethods().stream()
-                                                        .map(POJOActivityMethodMetadata::getMethod)
-                                                        .map(Method::getName)
-                                                        .collect(Collectors.joining(", ")));
-                                    });
-                });
-
-        return sb.toString();
+    public WorkerInfoReport workerInfo() {
+        List<WorkerInfo> workers = workersTemplate.getRegisteredInfo().entrySet().stream()
+                .map(entry -> toWorkerInfo(entry.getKey(), entry.getValue()))
+                .toList();
+        return new WorkerInfoReport(workerRuntimeStats.stickyCacheSize(), workers);
+    }
+
+    private WorkerInfo toWorkerInfo(String taskQueue, WorkersTemplate.RegisteredInfo info) {
+        List<WorkflowInfo> workflows = info.getRegisteredWorkflowInfo().stream()
+                .map(workflowInfo -> {
+                    POJOWorkflowImplMetadata metadata = workflowInfo.getMetadata();
+                    Map<String, List<String>> methods = new LinkedHashMap<>();
+                    methods.put("workflow", workflowMethodNames(metadata.getWorkflowMethods()));
+                    methods.put("query", workflowMethodNames(metadata.getQueryMethods()));
+                    methods.put("signal", workflowMethodNames(metadata.getSignalMethods()));
+                    methods.put("update", workflowMethodNames(metadata.getUpdateMethods()));
+                    methods.put("updateValidator", workflowMethodNames(metadata.getUpdateValidatorMethods()));
+                    return new WorkflowInfo(workflowInfo.getClassName(), methods);
+                })
+                .toList();
+        List<ActivityInfo> activities = info.getRegisteredActivityInfo().stream()
+                .map(activityInfo -> {
+                    POJOActivityImplMetadata metadata = activityInfo.getMetadata();
+                    return new ActivityInfo(activityInfo.getClassName(),
+                            metadata.getActivityInterfaces().stream()
+                                    .map(POJOActivityInterfaceMetadata::getInterfaceClass)
+                                    .map(Class::getName)
+                                    .toList(),
+                            metadata.getActivityMethods().stream()
+                                    .map(POJOActivityMethodMetadata::getMethod)
+                                    .map(Method::getName)
+                                    .toList());
+                })
+                .toList();
+
+        return new WorkerInfo(taskQueue, workflows, activities,
+                workerRuntimeStats.slots(taskQueue),
+                workerRuntimeStats.pollers(taskQueue),
+                workerRuntimeStats.stickyCache(taskQueue),
+                workerRuntimeStats.backlog(taskQueue));
+    }
+
+    private List<String> workflowMethodNames(List<POJOWorkflowMethodMetadata> methods) {
+        return methods.stream()
+                .map(POJOWorkflowMethodMetadata::getWorkflowMethod)
+                .map(Method::getName)
+                .toList();
+    }
+
+    public record WorkerInfoReport(long stickyCacheSize, List<WorkerInfo> workers) {
+    }
+
+    public record WorkerInfo(String taskQueue,
+                             List<WorkflowInfo> workflows,
+                             List<ActivityInfo> activities,
+                             Map<String, WorkerRuntimeStats.SlotUsage> slots,
+                             Map<String, Long> pollers,
+                             WorkerRuntimeStats.StickyCache stickyCache,
+                             Map<String, Object> backlog) {
+    }
+
+    public record WorkflowInfo(String className, Map<String, List<String>> methods) {
+    }
+
+    public record ActivityInfo(String className, List<String> interfaces, List<String> methods) {
     }
 }
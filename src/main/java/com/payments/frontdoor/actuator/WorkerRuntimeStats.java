@@ -0,0 +1,123 @@
+package com.payments.frontdoor.actuator;
+
+import com.payments.frontdoor.service.TemporalQueryGateway;
+import com.payments.frontdoor.util.FutureUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import io.temporal.api.enums.v1.TaskQueueType;
+import io.temporal.api.taskqueue.v1.TaskQueueTypeInfo;
+import io.temporal.api.taskqueue.v1.TaskQueueVersionInfo;
+import io.temporal.api.workflowservice.v1.DescribeTaskQueueResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Live runtime figures for a worker. Slot, poller and sticky cache numbers come from the Temporal SDK
+ * metrics in the meter registry; backlog and dispatch rate come from DescribeTaskQueue.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WorkerRuntimeStats {
+
+    private static final String TASK_QUEUE = "task_queue";
+    private static final Map<String, String> WORKER_TYPES = Map.of(
+            "workflow", "WorkflowWorker",
+            "activity", "ActivityWorker",
+            "localActivity", "LocalActivityWorker");
+    private static final Map<String, String> POLLER_TYPES = Map.of(
+            "workflow", "workflow_task",
+            "sticky", "sticky_workflow_task",
+            "activity", "activity_task");
+
+    private final MeterRegistry meterRegistry;
+    private final TemporalQueryGateway temporalQueryGateway;
+
+    public Map<String, SlotUsage> slots(String taskQueue) {
+        Map<String, SlotUsage> slots = new LinkedHashMap<>();
+        WORKER_TYPES.forEach((name, workerType) -> slots.put(name, new SlotUsage(
+                (long) gaugeSum("temporal_worker_task_slots_used", taskQueue, "worker_type", workerType),
+                (long) gaugeSum("temporal_worker_task_slots_available", taskQueue, "worker_type", workerType))));
+        return slots;
+    }
+
+    public Map<String, Long> pollers(String taskQueue) {
+        Map<String, Long> pollers = new LinkedHashMap<>();
+        POLLER_TYPES.forEach((name, pollerType) ->
+                pollers.put(name, (long) gaugeSum("temporal_num_pollers", taskQueue, "poller_type", pollerType)));
+        return pollers;
+    }
+
+    public StickyCache stickyCache(String taskQueue) {
+        double hits = counterSum("temporal_sticky_cache_hit", taskQueue);
+        double misses = counterSum("temporal_sticky_cache_miss", taskQueue);
+        double lookups = hits + misses;
+        return new StickyCache((long) hits, (long) misses, lookups == 0 ? null : hits / lookups);
+    }
+
+    /**
+     * Sticky cache entries are shared by all workers of the factory, so the size is not per task queue.
+     */
+    public long stickyCacheSize() {
+        return (long) Search.in(meterRegistry).name("temporal_sticky_cache_size").gauges().stream()
+                .mapToDouble(Gauge::value)
+                .sum();
+    }
+
+    public Map<String, Object> backlog(String taskQueue) {
+        Map<String, Object> backlog = new LinkedHashMap<>();
+        try {
+            DescribeTaskQueueResponse response = FutureUtil.join(temporalQueryGateway.describeTaskQueue(taskQueue));
+            TaskQueueVersionInfo unversioned = response.getVersionsInfoMap().get("");
+            if (unversioned == null) {
+                return backlog;
+            }
+            backlog.put("workflow", toBacklog(unversioned.getTypesInfoMap().get(TaskQueueType.TASK_QUEUE_TYPE_WORKFLOW_VALUE)));
+            backlog.put("activity", toBacklog(unversioned.getTypesInfoMap().get(TaskQueueType.TASK_QUEUE_TYPE_ACTIVITY_VALUE)));
+        } catch (RuntimeException e) {
+            log.warn("Could not describe task queue {}: {}", taskQueue, e.getMessage());
+            backlog.put("error", e.getMessage());
+        }
+        return backlog;
+    }
+
+    private Backlog toBacklog(TaskQueueTypeInfo typeInfo) {
+        if (typeInfo == null) {
+            return null;
+        }
+        return new Backlog(
+                typeInfo.getStats().getApproximateBacklogCount(),
+                typeInfo.getStats().getApproximateBacklogAge().getSeconds(),
+                typeInfo.getStats().getTasksAddRate(),
+                typeInfo.getStats().getTasksDispatchRate(),
+                typeInfo.getPollersCount());
+    }
+
+    private double gaugeSum(String name, String taskQueue, String tagKey, String tagValue) {
+        return Search.in(meterRegistry).name(name).tag(TASK_QUEUE, taskQueue).tag(tagKey, tagValue).gauges().stream()
+                .mapToDouble(Gauge::value)
+                .sum();
+    }
+
+    private double counterSum(String name, String taskQueue) {
+        return Search.in(meterRegistry).name(name).tag(TASK_QUEUE, taskQueue).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    public record SlotUsage(long used, long available) {
+    }
+
+    public record StickyCache(long hits, long misses, Double hitRate) {
+    }
+
+    public record Backlog(long approximateCount, long approximateAgeSeconds, float addRate, float dispatchRate,
+                          int pollers) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.payments.frontdoor.actuator;
+
+import com.payments.frontdoor.service.WorkerTuningService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Shows and changes the slot limits of the fixed-size Temporal workers at runtime, e.g.
+ * {@code POST /actuator/workertuning/high-payment-worker {"activitySlots": 400}}.
+ */
+@Component
+@Endpoint(id = "workertuning")
+@RequiredArgsConstructor
+public class WorkerTuningEndpoint {
+
+    private final WorkerTuningService workerTuningService;
+
+    @ReadOperation
+    public Map<String, WorkerTuningService.WorkerSlots> slots() {
+        return workerTuningService.currentSlots();
+    }
+
+    @WriteOperation
+    public WorkerTuningService.WorkerSlots resize(@Selector String worker,
+                                                  @Nullable Integer workflowTaskSlots,
+                                                  @Nullable Integer activitySlots,
+                                                  @Nullable Integer localActivitySlots) {
+        return workerTuningService.resize(worker, workflowTaskSlots, activitySlots, localActivitySlots);
+    }
+}
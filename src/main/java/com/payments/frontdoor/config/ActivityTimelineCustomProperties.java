@@ -0,0 +1,15 @@
+package com.payments.frontdoor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "payments.activity-timeline")
+public class ActivityTimelineCustomProperties {
+    private int historyPageSize = 256;
+    private int maxClosedTimelines = 5_000;
+}
@@ -0,0 +1,39 @@
+package com.payments.frontdoor.config;
+
+import com.payments.frontdoor.model.AdmissionBudget;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "payments.admission")
+public class AdmissionControlCustomProperties {
+    private boolean enabled = true;
+    private Duration latencyThreshold = Duration.ofSeconds(1);
+    private double backoffRatio = 0.9;
+    private Duration retryAfter = Duration.ofSeconds(1);
+    private Map<AdmissionBudget, Budget> budgets = new EnumMap<>(Map.of(
+            AdmissionBudget.HIGH, new Budget(200, 20, 1000),
+            AdmissionBudget.NORMAL, new Budget(100, 10, 500),
+            AdmissionBudget.LOW, new Budget(50, 5, 250),
+            AdmissionBudget.CROSS_BORDER, new Budget(50, 5, 250)));
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Budget {
+        private int initialLimit = 50;
+        private int minLimit = 5;
+        private int maxLimit = 250;
+    }
+}
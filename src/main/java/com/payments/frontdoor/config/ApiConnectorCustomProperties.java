@@ -5,11 +5,57 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 @Getter
 @Setter
 @Configuration
-@ConfigurationProperties(prefix = "payments.api.urls")
+@ConfigurationProperties(prefix = "payments.api")
 public class ApiConnectorCustomProperties {
-    private String authorize;
-    private String order;
-}
\ No newline at end of file
+    private Urls urls = new Urls();
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    /**
+     * Time allowed between sending a request and receiving its response headers.
+     */
+    private Duration responseTimeout = Duration.ofSeconds(10);
+    /**
+     * Negotiate HTTP/2, falling back to HTTP/1.1. Uses TLS when every host is https, cleartext upgrade otherwise.
+     */
+    private boolean http2 = false;
+    /**
+     * Pool settings for every downstream host that has no entry in {@link #hosts}. Each host gets its own pool.
+     */
+    private Pool pool = new Pool();
+    /**
+     * Pool settings for specific hosts, keyed by {@code host:port} as it appears in the URLs. Keep-alive is
+     * client wide and always taken from {@link #pool}.
+     */
+    private Map<String, Pool> hosts = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Urls {
+        private String authorize;
+        private String order;
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private int maxConnections = 100;
+        /**
+         * Requests waiting for a connection beyond this fail straight away instead of queueing.
+         */
+        private int maxPendingAcquires = 500;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+        /**
+         * Connections idle for longer are closed, before the server or a load balancer drops them silently.
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictionInterval = Duration.ofSeconds(30);
+        private boolean keepAlive = true;
+    }
+}
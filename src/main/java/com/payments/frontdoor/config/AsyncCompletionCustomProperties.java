@@ -0,0 +1,33 @@
+package com.payments.frontdoor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "payments.async-completion")
+public class AsyncCompletionCustomProperties {
+    private int corePoolSize = 4;
+    private int maxPoolSize = 16;
+    private int queueCapacity = 1000;
+    /**
+     * Threads that report results handed over by asynchronous activities back to Temporal.
+     */
+    private int completionThreads = 4;
+    private Duration sweepInterval = Duration.ofSeconds(1);
+    /**
+     * Tokens still outstanding after this long are failed, for activities that do not pass their own
+     * StartToClose timeout.
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+    /**
+     * Tokens are failed this long before their activity's StartToClose timeout, so the attempt fails here with a
+     * retryable error rather than timing out on the server.
+     */
+    private Duration timeoutMargin = Duration.ofMillis(200);
+}
@@ -0,0 +1,17 @@
+package com.payments.frontdoor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "payments.async")
+public class AsyncCustomProperties {
+    private int corePoolSize = 8;
+    private int maxPoolSize = 32;
+    private int queueCapacity = 1000;
+    private int virtualConcurrencyLimit = 1000;
+}
@@ -0,0 +1,16 @@
+package com.payments.frontdoor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "payments.bulk")
+public class BulkPaymentCustomProperties {
+    private int maxInFlight = 64;
+    private int statusQueryChunkSize = 200;
+    private int statusPageSize = 1000;
+}
@@ -0,0 +1,20 @@
+package com.payments.frontdoor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "payments.idempotency")
+public class IdempotencyCustomProperties {
+    private int cacheSize = 10_000;
+    private Duration retention = Duration.ofHours(24);
+    private Duration purgeInterval = Duration.ofHours(1);
+    private Path storeDirectory = Path.of(System.getProperty("java.io.tmpdir"), "frontdoor", "idempotency");
+}
@@ -0,0 +1,20 @@
+package com.payments.frontdoor.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.payments.frontdoor.service.FileSystemIdempotencyStore;
+import com.payments.frontdoor.service.IdempotencyStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdempotencyStoreConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(IdempotencyStore.class)
+    public IdempotencyStore fileSystemIdempotencyStore(IdempotencyCustomProperties properties,
+                                                       ObjectMapper objectMapper) {
+        return new FileSystemIdempotencyStore(properties.getStoreDirectory(), objectMapper,
+                properties.getRetention(), properties.getPurgeInterval());
+    }
+}
@@ -0,0 +1,38 @@
+package com.payments.frontdoor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "payments.payload")
+public class PayloadCustomProperties {
+    /**
+     * Write new workflow and activity payloads as Smile instead of JSON. Both encodings are always read, but
+     * releases before Smile support cannot read it, so this is only turned on once every client and worker
+     * runs a release that reads Smile.
+     */
+    private boolean binary = false;
+    /**
+     * LZ4-compress payloads whose serialized size reaches the threshold. Compressed payloads are always
+     * read, so turning this off does not break histories that already hold them. Like {@link #binary}, it
+     * is only turned on once no instance of a release without LZ4 support is left.
+     */
+    private boolean compression = false;
+    private DataSize compressionThreshold = DataSize.ofKilobytes(1);
+    /**
+     * Keep payloads whose encoded size reaches the threshold in the payload store and write only their hash
+     * to history. Every client and worker must reach the same store, so the default local directory only
+     * suits a single instance. References are always resolved, whether or not new payloads are claim-checked.
+     */
+    private boolean claimCheck = false;
+    private DataSize claimCheckThreshold = DataSize.ofKilobytes(2);
+    private int claimCheckCacheSize = 10_000;
+    private Path claimCheckDirectory = Path.of(System.getProperty("java.io.tmpdir"), "frontdoor", "payloads");
+}
@@ -0,0 +1,18 @@
+package com.payments.frontdoor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "payments.activities")
+public class PaymentActivityCustomProperties {
+    /**
+     * Let order management and authorization return as soon as the downstream call is sent and complete
+     * the activity when the response arrives, so neither a thread nor an activity slot waits on it.
+     */
+    private boolean asyncHttp = false;
+}
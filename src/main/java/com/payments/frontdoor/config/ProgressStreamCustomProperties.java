@@ -0,0 +1,18 @@
+package com.payments.frontdoor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "payments.progress-stream")
+public class ProgressStreamCustomProperties {
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+    private Duration pollTimeout = Duration.ofSeconds(60);
+    private int queryThreads = 4;
+}
@@ -0,0 +1,40 @@
+package com.payments.frontdoor.config;
+
+import com.payments.frontdoor.actuator.WorkerTuningEndpoint;
+import org.springframework.boot.actuate.autoconfigure.security.reactive.EndpointRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    private static final String OPERATOR_ROLE = "OPERATOR";
+
+    /**
+     * Resizing worker slots is restricted to operators whenever {@code workertuning} is exposed over HTTP.
+     */
+    @Bean
+    @Order(1)
+    public SecurityWebFilterChain workerTuningSecurityWebFilterChain(ServerHttpSecurity http) {
+        http.securityMatcher(EndpointRequest.to(WorkerTuningEndpoint.class))
+                .authorizeExchange(exchanges -> exchanges.anyExchange().hasRole(OPERATOR_ROLE))
+                .httpBasic(Customizer.withDefaults())
+                .csrf(ServerHttpSecurity.CsrfSpec::disable);
+        return http.build();
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        http.csrf(ServerHttpSecurity.CsrfSpec::disable);
+        return http.build();
+    }
+
+}
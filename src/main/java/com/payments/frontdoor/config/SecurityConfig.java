@@ -1,7 +1,12 @@
 package com.payments.frontdoor.config;
 
+import com.payments.frontdoor.actuator.WorkerTuningEndpoint;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -9,12 +14,28 @@ import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
 @EnableWebSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SecurityConfig  {
 
+    private static final String OPERATOR_ROLE = "OPERATOR";
+
+    /**
+     * Resizing worker slots is restricted to operators whenever {@code workertuning} is exposed over HTTP.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain workerTuningSecurityFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher(EndpointRequest.to(WorkerTuningEndpoint.class))
+                .authorizeHttpRequests(requests -> requests.anyRequest().hasRole(OPERATOR_ROLE))
+                .httpBasic(Customizer.withDefaults())
+                .csrf(AbstractHttpConfigurer::disable);
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable);
         return http.build();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package com.payments.frontdoor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "payments.status-cache")
+public class StatusCacheCustomProperties {
+    private int maxEntries = 10_000;
+    private Duration terminalTtl = Duration.ofHours(1);
+    private Duration runningTtl = Duration.ofSeconds(2);
+}
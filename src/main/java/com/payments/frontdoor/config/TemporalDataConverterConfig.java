@@ -0,0 +1,65 @@
+package com.payments.frontdoor.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.payments.frontdoor.service.ClaimCheckPayloadCodec;
+import com.payments.frontdoor.service.FileSystemPayloadStore;
+import com.payments.frontdoor.service.PayloadStore;
+import com.payments.frontdoor.util.Lz4PayloadCodec;
+import com.payments.frontdoor.util.SmilePayloadConverter;
+import io.temporal.common.converter.CodecDataConverter;
+import io.temporal.common.converter.ByteArrayPayloadConverter;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.DefaultDataConverter;
+import io.temporal.common.converter.JacksonJsonPayloadConverter;
+import io.temporal.common.converter.NullPayloadConverter;
+import io.temporal.common.converter.PayloadConverter;
+import io.temporal.common.converter.ProtobufJsonPayloadConverter;
+import io.temporal.common.converter.ProtobufPayloadConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Data converter picked up by the Temporal starter for the client and every worker. The first converter
+ * that accepts a value encodes it; decoding goes by the encoding recorded on each payload, so Smile and
+ * JSON are both registered whichever one writes. Payloads are then LZ4-compressed and, above the claim-check
+ * threshold, moved to the payload store. Both codecs stay in place when switched off, only with an unreachable
+ * threshold, so payloads they already wrote can still be read.
+ */
+@Configuration
+public class TemporalDataConverterConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(PayloadStore.class)
+    public PayloadStore fileSystemPayloadStore(PayloadCustomProperties properties) {
+        return new FileSystemPayloadStore(properties.getClaimCheckDirectory());
+    }
+
+    @Bean
+    public DataConverter mainDataConverter(PayloadCustomProperties properties, PayloadStore payloadStore) {
+        ObjectMapper jsonMapper = JacksonJsonPayloadConverter.newDefaultObjectMapper();
+        PayloadConverter smile = new SmilePayloadConverter(jsonMapper);
+        PayloadConverter json = new JacksonJsonPayloadConverter(jsonMapper);
+
+        DataConverter converter = new DefaultDataConverter(
+                new NullPayloadConverter(),
+                new ByteArrayPayloadConverter(),
+                new ProtobufJsonPayloadConverter(),
+                new ProtobufPayloadConverter(),
+                properties.isBinary() ? smile : json,
+                properties.isBinary() ? json : smile);
+
+        int compressionThreshold = properties.isCompression()
+                ? (int) properties.getCompressionThreshold().toBytes()
+                : Integer.MAX_VALUE;
+        int claimCheckThreshold = properties.isClaimCheck()
+                ? (int) properties.getClaimCheckThreshold().toBytes()
+                : Integer.MAX_VALUE;
+        // Codecs encode last to first, so payloads are compressed before they are claim-checked
+        return new CodecDataConverter(converter, List.of(
+                new ClaimCheckPayloadCodec(payloadStore, claimCheckThreshold, properties.getClaimCheckCacheSize()),
+                new Lz4PayloadCodec(compressionThreshold)));
+    }
+}
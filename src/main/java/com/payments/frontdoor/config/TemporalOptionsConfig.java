@@ -0,0 +1,53 @@
+package com.payments.frontdoor.config;
+
+import com.payments.frontdoor.metrics.EagerDispatchClientInterceptor;
+import com.payments.frontdoor.metrics.PaymentStepWorkerInterceptor;
+import com.payments.frontdoor.service.WorkerTuningService;
+import com.payments.frontdoor.util.ConcurrencyLimitingClientInterceptor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.temporal.serviceclient.WorkflowServiceStubsOptions;
+import io.temporal.spring.boot.TemporalOptionsCustomizer;
+import io.temporal.spring.boot.WorkerOptionsCustomizer;
+import io.temporal.worker.WorkerFactoryOptions;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Customizers for the options the Temporal starter builds. The starter accepts a single customizer per
+ * options type, so every customization of a given type belongs in the one bean defined here.
+ */
+@Configuration
+public class TemporalOptionsConfig {
+
+    @Bean
+    public TemporalOptionsCustomizer<WorkflowServiceStubsOptions.Builder> workflowServiceStubsCustomizer(
+            TemporalRpcCustomProperties properties, MeterRegistry meterRegistry) {
+        ConcurrencyLimitingClientInterceptor rpcLimiter = new ConcurrencyLimitingClientInterceptor(
+                properties.getMaxConcurrentCalls(), properties.getLimitedMethods(), properties.getAcquireTimeout());
+        Gauge.builder("payments.temporal.rpc.permits.available", rpcLimiter,
+                        ConcurrencyLimitingClientInterceptor::availablePermits)
+                .register(meterRegistry);
+        Gauge.builder("payments.temporal.rpc.waiting", rpcLimiter, ConcurrencyLimitingClientInterceptor::waitingCalls)
+                .register(meterRegistry);
+
+        EagerDispatchClientInterceptor eagerDispatch = new EagerDispatchClientInterceptor(meterRegistry);
+
+        return builder -> builder.addGrpcClientInterceptor(rpcLimiter)
+                .addGrpcClientInterceptor(eagerDispatch);
+    }
+
+    @Bean
+    public TemporalOptionsCustomizer<WorkerFactoryOptions.Builder> workerFactoryCustomizer(
+            WorkerTuningCustomProperties properties) {
+        return builder -> builder.setWorkerInterceptors(new PaymentStepWorkerInterceptor())
+                .setWorkflowCacheSize(properties.getWorkflowCacheSize())
+                .setMaxWorkflowThreadCount(properties.getMaxWorkflowThreadCount())
+                .setUsingVirtualWorkflowThreads(properties.isVirtualWorkflowThreads());
+    }
+
+    @Bean
+    public WorkerOptionsCustomizer workerOptionsCustomizer(WorkerTuningService workerTuningService) {
+        return (builder, workerName, taskQueue) -> workerTuningService.customize(builder, workerName);
+    }
+}
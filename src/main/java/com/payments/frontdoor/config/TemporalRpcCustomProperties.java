@@ -0,0 +1,41 @@
+package com.payments.frontdoor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "payments.temporal-rpc")
+public class TemporalRpcCustomProperties {
+    private int maxConcurrentCalls = 256;
+    /**
+     * How long a call may wait for a permit before it fails. The calling thread never waits, the call is queued.
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+    private Duration queryDeadline = Duration.ofSeconds(5);
+    /**
+     * Threads that run {@code WorkflowStub.start} for the bulk and reactive endpoints, and how many starts may
+     * wait for one before new starts fail. Synchronous submissions run update-with-start on a second pool of
+     * the same size.
+     */
+    private int startThreads = 32;
+    private int startQueueCapacity = 1000;
+    /**
+     * Ask the server to hand the first workflow task of a HIGH priority payment straight back to a local
+     * worker in the start response. The server falls back to the task queue when no local slot is free.
+     */
+    private boolean eagerHighPriorityStart = true;
+    private Set<String> limitedMethods = Set.of(
+            "StartWorkflowExecution",
+            "ExecuteMultiOperation",
+            "SignalWorkflowExecution",
+            "DescribeWorkflowExecution",
+            "QueryWorkflow",
+            "ListWorkflowExecutions");
+}
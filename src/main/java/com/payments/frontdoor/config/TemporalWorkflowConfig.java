@@ -1,9 +1,13 @@
 package com.payments.frontdoor.config;
 
+import com.payments.frontdoor.model.PaymentPriority;
 import com.payments.frontdoor.workflows.CrossBoarderPaymentWorkflow;
 import com.payments.frontdoor.workflows.HighPriorityWorkflow;
 import com.payments.frontdoor.workflows.PaymentWorkflow;
 import com.payments.frontdoor.workflows.ProcessScheduler;
+import io.temporal.api.enums.v1.WorkflowIdConflictPolicy;
+import io.temporal.api.enums.v1.WorkflowIdReusePolicy;
+import io.temporal.client.ActivityCompletionClient;
 import io.temporal.client.WorkflowClient;
 import io.temporal.client.WorkflowOptions;
 import org.springframework.beans.factory.annotation.Value;
@@ -24,6 +28,15 @@ public class TemporalWorkflowConfig {
     @Value("${payments.scheduler.batch-payment}")
     private String batchPaymentCron;
 
+    @Value("${payments.temporal-rpc.eager-high-priority-start:true}")
+    private boolean eagerHighPriorityStart;
+
+    public String workflowTypeFor(PaymentPriority priority) {
+        return priority == PaymentPriority.HIGH
+                ? HighPriorityWorkflow.class.getSimpleName()
+                : PaymentWorkflow.class.getSimpleName();
+    }
+
     @Bean
     public WorkflowOptions workflowOptions() {
         return WorkflowOptions.newBuilder()
@@ -53,6 +66,14 @@ public class TemporalWorkflowConfig {
             .build();
     }
 
+    /**
+     * Shared by everything that completes activities asynchronously, instead of a new client per completion.
+     */
+    @Bean
+    public ActivityCompletionClient activityCompletionClient(WorkflowClient workflowClient) {
+        return workflowClient.newActivityCompletionClient();
+    }
+
     @Bean
     public PaymentWorkflow sendPaymentWorkflow(WorkflowClient workflowClient, WorkflowOptions workflowOptions) {
         return workflowClient.newWorkflowStub(PaymentWorkflow.class, workflowOptions);
@@ -77,6 +98,7 @@ public class TemporalWorkflowConfig {
         WorkflowOptions options = WorkflowOptions.newBuilder()
                 .setTaskQueue(TaskQueue.NORMAL)
                 .setWorkflowId(workflowId)
+                .setWorkflowIdReusePolicy(WorkflowIdReusePolicy.WORKFLOW_ID_REUSE_POLICY_REJECT_DUPLICATE)
                 .build();
         return workflowClient.newWorkflowStub(PaymentWorkflow.class, options);
     }
@@ -85,6 +107,7 @@ public class TemporalWorkflowConfig {
         WorkflowOptions options = WorkflowOptions.newBuilder()
                 .setTaskQueue(TaskQueue.CROSS_BOARDER)
                 .setWorkflowId(workflowId)
+                .setWorkflowIdReusePolicy(WorkflowIdReusePolicy.WORKFLOW_ID_REUSE_POLICY_REJECT_DUPLICATE)
                 .build();
         return workflowClient.newWorkflowStub(CrossBoarderPaymentWorkflow.class, options);
     }
@@ -93,6 +116,32 @@ public class TemporalWorkflowConfig {
         WorkflowOptions options = WorkflowOptions.newBuilder()
                 .setTaskQueue(TaskQueue.HIGH)
                 .setWorkflowId(workflowId)
+                .setWorkflowIdReusePolicy(WorkflowIdReusePolicy.WORKFLOW_ID_REUSE_POLICY_REJECT_DUPLICATE)
+                .setRequestEagerStart(eagerHighPriorityStart)
+                .build();
+        return workflowClient.newWorkflowStub(HighPriorityWorkflow.class, options);
+    }
+
+    /**
+     * Update-with-start stubs attach to a payment that is already running under the same id, so a
+     * retried synchronous request waits on the original workflow instead of failing.
+     */
+    public PaymentWorkflow sendPaymentWorkflowForUpdateWithStart(WorkflowClient workflowClient, String workflowId) {
+        WorkflowOptions options = WorkflowOptions.newBuilder()
+                .setTaskQueue(TaskQueue.NORMAL)
+                .setWorkflowId(workflowId)
+                .setWorkflowIdReusePolicy(WorkflowIdReusePolicy.WORKFLOW_ID_REUSE_POLICY_REJECT_DUPLICATE)
+                .setWorkflowIdConflictPolicy(WorkflowIdConflictPolicy.WORKFLOW_ID_CONFLICT_POLICY_USE_EXISTING)
+                .build();
+        return workflowClient.newWorkflowStub(PaymentWorkflow.class, options);
+    }
+
+    public HighPriorityWorkflow highPaymentWorkflowForUpdateWithStart(WorkflowClient workflowClient, String workflowId) {
+        WorkflowOptions options = WorkflowOptions.newBuilder()
+                .setTaskQueue(TaskQueue.HIGH)
+                .setWorkflowId(workflowId)
+                .setWorkflowIdReusePolicy(WorkflowIdReusePolicy.WORKFLOW_ID_REUSE_POLICY_REJECT_DUPLICATE)
+                .setWorkflowIdConflictPolicy(WorkflowIdConflictPolicy.WORKFLOW_ID_CONFLICT_POLICY_USE_EXISTING)
                 .build();
         return workflowClient.newWorkflowStub(HighPriorityWorkflow.class, options);
     }
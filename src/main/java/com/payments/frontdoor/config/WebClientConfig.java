@@ -1,17 +1,90 @@
 package com.payments.frontdoor.config;
 
 
+import com.payments.frontdoor.metrics.ConnectionPoolMeterRegistrar;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.stream.Stream;
 
 
 @Configuration
 public class WebClientConfig {
 
-    @Bean
-    public WebClient webClient(WebClient.Builder builder) {
+    static final String PAYMENT_API_POOL = "payment-api";
+
+    /**
+     * Connection pool for the payment API. Reactor Netty keeps a separate pool per remote host, each sized by
+     * {@code payments.api.pool} unless {@code payments.api.hosts} overrides that host. The authorize and order
+     * URLs both default to localhost:3001, so out of the box they share a single pool.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider paymentApiConnectionProvider(ApiConnectorCustomProperties properties,
+                                                           MeterRegistry meterRegistry) {
+        ApiConnectorCustomProperties.Pool pool = properties.getPool();
+        // One registrar for the provider's lifetime, it tracks the meters to remove when a pool is disposed
+        ConnectionPoolMeterRegistrar registrar = new ConnectionPoolMeterRegistrar(meterRegistry);
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(PAYMENT_API_POOL)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getMaxPendingAcquires())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(true, () -> registrar);
+        properties.getHosts().forEach((host, hostPool) -> builder.forRemoteHost(remoteHost(host), spec -> spec
+                .maxConnections(hostPool.getMaxConnections())
+                .pendingAcquireMaxCount(hostPool.getMaxPendingAcquires())
+                .pendingAcquireTimeout(hostPool.getPendingAcquireTimeout())
+                .maxIdleTime(hostPool.getMaxIdleTime())
+                .maxLifeTime(hostPool.getMaxLifeTime())
+                .evictInBackground(hostPool.getEvictionInterval())
+                .metrics(true, () -> registrar)));
         return builder.build();
     }
 
+    @Bean
+    public WebClient webClient(WebClient.Builder builder, ConnectionProvider paymentApiConnectionProvider,
+                               ApiConnectorCustomProperties properties) {
+        HttpClient httpClient = HttpClient.create(paymentApiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getResponseTimeout())
+                .keepAlive(properties.getPool().isKeepAlive());
+        if (properties.isHttp2()) {
+            httpClient = httpClient.protocol(http2Protocol(properties), HttpProtocol.HTTP11);
+        }
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    /**
+     * Matches the unresolved address Reactor Netty derives from a request URL, so the key is the URL's host and
+     * port.
+     */
+    private SocketAddress remoteHost(String hostAndPort) {
+        int separator = hostAndPort.lastIndexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("payments.api.hosts keys must be host:port, got " + hostAndPort);
+        }
+        return InetSocketAddress.createUnresolved(hostAndPort.substring(0, separator),
+                Integer.parseInt(hostAndPort.substring(separator + 1)));
+    }
+
+    private HttpProtocol http2Protocol(ApiConnectorCustomProperties properties) {
+        ApiConnectorCustomProperties.Urls urls = properties.getUrls();
+        boolean secure = Stream.of(urls.getAuthorize(), urls.getOrder())
+                .allMatch(url -> url != null && url.startsWith("https://"));
+        return secure ? HttpProtocol.H2 : HttpProtocol.H2C;
+    }
+
 }
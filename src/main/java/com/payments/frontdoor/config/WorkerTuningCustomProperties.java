@@ -0,0 +1,63 @@
+package com.payments.frontdoor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "payments.worker-tuning")
+public class WorkerTuningCustomProperties {
+    private int workflowCacheSize = 600;
+    private int maxWorkflowThreadCount = 600;
+    private boolean virtualWorkflowThreads = false;
+    /**
+     * Tuning per worker name from spring.temporal.workers; workers without an entry use the defaults.
+     */
+    private Map<String, Worker> workers = new HashMap<>();
+
+    public enum Mode {
+        FIXED,
+        RESOURCE_BASED
+    }
+
+    @Getter
+    @Setter
+    public static class Worker {
+        private Mode mode = Mode.FIXED;
+        /**
+         * Run workflow task, activity and local activity executors on virtual threads, so blocking
+         * activities no longer pin a platform thread and slots are bounded by downstream capacity instead.
+         */
+        private boolean virtualThreads = false;
+        /**
+         * Let the server return activities scheduled by a workflow task in the completion response, so
+         * they start on this worker without a poll. Only applies to activities on the worker's own task queue.
+         */
+        private boolean eagerActivities = true;
+        private int workflowTaskSlots = 200;
+        private int activitySlots = 200;
+        private int localActivitySlots = 200;
+        private int workflowTaskPollers = 2;
+        private int activityTaskPollers = 5;
+        private ResourceBased resourceBased = new ResourceBased();
+    }
+
+    @Getter
+    @Setter
+    public static class ResourceBased {
+        private double targetMemoryUsage = 0.8;
+        private double targetCpuUsage = 0.9;
+        private int minWorkflowTaskSlots = 2;
+        private int maxWorkflowTaskSlots = 200;
+        private int minActivitySlots = 1;
+        private int maxActivitySlots = 500;
+        private Duration activityRampThrottle = Duration.ofMillis(50);
+    }
+}
@@ -0,0 +1,21 @@
+package com.payments.frontdoor.exception;
+
+import com.payments.frontdoor.model.AdmissionBudget;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+@Getter
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class PaymentThrottledException extends RuntimeException {
+    private final AdmissionBudget budget;
+    private final Duration retryAfter;
+
+    public PaymentThrottledException(AdmissionBudget budget, Duration retryAfter) {
+        super("Payment capacity exhausted for " + budget + " priority");
+        this.budget = budget;
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,59 @@
+package com.payments.frontdoor.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes each Reactor Netty connection pool as {@value #ACTIVE}, {@value #IDLE} and {@value #PENDING} gauges,
+ * tagged with the pool name and the remote host it connects to. Pending acquires above zero mean requests are
+ * waiting for a connection; against a full pool that points at {@code max-connections} being too low.
+ */
+public class ConnectionPoolMeterRegistrar implements ConnectionProvider.MeterRegistrar {
+
+    public static final String ACTIVE = "payments.api.connections.active";
+    public static final String IDLE = "payments.api.connections.idle";
+    public static final String PENDING = "payments.api.connections.pending";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, List<Meter>> meters = new ConcurrentHashMap<>();
+
+    public ConnectionPoolMeterRegistrar(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+                                ConnectionPoolMetrics metrics) {
+        Tags tags = Tags.of("pool", poolName, "remote_address", remoteAddress.toString());
+        meters.put(id, List.of(
+                gauge(ACTIVE, tags, metrics, ConnectionPoolMetrics::acquiredSize),
+                gauge(IDLE, tags, metrics, ConnectionPoolMetrics::idleSize),
+                gauge(PENDING, tags, metrics, ConnectionPoolMetrics::pendingAcquireSize)));
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        List<Meter> removed = meters.remove(id);
+        if (removed != null) {
+            removed.forEach(meterRegistry::remove);
+        }
+    }
+
+    private Meter gauge(String name, Tags tags, ConnectionPoolMetrics metrics,
+                        ToDoubleFunction<ConnectionPoolMetrics> value) {
+        return Gauge.builder(name, metrics, value)
+                .tags(tags)
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+}
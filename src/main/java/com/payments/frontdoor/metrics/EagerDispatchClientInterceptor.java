@@ -0,0 +1,101 @@
+package com.payments.frontdoor.metrics;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.temporal.api.command.v1.Command;
+import io.temporal.api.workflowservice.v1.RespondWorkflowTaskCompletedRequest;
+import io.temporal.api.workflowservice.v1.RespondWorkflowTaskCompletedResponse;
+import io.temporal.api.workflowservice.v1.StartWorkflowExecutionRequest;
+import io.temporal.api.workflowservice.v1.StartWorkflowExecutionResponse;
+
+import java.util.List;
+
+/**
+ * Counts eager dispatch requests and how many the server honoured, as {@value #EAGER_WORKFLOW_START} and
+ * {@value #EAGER_ACTIVITY} tagged with the task queue and an outcome of {@code eager} or {@code fallback}.
+ * A fallback means the task went through the task queue as usual, typically because no local slot was free.
+ */
+public class EagerDispatchClientInterceptor implements ClientInterceptor {
+
+    public static final String EAGER_WORKFLOW_START = "payments.temporal.eager.workflow.start";
+    public static final String EAGER_ACTIVITY = "payments.temporal.eager.activity";
+
+    private static final String START_WORKFLOW = "StartWorkflowExecution";
+    private static final String WORKFLOW_TASK_COMPLETED = "RespondWorkflowTaskCompleted";
+
+    private final MeterRegistry meterRegistry;
+
+    public EagerDispatchClientInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                               CallOptions callOptions, Channel next) {
+        ClientCall<ReqT, RespT> call = next.newCall(method, callOptions);
+        String methodName = method.getBareMethodName();
+        if (!START_WORKFLOW.equals(methodName) && !WORKFLOW_TASK_COMPLETED.equals(methodName)) {
+            return call;
+        }
+        return new RecordingCall<>(call);
+    }
+
+    private void record(Object request, Object response) {
+        if (request instanceof StartWorkflowExecutionRequest start && start.getRequestEagerExecution()
+                && response instanceof StartWorkflowExecutionResponse started) {
+            count(EAGER_WORKFLOW_START, start.getTaskQueue().getName(), started.hasEagerWorkflowTask() ? 1 : 0, 1);
+        } else if (request instanceof RespondWorkflowTaskCompletedRequest completed
+                && response instanceof RespondWorkflowTaskCompletedResponse respond) {
+            List<Command> eagerCommands = completed.getCommandsList().stream()
+                    .filter(command -> command.hasScheduleActivityTaskCommandAttributes()
+                            && command.getScheduleActivityTaskCommandAttributes().getRequestEagerExecution())
+                    .toList();
+            if (!eagerCommands.isEmpty()) {
+                String taskQueue = eagerCommands.get(0).getScheduleActivityTaskCommandAttributes().getTaskQueue().getName();
+                count(EAGER_ACTIVITY, taskQueue, respond.getActivityTasksCount(), eagerCommands.size());
+            }
+        }
+    }
+
+    private void count(String name, String taskQueue, int accepted, int requested) {
+        if (accepted > 0) {
+            meterRegistry.counter(name, "task_queue", taskQueue, "outcome", "eager").increment(accepted);
+        }
+        if (requested > accepted) {
+            meterRegistry.counter(name, "task_queue", taskQueue, "outcome", "fallback").increment(requested - accepted);
+        }
+    }
+
+    private final class RecordingCall<ReqT, RespT> extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+
+        private volatile ReqT request;
+
+        private RecordingCall(ClientCall<ReqT, RespT> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void start(Listener<RespT> responseListener, Metadata headers) {
+            super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                @Override
+                public void onMessage(RespT message) {
+                    record(request, message);
+                    super.onMessage(message);
+                }
+            }, headers);
+        }
+
+        @Override
+        public void sendMessage(ReqT message) {
+            request = message;
+            super.sendMessage(message);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.payments.frontdoor.metrics;
+
+import com.payments.frontdoor.activities.PaymentStepStatus;
+import com.payments.frontdoor.model.PaymentPriority;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Step timings taken outside the workflow: how long publishing a step event to Kafka takes, and how long
+ * a step event spends between being produced and being consumed back by this service. Both are tagged with
+ * the payment priority, which travels with the event in the {@value #PRIORITY_HEADER} header.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentStepMetrics {
+
+    public static final String DISPATCH_LATENCY = "payments.step.dispatch.latency";
+    public static final String KAFKA_ROUND_TRIP = "payments.step.kafka.round.trip";
+    public static final String PRIORITY_HEADER = "x-payment-priority";
+    public static final String UNKNOWN_PRIORITY = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param priority the payment priority, or {@code null} for instructions created before it was carried
+     */
+    public void recordDispatch(PaymentStepStatus step, PaymentPriority priority, Duration duration, boolean success) {
+        Timer.builder(DISPATCH_LATENCY)
+                .tag("step", step.name())
+                .tag("priority", priority == null ? UNKNOWN_PRIORITY : priority.name())
+                .tag("outcome", success ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    /**
+     * @param priority the {@value #PRIORITY_HEADER} header of the event, or {@code null} if it has none
+     * @param producedAtMillis the record timestamp, which the producer sets when the event is created
+     */
+    public void recordKafkaRoundTrip(PaymentStepStatus step, String priority, long producedAtMillis) {
+        if (producedAtMillis <= 0) {
+            return;
+        }
+        Timer.builder(KAFKA_ROUND_TRIP)
+                .tag("step", step.name())
+                .tag("priority", priority == null ? UNKNOWN_PRIORITY : priority)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - producedAtMillis)));
+    }
+}
@@ -0,0 +1,157 @@
+package com.payments.frontdoor.metrics;
+
+import com.payments.frontdoor.activities.PaymentStepStatus;
+import com.payments.frontdoor.model.CrossBoarderPaymentDetails;
+import com.payments.frontdoor.model.PaymentDetails;
+import com.uber.m3.util.Duration;
+import io.temporal.common.interceptors.WorkerInterceptorBase;
+import io.temporal.common.interceptors.WorkflowInboundCallsInterceptor;
+import io.temporal.common.interceptors.WorkflowInboundCallsInterceptorBase;
+import io.temporal.common.interceptors.WorkflowOutboundCallsInterceptor;
+import io.temporal.common.interceptors.WorkflowOutboundCallsInterceptorBase;
+import io.temporal.workflow.Workflow;
+import io.temporal.workflow.WorkflowLocal;
+
+import java.util.Map;
+
+/**
+ * Records how long a payment takes to move from one step to the next, as the
+ * {@value #STEP_LATENCY} timer tagged with the previous step, the step reached and the payment priority.
+ * A step is reached when its activity or local activity returns or, for EXECUTED, when the signal from
+ * Kafka arrives. Steps computed inside the workflow, such as initiation, are reported by the workflow through
+ * {@link #stepReached}. Timings use workflow time and go through the workflow metrics scope, so replays do not
+ * record twice.
+ */
+public class PaymentStepWorkerInterceptor extends WorkerInterceptorBase {
+
+    public static final String STEP_LATENCY = "payments_step_latency";
+
+    private static final String SUBMITTED = "SUBMITTED";
+    private static final String CROSS_BORDER = "CROSS_BORDER";
+
+    // One tracker per workflow execution, shared by its interceptors and stepReached
+    private static final WorkflowLocal<StepTracker> TRACKER = WorkflowLocal.withCachedInitial(StepTracker::new);
+
+    private static final Map<String, PaymentStepStatus> ACTIVITY_STEPS = Map.of(
+            "InitiatePayment", PaymentStepStatus.INITIATED,
+            "ManagePaymentOrder", PaymentStepStatus.MANAGED,
+            "AuthorizePayment", PaymentStepStatus.AUTHORIZED,
+            "ClearAndSettlePayment", PaymentStepStatus.CLEARED,
+            "SendNotification", PaymentStepStatus.NOTIFIED,
+            "ReconcilePayment", PaymentStepStatus.RECONCILED,
+            "PostPayment", PaymentStepStatus.POSTED);
+
+    @Override
+    public WorkflowInboundCallsInterceptor interceptWorkflow(WorkflowInboundCallsInterceptor next) {
+        return new StepInboundInterceptor(next);
+    }
+
+    /**
+     * Records a step the workflow completed without an activity. Must be called from workflow code; does
+     * nothing on workers without this interceptor.
+     */
+    public static void stepReached(PaymentStepStatus step) {
+        StepTracker tracker = TRACKER.get();
+        if (tracker.active) {
+            tracker.reached(tracker.mark(), step);
+        }
+    }
+
+    private static final class StepTracker {
+        private boolean active;
+        private String priority = "UNKNOWN";
+        private String lastStep = SUBMITTED;
+        private long lastStepAt;
+
+        private Reached mark() {
+            return new Reached(lastStep, lastStepAt);
+        }
+
+        private void reached(Reached from, PaymentStepStatus step) {
+            long now = Workflow.currentTimeMillis();
+            Workflow.getMetricsScope()
+                    .tagged(Map.of("from", from.step(), "to", step.name(), "priority", priority))
+                    .timer(STEP_LATENCY)
+                    .record(Duration.ofMillis(now - from.at()));
+            lastStep = step.name();
+            lastStepAt = now;
+        }
+    }
+
+    private record Reached(String step, long at) {
+    }
+
+    private static final class StepInboundInterceptor extends WorkflowInboundCallsInterceptorBase {
+
+        private StepInboundInterceptor(WorkflowInboundCallsInterceptor next) {
+            super(next);
+        }
+
+        @Override
+        public void init(WorkflowOutboundCallsInterceptor outboundCalls) {
+            super.init(new StepOutboundInterceptor(outboundCalls));
+        }
+
+        @Override
+        public WorkflowOutput execute(WorkflowInput input) {
+            StepTracker tracker = TRACKER.get();
+            tracker.active = true;
+            tracker.lastStepAt = Workflow.currentTimeMillis();
+            for (Object argument : input.getArguments()) {
+                if (argument instanceof PaymentDetails paymentDetails && paymentDetails.getPriority() != null) {
+                    tracker.priority = paymentDetails.getPriority().name();
+                } else if (argument instanceof CrossBoarderPaymentDetails) {
+                    tracker.priority = CROSS_BORDER;
+                }
+            }
+            return super.execute(input);
+        }
+
+        @Override
+        public void handleSignal(SignalInput input) {
+            Object[] arguments = input.getArguments();
+            if (arguments.length == 1 && arguments[0] == PaymentStepStatus.EXECUTED) {
+                stepReached(PaymentStepStatus.EXECUTED);
+            }
+            super.handleSignal(input);
+        }
+    }
+
+    private static final class StepOutboundInterceptor extends WorkflowOutboundCallsInterceptorBase {
+
+        private StepOutboundInterceptor(WorkflowOutboundCallsInterceptor next) {
+            super(next);
+        }
+
+        @Override
+        public <R> ActivityOutput<R> executeActivity(ActivityInput<R> input) {
+            ActivityOutput<R> output = super.executeActivity(input);
+            PaymentStepStatus step = ACTIVITY_STEPS.get(input.getActivityName());
+            if (step == null) {
+                return output;
+            }
+            // Parallel steps are each measured from the step reached before they were scheduled
+            StepTracker tracker = TRACKER.get();
+            Reached from = tracker.mark();
+            return new ActivityOutput<>(output.getActivityId(), output.getResult().thenApply(result -> {
+                tracker.reached(from, step);
+                return result;
+            }));
+        }
+
+        @Override
+        public <R> LocalActivityOutput<R> executeLocalActivity(LocalActivityInput<R> input) {
+            LocalActivityOutput<R> output = super.executeLocalActivity(input);
+            PaymentStepStatus step = ACTIVITY_STEPS.get(input.getActivityName());
+            if (step == null) {
+                return output;
+            }
+            StepTracker tracker = TRACKER.get();
+            Reached from = tracker.mark();
+            return new LocalActivityOutput<>(output.getResult().thenApply(result -> {
+                tracker.reached(from, step);
+                return result;
+            }));
+        }
+    }
+}
@@ -13,4 +13,7 @@ public class ActivityResult {
     private String activityName;
     private String status;
     private Timestamp startTime;
+    private Timestamp endTime;
+    private Long durationMillis;
+    private int attempts;
 }
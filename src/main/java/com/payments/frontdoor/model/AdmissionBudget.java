@@ -0,0 +1,13 @@
+package com.payments.frontdoor.model;
+
+public enum AdmissionBudget {
+    HIGH, NORMAL, LOW, CROSS_BORDER;
+
+    public static AdmissionBudget of(PaymentPriority priority) {
+        return switch (priority) {
+            case HIGH -> HIGH;
+            case LOW -> LOW;
+            default -> NORMAL;
+        };
+    }
+}
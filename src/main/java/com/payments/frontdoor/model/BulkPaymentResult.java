@@ -0,0 +1,18 @@
+package com.payments.frontdoor.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkPaymentResult {
+    private int index;
+    private String paymentReference;
+    private String paymentId;
+    private String status;
+    private String error;
+}
@@ -0,0 +1,18 @@
+package com.payments.frontdoor.model;
+
+import com.payments.frontdoor.swagger.model.PaymentResponse;
+
+import java.time.Instant;
+
+@lombok.Data
+@lombok.AllArgsConstructor
+@lombok.NoArgsConstructor
+@lombok.Builder
+public class IdempotencyRecord {
+    private String idempotencyKey;
+    private String requestHash;
+    private String paymentId;
+    private PaymentResponse.StatusEnum status;
+    private int httpStatus;
+    private Instant createdAt;
+}
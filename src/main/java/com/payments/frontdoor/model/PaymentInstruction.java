@@ -26,4 +26,5 @@ public class PaymentInstruction {
     private String bankCity;
     private String bankCountry;
     private Map<String, String> headers;
+    private PaymentPriority priority;
 }
@@ -0,0 +1,16 @@
+package com.payments.frontdoor.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PaymentProgressEvent {
+    private String paymentId;
+    private String step;
+    private String status;
+}
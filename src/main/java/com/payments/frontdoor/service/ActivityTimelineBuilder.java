@@ -0,0 +1,58 @@
+package com.payments.frontdoor.service;
+
+import com.google.protobuf.ByteString;
+import com.payments.frontdoor.config.ActivityTimelineCustomProperties;
+import com.payments.frontdoor.model.ActivityResult;
+import com.payments.frontdoor.util.ActivityTimelineAccumulator;
+import com.payments.frontdoor.util.LruCache;
+import com.payments.frontdoor.util.SingleFlight;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Builds the activity timeline of a payment by paging through its workflow history. Once the history
+ * contains the workflow close event the timeline can no longer change, so it is kept until evicted.
+ */
+@Component
+public class ActivityTimelineBuilder {
+
+    private final TemporalQueryGateway temporalQueryGateway;
+    private final int historyPageSize;
+    private final LruCache<String, List<ActivityResult>> closedTimelines;
+    private final SingleFlight<String, List<ActivityResult>> builds = new SingleFlight<>();
+
+    public ActivityTimelineBuilder(TemporalQueryGateway temporalQueryGateway,
+                                   ActivityTimelineCustomProperties properties) {
+        this.temporalQueryGateway = temporalQueryGateway;
+        this.historyPageSize = properties.getHistoryPageSize();
+        this.closedTimelines = new LruCache<>(properties.getMaxClosedTimelines());
+    }
+
+    public CompletableFuture<List<ActivityResult>> build(String workflowId) {
+        List<ActivityResult> closedTimeline = closedTimelines.get(workflowId);
+        if (closedTimeline != null) {
+            return CompletableFuture.completedFuture(closedTimeline);
+        }
+        return builds.execute(workflowId,
+                () -> fetchPage(workflowId, ByteString.EMPTY, new ActivityTimelineAccumulator())).result();
+    }
+
+    private CompletableFuture<List<ActivityResult>> fetchPage(String workflowId, ByteString nextPageToken,
+                                                              ActivityTimelineAccumulator accumulator) {
+        return temporalQueryGateway.getWorkflowExecutionHistoryPage(workflowId, nextPageToken, historyPageSize)
+                .thenCompose(page -> {
+                    page.getHistory().getEventsList().forEach(accumulator::accept);
+                    if (!page.getNextPageToken().isEmpty()) {
+                        return fetchPage(workflowId, page.getNextPageToken(), accumulator);
+                    }
+
+                    List<ActivityResult> timeline = accumulator.timeline();
+                    if (accumulator.isWorkflowClosed()) {
+                        closedTimelines.put(workflowId, timeline);
+                    }
+                    return CompletableFuture.completedFuture(timeline);
+                });
+    }
+}
@@ -0,0 +1,102 @@
+package com.payments.frontdoor.service;
+
+import com.payments.frontdoor.config.AdmissionControlCustomProperties;
+import com.payments.frontdoor.exception.PaymentThrottledException;
+import com.payments.frontdoor.model.AdmissionBudget;
+import com.payments.frontdoor.util.AimdLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Ingress admission control with a separate adaptive limit per priority budget, so a slowdown caused by
+ * NORMAL traffic sheds NORMAL requests before HIGH ones. Rejected requests fail fast with
+ * {@link PaymentThrottledException} instead of queueing more workflows. Each admitted request is one latency
+ * sample, taken when its work completes, so the work must cover the bottleneck: the authorization outcome
+ * for SYNC payments and the workflow start for asynchronous ones, not just the hand-off to another thread.
+ */
+@Slf4j
+@Service
+public class AdmissionControlService {
+
+    private final AdmissionControlCustomProperties properties;
+    private final Map<AdmissionBudget, AimdLimiter> limiters = new EnumMap<>(AdmissionBudget.class);
+    private final Map<AdmissionBudget, Counter> rejections = new EnumMap<>(AdmissionBudget.class);
+    private final Map<AdmissionBudget, Timer> latencies = new EnumMap<>(AdmissionBudget.class);
+
+    public AdmissionControlService(AdmissionControlCustomProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (AdmissionBudget budget : AdmissionBudget.values()) {
+            AdmissionControlCustomProperties.Budget settings = properties.getBudgets()
+                    .getOrDefault(budget, new AdmissionControlCustomProperties.Budget());
+            AimdLimiter limiter = new AimdLimiter(settings.getInitialLimit(), settings.getMinLimit(),
+                    settings.getMaxLimit(), properties.getLatencyThreshold(), properties.getBackoffRatio());
+            limiters.put(budget, limiter);
+
+            Gauge.builder("payments.admission.limit", limiter, AimdLimiter::getLimit)
+                    .tag("budget", budget.name())
+                    .register(meterRegistry);
+            Gauge.builder("payments.admission.inflight", limiter, AimdLimiter::getInFlight)
+                    .tag("budget", budget.name())
+                    .register(meterRegistry);
+            rejections.put(budget, Counter.builder("payments.admission.rejected")
+                    .tag("budget", budget.name())
+                    .register(meterRegistry));
+            latencies.put(budget, Timer.builder("payments.admission.latency")
+                    .tag("budget", budget.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Admits {@code work} and samples its latency when the returned future completes, so the future has to
+     * complete when the downstream step does, e.g. once the workflow start RPC has returned.
+     */
+    public <T> CompletableFuture<T> admitAsync(AdmissionBudget budget, Supplier<CompletableFuture<T>> work) {
+        if (!properties.isEnabled()) {
+            return work.get();
+        }
+        AimdLimiter.Permit permit = acquire(budget);
+        Timer.Sample sample = Timer.start();
+        try {
+            return work.get().whenComplete((result, error) -> release(budget, permit, sample));
+        } catch (RuntimeException e) {
+            release(budget, permit, sample);
+            throw e;
+        }
+    }
+
+    public <T> T admit(AdmissionBudget budget, Supplier<T> work) {
+        if (!properties.isEnabled()) {
+            return work.get();
+        }
+        AimdLimiter.Permit permit = acquire(budget);
+        Timer.Sample sample = Timer.start();
+        try {
+            return work.get();
+        } finally {
+            release(budget, permit, sample);
+        }
+    }
+
+    private void release(AdmissionBudget budget, AimdLimiter.Permit permit, Timer.Sample sample) {
+        permit.release();
+        sample.stop(latencies.get(budget));
+    }
+
+    private AimdLimiter.Permit acquire(AdmissionBudget budget) {
+        return limiters.get(budget).tryAcquire().orElseThrow(() -> {
+            rejections.get(budget).increment();
+            log.warn("Rejecting {} payment, limit of {} reached", budget, limiters.get(budget).getLimit());
+            return new PaymentThrottledException(budget, properties.getRetryAfter());
+        });
+    }
+}
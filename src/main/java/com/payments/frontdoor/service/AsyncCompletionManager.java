@@ -0,0 +1,254 @@
+package com.payments.frontdoor.service;
+
+import com.payments.frontdoor.config.AsyncCompletionCustomProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.temporal.client.ActivityCompletionClient;
+import io.temporal.client.ActivityNotExistsException;
+import io.temporal.failure.ApplicationFailure;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Owns activities that return with {@code doNotCompleteOnReturn} and are completed later from a Kafka
+ * event. Their dispatch runs on a bounded, instrumented pool; when it is saturated the activity thread
+ * runs the dispatch itself, which slows the worker down instead of queueing without limit. Completions
+ * handed over as a result run on a separate pool that queues instead, since the thread finishing the
+ * result may be an event loop that must never make the blocking completion call itself. A token is
+ * failed shortly before its activity's StartToClose timeout, so the retry policy sees a retryable failure
+ * instead of the server timing the attempt out while the token is still tracked here. The sweeper only
+ * finds expired tokens; failing them is left to the completion pool, so one slow RPC never holds up the
+ * others. All completions go through one shared client.
+ * Activities whose work is already asynchronous, such as a WebClient call, hand over its result instead.
+ */
+@Slf4j
+@Service
+public class AsyncCompletionManager {
+
+    public static final String OUTSTANDING = "payments.async.completion.outstanding";
+    public static final String COMPLETIONS = "payments.async.completion";
+    public static final String LATENCY = "payments.async.completion.latency";
+    public static final String TIMED_OUT_FAILURE = "AsyncCompletionTimedOut";
+
+    private final ActivityCompletionClient completionClient;
+    private final AsyncCompletionCustomProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Timer latency;
+    private final ThreadPoolExecutor dispatchExecutor;
+    private final ThreadPoolExecutor completionExecutor;
+    private final ScheduledExecutorService sweeper;
+    private final Map<ByteBuffer, Outstanding> outstanding = new ConcurrentHashMap<>();
+
+    public AsyncCompletionManager(ActivityCompletionClient completionClient,
+                                  AsyncCompletionCustomProperties properties, MeterRegistry meterRegistry) {
+        this.completionClient = completionClient;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.latency = Timer.builder(LATENCY)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder(OUTSTANDING, outstanding, Map::size).register(meterRegistry);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("async-completion-");
+        threadFactory.setDaemon(true);
+        this.dispatchExecutor = new ThreadPoolExecutor(properties.getCorePoolSize(), properties.getMaxPoolSize(),
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(properties.getQueueCapacity()), threadFactory,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, dispatchExecutor, "async-completion", List.of());
+
+        // Unbounded, as every queued completion belongs to an outstanding token, and those are bounded by the
+        // worker's activity slots; its queue depth is reported by the executor metrics
+        CustomizableThreadFactory completerThreadFactory = new CustomizableThreadFactory("async-completer-");
+        completerThreadFactory.setDaemon(true);
+        this.completionExecutor = new ThreadPoolExecutor(properties.getCompletionThreads(),
+                properties.getCompletionThreads(), 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                completerThreadFactory);
+        ExecutorServiceMetrics.monitor(meterRegistry, completionExecutor, "async-completer", List.of());
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long sweepMillis = properties.getSweepInterval().toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void dispatch(byte[] taskToken, Runnable dispatch) {
+        dispatch(taskToken, Duration.ZERO, dispatch);
+    }
+
+    /**
+     * Tracks the task token and runs the dispatch that will eventually lead to its completion. A dispatch
+     * that throws fails the activity straight away instead of leaving it to time out. The token is failed
+     * before {@code startToCloseTimeout}, or after the configured timeout when that is zero or longer.
+     */
+    public void dispatch(byte[] taskToken, Duration startToCloseTimeout, Runnable dispatch) {
+        track(taskToken, startToCloseTimeout);
+        dispatchExecutor.execute(() -> {
+            try {
+                dispatch.run();
+            } catch (RuntimeException e) {
+                log.error("Async activity dispatch failed", e);
+                fail(taskToken, e);
+            }
+        });
+    }
+
+    public <R> void completeWhen(byte[] taskToken, CompletionStage<R> result,
+                                 Function<Throwable, ? extends Exception> errorMapper) {
+        completeWhen(taskToken, Duration.ZERO, result, errorMapper);
+    }
+
+    /**
+     * Tracks the task token and completes the activity with the outcome of {@code result}. Failures are
+     * translated by {@code errorMapper} first. Completion runs on the completion pool, never on the thread
+     * that finished the result, which for a WebClient call is a Netty event loop. The token expires as in
+     * {@link #dispatch(byte[], Duration, Runnable)}.
+     */
+    public <R> void completeWhen(byte[] taskToken, Duration startToCloseTimeout, CompletionStage<R> result,
+                                 Function<Throwable, ? extends Exception> errorMapper) {
+        track(taskToken, startToCloseTimeout);
+        result.whenCompleteAsync((value, error) -> {
+            try {
+                if (error == null) {
+                    complete(taskToken, value);
+                } else {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    fail(taskToken, errorMapper.apply(cause));
+                }
+            } catch (RuntimeException e) {
+                log.error("Unable to complete async activity, it will time out and retry", e);
+            }
+        }, completionExecutor);
+    }
+
+    public <R> void complete(byte[] taskToken, R result) {
+        Outstanding registered = outstanding.remove(keyOf(taskToken));
+        try {
+            completionClient.complete(taskToken, result);
+            record("completed");
+            recordLatency(registered);
+        } catch (ActivityNotExistsException e) {
+            // The activity already timed out or its workflow closed, so there is nothing left to complete
+            log.warn("Late completion for an activity the server no longer expects", e);
+            record("late");
+        }
+    }
+
+    public void fail(byte[] taskToken, Exception error) {
+        Outstanding registered = outstanding.remove(keyOf(taskToken));
+        try {
+            completionClient.completeExceptionally(taskToken, error);
+            record("failed");
+            recordLatency(registered);
+        } catch (ActivityNotExistsException e) {
+            log.warn("Failure reported for an activity the server no longer expects", e);
+            record("late");
+        }
+    }
+
+    public int outstandingCount() {
+        return outstanding.size();
+    }
+
+    /**
+     * Fails tokens past their deadline. Backs up the check {@link #track} schedules for every token.
+     */
+    public void sweep() {
+        long now = System.nanoTime();
+        outstanding.forEach((key, registered) -> {
+            if (now - registered.deadline() >= 0) {
+                timeOutLater(key, registered);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+        dispatchExecutor.shutdown();
+        completionExecutor.shutdown();
+    }
+
+    /**
+     * Derives the token's deadline and schedules a check for it, so expiry does not wait for the next sweep.
+     */
+    private void track(byte[] taskToken, Duration startToCloseTimeout) {
+        ByteBuffer key = keyOf(taskToken);
+        long registeredAt = System.nanoTime();
+        long timeout = properties.getTimeout().toNanos();
+        if (startToCloseTimeout.isPositive()) {
+            long beforeServer = startToCloseTimeout.minus(properties.getTimeoutMargin()).toNanos();
+            timeout = Math.min(timeout, Math.max(beforeServer, 0));
+        }
+        Outstanding registered = new Outstanding(registeredAt, registeredAt + timeout);
+        outstanding.put(key, registered);
+        try {
+            sweeper.schedule(() -> timeOutLater(key, registered), timeout, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Sweeper stopped, the token is left to the server timeout");
+        }
+    }
+
+    private void timeOutLater(ByteBuffer key, Outstanding registered) {
+        try {
+            completionExecutor.execute(() -> timeOut(key, registered));
+        } catch (RejectedExecutionException e) {
+            log.debug("Completion pool stopped, the token is left to the server timeout");
+        }
+    }
+
+    private void timeOut(ByteBuffer key, Outstanding registered) {
+        if (!outstanding.remove(key, registered)) {
+            return;
+        }
+        log.warn("Failing async activity after {} without a completion",
+                Duration.ofNanos(System.nanoTime() - registered.registeredAt()));
+        try {
+            completionClient.completeExceptionally(toBytes(key),
+                    ApplicationFailure.newFailure("Async completion timed out", TIMED_OUT_FAILURE));
+        } catch (RuntimeException e) {
+            // Already timed out or completed on the server side, nothing left to fail
+            log.warn("Unable to fail timed out async activity", e);
+        }
+        record("expired");
+    }
+
+    private void record(String outcome) {
+        meterRegistry.counter(COMPLETIONS, "outcome", outcome).increment();
+    }
+
+    private void recordLatency(Outstanding registered) {
+        if (registered != null) {
+            latency.record(System.nanoTime() - registered.registeredAt(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private ByteBuffer keyOf(byte[] taskToken) {
+        return ByteBuffer.wrap(taskToken.clone());
+    }
+
+    private byte[] toBytes(ByteBuffer key) {
+        return key.array();
+    }
+
+    private record Outstanding(long registeredAt, long deadline) {
+    }
+}
@@ -0,0 +1,190 @@
+package com.payments.frontdoor.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.payments.frontdoor.config.BulkPaymentCustomProperties;
+import com.payments.frontdoor.exception.IdempotencyKeyReuseException;
+import com.payments.frontdoor.model.BulkPaymentResult;
+import com.payments.frontdoor.model.IdempotencyRecord;
+import com.payments.frontdoor.model.PaymentDetails;
+import com.payments.frontdoor.model.PaymentStatus;
+import com.payments.frontdoor.model.RequestHeaders;
+import com.payments.frontdoor.swagger.model.PaymentRequest;
+import com.payments.frontdoor.swagger.model.PaymentResponse;
+import io.grpc.Status;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+import static com.payments.frontdoor.util.PaymentUtil.deriveUetr;
+import static com.payments.frontdoor.util.PaymentUtil.getDetails;
+import static com.payments.frontdoor.util.PaymentUtil.requestHash;
+import static com.payments.frontdoor.util.PaymentUtil.scopedIdempotencyKey;
+
+/**
+ * Reads a JSON array or NDJSON stream of payment requests, starts a workflow for each valid item with a
+ * bounded number of starts in flight, and writes one NDJSON result line per item as soon as it is known.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkPaymentService {
+
+    private static final byte[] LINE_SEPARATOR = {'\n'};
+
+    private final PaymentWorkflowStarter paymentWorkflowStarter;
+    private final BulkPaymentCustomProperties properties;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyService idempotencyService;
+    private final Validator validator;
+
+    public void submitPayments(InputStream body, OutputStream output, String correlationId) throws IOException {
+        int maxInFlight = properties.getMaxInFlight();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Set<String> seenReferences = new HashSet<>();
+        int index = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+
+            while (token != null && token != JsonToken.END_ARRAY) {
+                JsonNode item = objectMapper.readTree(parser);
+                submitItem(index++, item, correlationId, seenReferences, inFlight, output);
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Malformed bulk payment stream at item {} - correlationId: {}", index, correlationId);
+            writeResult(output, rejected(index, null, "Malformed payment stream: " + e.getOriginalMessage()));
+        } finally {
+            inFlight.acquireUninterruptibly(maxInFlight);
+        }
+
+        log.info("Bulk payment submission processed {} items - correlationId: {}", index, correlationId);
+    }
+
+    private void submitItem(int index, JsonNode item, String correlationId, Set<String> seenReferences,
+                            Semaphore inFlight, OutputStream output) {
+        PaymentRequest request;
+        try {
+            request = objectMapper.treeToValue(item, PaymentRequest.class);
+        } catch (JsonProcessingException e) {
+            writeResult(output, rejected(index, item.path("paymentReference").asText(null),
+                    "Invalid payment request: " + e.getOriginalMessage()));
+            return;
+        }
+
+        String paymentReference = request.getPaymentReference();
+        Optional<String> validationError = validate(request)
+                .or(() -> seenReferences.add(paymentReference)
+                        ? Optional.empty()
+                        : Optional.of("Duplicate payment reference in submission"));
+        if (validationError.isPresent()) {
+            writeResult(output, rejected(index, paymentReference, validationError.get()));
+            return;
+        }
+
+        String idempotencyKey = scopedIdempotencyKey(request, paymentReference);
+        String requestHash = requestHash(request);
+        Optional<IdempotencyRecord> previous;
+        try {
+            previous = idempotencyService.find(idempotencyKey, requestHash);
+        } catch (IdempotencyKeyReuseException e) {
+            writeResult(output, rejected(index, paymentReference, e.getMessage()));
+            return;
+        }
+        if (previous.isPresent()) {
+            writeResult(output, accepted(index, paymentReference, previous.get().getPaymentId(),
+                    previous.get().getStatus()));
+            return;
+        }
+
+        String uetr = deriveUetr(idempotencyKey);
+        RequestHeaders headers = new RequestHeaders(correlationId, paymentReference, PaymentStatus.ASYNC.getCode());
+        PaymentDetails paymentDetails = (PaymentDetails) getDetails(request, uetr, headers.toMap());
+
+        inFlight.acquireUninterruptibly();
+        paymentWorkflowStarter.startAsync(paymentDetails)
+                .whenComplete((execution, error) -> {
+                    try {
+                        if (error == null || isAlreadyStarted(error)) {
+                            idempotencyService.remember(idempotencyKey, requestHash, uetr,
+                                    PaymentResponse.StatusEnum.ACTC, HttpStatus.CREATED);
+                            writeResult(output, accepted(index, paymentReference, uetr, PaymentResponse.StatusEnum.ACTC));
+                        } else {
+                            log.error("Failed to start payment {} for reference {}", uetr, paymentReference, error);
+                            writeResult(output, rejected(index, paymentReference, "Payment could not be started"));
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+    }
+
+    private boolean isAlreadyStarted(Throwable error) {
+        return Status.fromThrowable(error).getCode() == Status.Code.ALREADY_EXISTS;
+    }
+
+    /**
+     * Field rules come from the bean-validation annotations on the generated model, the same ones the single
+     * payment endpoint enforces. Only the payment reference, which bulk items use as the idempotency key, is
+     * checked here.
+     */
+    private Optional<String> validate(PaymentRequest request) {
+        if (request.getPaymentReference() == null || request.getPaymentReference().isBlank()) {
+            return Optional.of("Payment reference is required as the idempotency key");
+        }
+        return validator.validate(request).stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .reduce((first, second) -> first + "; " + second);
+    }
+
+    private BulkPaymentResult accepted(int index, String paymentReference, String uetr,
+                                       PaymentResponse.StatusEnum status) {
+        return BulkPaymentResult.builder()
+                .index(index)
+                .paymentReference(paymentReference)
+                .paymentId(uetr)
+                .status(status.toString())
+                .build();
+    }
+
+    private BulkPaymentResult rejected(int index, String paymentReference, String error) {
+        return BulkPaymentResult.builder()
+                .index(index)
+                .paymentReference(paymentReference)
+                .status(PaymentResponse.StatusEnum.RJCT.toString())
+                .error(error)
+                .build();
+    }
+
+    private void writeResult(OutputStream output, BulkPaymentResult result) {
+        try {
+            byte[] line = objectMapper.writeValueAsBytes(result);
+            synchronized (output) {
+                output.write(line);
+                output.write(LINE_SEPARATOR);
+                output.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write bulk payment result", e);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.payments.frontdoor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import com.payments.frontdoor.config.BulkPaymentCustomProperties;
+import com.payments.frontdoor.config.TemporalWorkflowConfig;
+import com.payments.frontdoor.exception.PaymentValidationException;
+import com.payments.frontdoor.model.PaymentPriority;
+import com.payments.frontdoor.model.WorkflowResult;
+import com.payments.frontdoor.swagger.model.PaymentStatusQuery;
+import com.payments.frontdoor.workflows.CrossBoarderPaymentWorkflow;
+import com.payments.frontdoor.workflows.HighPriorityWorkflow;
+import com.payments.frontdoor.workflows.PaymentWorkflow;
+import io.temporal.api.workflow.v1.WorkflowExecutionInfo;
+import io.temporal.api.workflowservice.v1.ListWorkflowExecutionsRequest;
+import io.temporal.api.workflowservice.v1.ListWorkflowExecutionsResponse;
+import io.temporal.client.WorkflowClient;
+import io.temporal.serviceclient.WorkflowServiceStubs;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static com.payments.frontdoor.util.PaymentUtil.convertToPaymentStatusResponse;
+
+/**
+ * Answers status lookups for many payments with paged visibility queries instead of one describe call
+ * per payment. Listed ids are queried in chunks of {@code WorkflowId IN (...)}; without ids the filter
+ * fields select the payments. Results are written as NDJSON while the pages arrive.
+ * <p>
+ * Priority is only visible through the workflow type, and NORMAL and LOW payments run the same
+ * {@code PaymentWorkflow}, so only the HIGH priority filter can be answered; the others are rejected
+ * rather than returning both priorities. Cross-border payments carry no priority and never match it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkPaymentStatusService {
+
+    private static final byte[] LINE_SEPARATOR = {'\n'};
+    private static final Pattern PAYMENT_ID_PATTERN = Pattern.compile("[A-Za-z0-9._:-]+");
+    private static final List<String> PAYMENT_WORKFLOW_TYPES = List.of(
+            PaymentWorkflow.class.getSimpleName(),
+            HighPriorityWorkflow.class.getSimpleName(),
+            CrossBoarderPaymentWorkflow.class.getSimpleName());
+
+    private final WorkflowClient workflowClient;
+    private final WorkflowServiceStubs service;
+    private final TemporalWorkflowConfig temporalWorkflowConfig;
+    private final PaymentStatusCache paymentStatusCache;
+    private final BulkPaymentCustomProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public void validate(PaymentStatusQuery query) {
+        boolean hasPaymentIds = query.getPaymentIds() != null && !query.getPaymentIds().isEmpty();
+        boolean hasFilter = query.getStartedFrom() != null || query.getStartedTo() != null
+                || query.getPriority() != null || query.getStatus() != null;
+        if (!hasPaymentIds && !hasFilter) {
+            throw new PaymentValidationException("Either payment ids or a filter is required");
+        }
+        if (query.getPriority() != null && query.getPriority() != PaymentStatusQuery.PriorityEnum.HIGH) {
+            throw new PaymentValidationException("Only the HIGH priority filter is supported, "
+                    + "NORMAL and LOW payments cannot be told apart");
+        }
+    }
+
+    public void streamStatuses(PaymentStatusQuery query, OutputStream output) throws IOException {
+        List<String> filters = filterClauses(query);
+        List<String> paymentIds = query.getPaymentIds();
+
+        if (paymentIds == null || paymentIds.isEmpty()) {
+            filters.add(0, "WorkflowType IN " + inList(PAYMENT_WORKFLOW_TYPES));
+            listExecutions(String.join(" AND ", filters), info -> writeStatus(output, info));
+            output.flush();
+            return;
+        }
+
+        Map<Boolean, List<String>> byValidity = paymentIds.stream()
+                .distinct()
+                .collect(Collectors.partitioningBy(id -> PAYMENT_ID_PATTERN.matcher(id).matches()));
+        byValidity.get(false).forEach(id -> writeError(output, id, "Invalid payment id"));
+
+        for (List<String> chunk : Lists.partition(byValidity.get(true), properties.getStatusQueryChunkSize())) {
+            List<String> clauses = new ArrayList<>(filters);
+            clauses.add(0, "WorkflowId IN " + inList(chunk));
+
+            Set<String> found = new HashSet<>();
+            listExecutions(String.join(" AND ", clauses), info -> {
+                found.add(info.getExecution().getWorkflowId());
+                writeStatus(output, info);
+            });
+            chunk.stream()
+                    .filter(id -> !found.contains(id))
+                    .forEach(id -> writeError(output, id, "Payment not found"));
+            output.flush();
+        }
+    }
+
+    private void listExecutions(String query, Consumer<WorkflowExecutionInfo> consumer) {
+        log.debug("Listing payment executions with query: {}", query);
+        ByteString nextPageToken = ByteString.EMPTY;
+        do {
+            ListWorkflowExecutionsRequest request = ListWorkflowExecutionsRequest.newBuilder()
+                    .setNamespace(workflowClient.getOptions().getNamespace())
+                    .setQuery(query)
+                    .setPageSize(properties.getStatusPageSize())
+                    .setNextPageToken(nextPageToken)
+                    .build();
+
+            ListWorkflowExecutionsResponse response = service.blockingStub().listWorkflowExecutions(request);
+            response.getExecutionsList().forEach(consumer);
+            nextPageToken = response.getNextPageToken();
+        } while (!nextPageToken.isEmpty());
+    }
+
+    private List<String> filterClauses(PaymentStatusQuery query) {
+        List<String> clauses = new ArrayList<>();
+        if (query.getPriority() != null) {
+            PaymentPriority priority = PaymentPriority.valueOf(query.getPriority().toString());
+            clauses.add("WorkflowType = '" + temporalWorkflowConfig.workflowTypeFor(priority) + "'");
+        }
+        if (query.getStartedFrom() != null) {
+            clauses.add("StartTime >= '" + query.getStartedFrom().toInstant() + "'");
+        }
+        if (query.getStartedTo() != null) {
+            clauses.add("StartTime < '" + query.getStartedTo().toInstant() + "'");
+        }
+        if (query.getStatus() != null) {
+            clauses.add("ExecutionStatus IN " + inList(executionStatusesFor(query.getStatus())));
+        }
+        return clauses;
+    }
+
+    /**
+     * Matches the statuses {@code convertToPaymentStatusResponse} reports, so every closed workflow that
+     * is not completed counts as rejected.
+     */
+    private List<String> executionStatusesFor(PaymentStatusQuery.StatusEnum status) {
+        return switch (status) {
+            case ACSC -> List.of("Completed");
+            case RJCT -> List.of("Failed", "Terminated", "TimedOut", "Canceled");
+            case ACTC -> List.of("Running");
+        };
+    }
+
+    private String inList(List<String> values) {
+        return values.stream()
+                .map(value -> "'" + value + "'")
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    private void writeStatus(OutputStream output, WorkflowExecutionInfo info) {
+        String paymentId = info.getExecution().getWorkflowId();
+        WorkflowResult result = new WorkflowResult(info.getStatus(), info.getStartTime(), info.getCloseTime(),
+                info.getType().getName(), null);
+        paymentStatusCache.put(paymentId, false, result);
+        writeLine(output, convertToPaymentStatusResponse(result, paymentId));
+    }
+
+    private void writeError(OutputStream output, String paymentId, String error) {
+        Map<String, String> line = new LinkedHashMap<>();
+        line.put("paymentId", paymentId);
+        line.put("error", error);
+        writeLine(output, line);
+    }
+
+    private void writeLine(OutputStream output, Object value) {
+        try {
+            output.write(objectMapper.writeValueAsBytes(value));
+            output.write(LINE_SEPARATOR);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write payment status", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.payments.frontdoor.service;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.payments.frontdoor.util.LruCache;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.common.converter.EncodingKeys;
+import io.temporal.payload.codec.PayloadCodec;
+import io.temporal.payload.codec.PayloadCodecException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Moves payloads whose serialized size reaches the threshold into a {@link PayloadStore} and leaves only
+ * their SHA-256 in history, marked with the {@value #ENCODING} encoding. The same instruction passed to
+ * every step of a payment is stored once, and each further use adds 32 bytes to history. Resolved payloads
+ * are kept in a read-through cache, so a worker reads each one from the store at most once while cached.
+ */
+public class ClaimCheckPayloadCodec implements PayloadCodec {
+
+    public static final String ENCODING = "claim-check/sha256";
+
+    private static final ByteString ENCODING_VALUE = ByteString.copyFromUtf8(ENCODING);
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final PayloadStore payloadStore;
+    private final int thresholdBytes;
+    private final LruCache<String, Payload> cache;
+
+    public ClaimCheckPayloadCodec(PayloadStore payloadStore, int thresholdBytes, int cacheSize) {
+        this.payloadStore = payloadStore;
+        this.thresholdBytes = thresholdBytes;
+        this.cache = new LruCache<>(cacheSize);
+    }
+
+    @Override
+    public List<Payload> encode(List<Payload> payloads) {
+        return payloads.stream().map(this::encode).toList();
+    }
+
+    @Override
+    public List<Payload> decode(List<Payload> payloads) {
+        return payloads.stream().map(this::decode).toList();
+    }
+
+    private Payload encode(Payload payload) {
+        if (payload.getSerializedSize() < thresholdBytes) {
+            return payload;
+        }
+
+        byte[] content = payload.toByteArray();
+        byte[] digest = sha256(content);
+        String contentHash = HEX.formatHex(digest);
+        if (cache.get(contentHash) == null) {
+            payloadStore.save(contentHash, content);
+            cache.put(contentHash, payload);
+        }
+
+        return Payload.newBuilder()
+                .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, ENCODING_VALUE)
+                .setData(ByteString.copyFrom(digest))
+                .build();
+    }
+
+    private Payload decode(Payload reference) {
+        if (!ENCODING_VALUE.equals(reference.getMetadataOrDefault(EncodingKeys.METADATA_ENCODING_KEY, null))) {
+            return reference;
+        }
+
+        String contentHash = HEX.formatHex(reference.getData().toByteArray());
+        Payload cached = cache.get(contentHash);
+        if (cached != null) {
+            return cached;
+        }
+
+        byte[] content = payloadStore.find(contentHash)
+                .orElseThrow(() -> new PayloadCodecException("Claim-checked payload " + contentHash + " not found"));
+        if (!contentHash.equals(HEX.formatHex(sha256(content)))) {
+            throw new PayloadCodecException("Claim-checked payload " + contentHash + " does not match its hash");
+        }
+        try {
+            Payload payload = Payload.parseFrom(content);
+            cache.put(contentHash, payload);
+            return payload;
+        } catch (InvalidProtocolBufferException e) {
+            throw new PayloadCodecException("Corrupt claim-checked payload " + contentHash, e);
+        }
+    }
+
+    private byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
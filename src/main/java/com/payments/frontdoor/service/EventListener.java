@@ -3,14 +3,17 @@ package com.payments.frontdoor.service;
 import com.payments.frontdoor.activities.PaymentStepStatus;
 import com.payments.frontdoor.avro.PaymentRecord;
 import com.payments.frontdoor.exception.PaymentProcessingException;
+import com.payments.frontdoor.metrics.PaymentStepMetrics;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 @Slf4j
@@ -24,6 +27,8 @@ public class EventListener {
     private static final String CONTAINER_FACTORY = "kafkaListenerContainerFactory";
 
     private final PaymentProcessService paymentProcessService;
+    private final PaymentStepMetrics paymentStepMetrics;
+    private final AsyncCompletionManager asyncCompletionManager;
 
     @KafkaListener(
             topics = EXECUTED_TOPIC,
@@ -33,6 +38,8 @@ public class EventListener {
     public void listenSignal(ConsumerRecord<String, PaymentRecord> paymentRecord, Acknowledgment ack) {
         String key = paymentRecord.key();
         log.info("Processing executed payment event - key: {}", key);
+        paymentStepMetrics.recordKafkaRoundTrip(PaymentStepStatus.EXECUTED, priorityOf(paymentRecord),
+                paymentRecord.timestamp());
 
         try {
             paymentProcessService.sendSignal(PaymentStepStatus.EXECUTED, key);
@@ -53,10 +60,12 @@ public class EventListener {
     public void listenToken(ConsumerRecord<String, PaymentRecord> paymentRecord, Acknowledgment ack) {
         String key = paymentRecord.key();
         log.info("Processing posted payment event - key: {}", key);
+        paymentStepMetrics.recordKafkaRoundTrip(PaymentStepStatus.POSTED, priorityOf(paymentRecord),
+                paymentRecord.timestamp());
 
         try {
             byte[] token = extractToken(paymentRecord.value());
-            paymentProcessService.sendToken(token);
+            asyncCompletionManager.complete(token, PaymentStepStatus.POSTED);
             log.info("Successfully processed posted payment - key: {}", key);
         } catch (Exception e) {
             log.error("Failed to process posted payment - key: {} - error: {}", key, e.getMessage());
@@ -66,6 +75,11 @@ public class EventListener {
         }
     }
 
+    private String priorityOf(ConsumerRecord<String, PaymentRecord> paymentRecord) {
+        Header priority = paymentRecord.headers().lastHeader(PaymentStepMetrics.PRIORITY_HEADER);
+        return priority == null ? null : new String(priority.value(), StandardCharsets.UTF_8);
+    }
+
     private byte[] extractToken(PaymentRecord paymentRecord) {
         return Optional.ofNullable(paymentRecord)
                 .map(PaymentRecord::getToken)
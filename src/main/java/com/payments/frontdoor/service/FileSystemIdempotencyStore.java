@@ -0,0 +1,141 @@
+package com.payments.frontdoor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.payments.frontdoor.model.IdempotencyRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps one JSON file per idempotency key, named after the SHA-256 of the key. Writes go to a
+ * temporary file first and are moved into place atomically, so readers never see a partial record.
+ * Files last written more than the retention ago, including temporary files left by a crash, are
+ * deleted on a schedule.
+ */
+@Slf4j
+public class FileSystemIdempotencyStore implements IdempotencyStore {
+
+    private static final String FILE_SUFFIX = ".json";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final ScheduledExecutorService purger;
+
+    public FileSystemIdempotencyStore(Path directory, ObjectMapper objectMapper, Duration retention,
+                                      Duration purgeInterval) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create idempotency store at " + directory, e);
+        }
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("idempotency-purge-");
+        threadFactory.setDaemon(true);
+        this.purger = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        purger.scheduleWithFixedDelay(this::purgeExpired, purgeInterval.toMillis(), purgeInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String idempotencyKey) {
+        try {
+            byte[] content = Files.readAllBytes(pathFor(idempotencyKey));
+            return Optional.of(objectMapper.readValue(content, IdempotencyRecord.class));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.error("Unable to read idempotency record for key: {}", idempotencyKey, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(IdempotencyRecord idempotencyRecord) {
+        Path target = pathFor(idempotencyRecord.getIdempotencyKey());
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, target.getFileName().toString(), TEMP_SUFFIX);
+            Files.write(temp, objectMapper.writeValueAsBytes(idempotencyRecord));
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("Unable to persist idempotency record", e);
+        }
+    }
+
+    /**
+     * Deletes records and temporary files last written more than the retention ago.
+     *
+     * @return the number of files deleted
+     */
+    public int purgeExpired() {
+        FileTime cutoff = FileTime.from(Instant.now().minus(retention));
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                "*{" + FILE_SUFFIX + "," + TEMP_SUFFIX + "}")) {
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).compareTo(cutoff) < 0 && Files.deleteIfExists(file)) {
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    log.warn("Unable to purge idempotency file {}", file, e);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Unable to purge idempotency store at {}", directory, e);
+        }
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency files", deleted);
+        }
+        return deleted;
+    }
+
+    public void shutdown() {
+        purger.shutdownNow();
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Unable to delete temporary idempotency file {}", file, e);
+        }
+    }
+
+    private Path pathFor(String idempotencyKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(idempotencyKey.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(digest) + FILE_SUFFIX);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
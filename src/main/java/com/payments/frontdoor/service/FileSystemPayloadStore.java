@@ -0,0 +1,63 @@
+package com.payments.frontdoor.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Keeps one file per content hash, spread over subdirectories named after the first two hex characters.
+ * Content never changes for a hash, so a file that already exists is not written again. Writes go to a
+ * temporary file first and are moved into place atomically, so readers never see partial content.
+ */
+@Slf4j
+public class FileSystemPayloadStore implements PayloadStore {
+
+    private final Path directory;
+
+    public FileSystemPayloadStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create payload store at " + directory, e);
+        }
+    }
+
+    @Override
+    public Optional<byte[]> find(String contentHash) {
+        try {
+            return Optional.of(Files.readAllBytes(pathFor(contentHash)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.error("Unable to read payload {}", contentHash, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(String contentHash, byte[] content) {
+        Path target = pathFor(contentHash);
+        if (Files.exists(target)) {
+            return;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), contentHash, ".tmp");
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to persist payload " + contentHash, e);
+        }
+    }
+
+    private Path pathFor(String contentHash) {
+        return directory.resolve(contentHash.substring(0, 2)).resolve(contentHash);
+    }
+}
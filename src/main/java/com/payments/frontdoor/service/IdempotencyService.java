@@ -0,0 +1,89 @@
+package com.payments.frontdoor.service;
+
+import com.payments.frontdoor.config.IdempotencyCustomProperties;
+import com.payments.frontdoor.exception.IdempotencyKeyReuseException;
+import com.payments.frontdoor.model.IdempotencyRecord;
+import com.payments.frontdoor.swagger.model.PaymentResponse;
+import com.payments.frontdoor.util.LruCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Remembers the outcome of each accepted submission by idempotency key, together with a hash of the
+ * request. Lookups are served from a bounded in-memory LRU first and fall back to the
+ * {@link IdempotencyStore}, so a retried request is answered without another call to Temporal, while a
+ * different request reusing the key is refused instead of being answered with another payment's outcome.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private final IdempotencyStore store;
+    private final LruCache<String, IdempotencyRecord> cache;
+    private final Duration retention;
+
+    public IdempotencyService(IdempotencyStore store, IdempotencyCustomProperties properties) {
+        this.store = store;
+        this.cache = new LruCache<>(properties.getCacheSize());
+        this.retention = properties.getRetention();
+    }
+
+    /**
+     * @throws IdempotencyKeyReuseException if the key was remembered for a request with a different hash
+     */
+    public Optional<IdempotencyRecord> find(String idempotencyKey, String requestHash) {
+        Optional<IdempotencyRecord> previous = find(idempotencyKey);
+        previous.filter(idempotencyRecord -> idempotencyRecord.getRequestHash() != null
+                        && !idempotencyRecord.getRequestHash().equals(requestHash))
+                .ifPresent(idempotencyRecord -> {
+                    throw new IdempotencyKeyReuseException(
+                            "Idempotency key was already used for a different payment request");
+                });
+        return previous;
+    }
+
+    public void remember(String idempotencyKey, String requestHash, String paymentId,
+                         PaymentResponse.StatusEnum status, HttpStatus httpStatus) {
+        IdempotencyRecord idempotencyRecord = IdempotencyRecord.builder()
+                .idempotencyKey(idempotencyKey)
+                .requestHash(requestHash)
+                .paymentId(paymentId)
+                .status(status)
+                .httpStatus(httpStatus.value())
+                .createdAt(Instant.now())
+                .build();
+
+        cache.put(idempotencyKey, idempotencyRecord);
+        try {
+            store.save(idempotencyRecord);
+        } catch (RuntimeException e) {
+            log.error("Failed to persist idempotency record for key: {}", idempotencyKey, e);
+        }
+    }
+
+    private Optional<IdempotencyRecord> find(String idempotencyKey) {
+        IdempotencyRecord cached = cache.get(idempotencyKey);
+        if (cached != null) {
+            return retain(idempotencyKey, cached);
+        }
+
+        Optional<IdempotencyRecord> stored = store.find(idempotencyKey)
+                .flatMap(idempotencyRecord -> retain(idempotencyKey, idempotencyRecord));
+        stored.ifPresent(idempotencyRecord -> cache.put(idempotencyKey, idempotencyRecord));
+        return stored;
+    }
+
+    private Optional<IdempotencyRecord> retain(String idempotencyKey, IdempotencyRecord idempotencyRecord) {
+        Instant expiresAt = idempotencyRecord.getCreatedAt().plus(retention);
+        if (Instant.now().isAfter(expiresAt)) {
+            cache.remove(idempotencyKey);
+            return Optional.empty();
+        }
+        return Optional.of(idempotencyRecord);
+    }
+}
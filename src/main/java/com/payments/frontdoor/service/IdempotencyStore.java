@@ -0,0 +1,16 @@
+package com.payments.frontdoor.service;
+
+import com.payments.frontdoor.model.IdempotencyRecord;
+
+import java.util.Optional;
+
+/**
+ * Durable tier behind the in-memory idempotency cache. Define a bean of this type to replace the
+ * default local file store with a shared backend.
+ */
+public interface IdempotencyStore {
+
+    Optional<IdempotencyRecord> find(String idempotencyKey);
+
+    void save(IdempotencyRecord idempotencyRecord);
+}
@@ -9,6 +9,8 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 @Slf4j
@@ -19,7 +21,13 @@ public class KafkaProducer {
     private final KafkaTemplate<String, PaymentRecord> kafkaTemplate;
 
     public CompletableFuture<SendResult<String, PaymentRecord>> sendMessage(String topic, String key, PaymentRecord message) {
+        return sendMessage(topic, key, message, Map.of());
+    }
+
+    public CompletableFuture<SendResult<String, PaymentRecord>> sendMessage(String topic, String key, PaymentRecord message,
+                                                                           Map<String, String> headers) {
         ProducerRecord<String, PaymentRecord> producerRecord = new ProducerRecord<>(topic, key, message);
+        headers.forEach((name, value) -> producerRecord.headers().add(name, value.getBytes(StandardCharsets.UTF_8)));
         CompletableFuture<SendResult<String, PaymentRecord>> completableFuture = kafkaTemplate.send(producerRecord);
         log.info("Sending kafka message on topic {}", topic);
 
@@ -0,0 +1,14 @@
+package com.payments.frontdoor.service;
+
+import java.util.Optional;
+
+/**
+ * Content-addressed store behind the claim-check codec, keyed by the hex SHA-256 of the content. Define a
+ * bean of this type to replace the default local file store with a backend shared by every instance.
+ */
+public interface PayloadStore {
+
+    Optional<byte[]> find(String contentHash);
+
+    void save(String contentHash, byte[] content);
+}
@@ -32,13 +32,22 @@ public class PaymentApiConnector {
      * @return PaymentAuthorizationResponse The authorization response
      */
     public PaymentAuthorizationResponse callAuthorizePayment(PaymentInstruction instruction) {
+        return authorizePaymentAsync(instruction).block(TIMEOUT);
+    }
+
+    /**
+     * Calls the authorize payment endpoint without blocking
+     * @param instruction Payment instruction containing the payment details
+     * @return Mono<PaymentAuthorizationResponse> The authorization response, failing after the timeout
+     */
+    public Mono<PaymentAuthorizationResponse> authorizePaymentAsync(PaymentInstruction instruction) {
         return executeRequest(
-                properties.getAuthorize(),
+                properties.getUrls().getAuthorize(),
                 convertToAuthorizationRequestBody(instruction),
                 PaymentAuthorizationResponse.class,
                 instruction.getHeaders(),
                 "Authorize Payment"
-        ).block(TIMEOUT);
+        ).timeout(TIMEOUT);
     }
 
     /**
@@ -47,13 +56,22 @@ public class PaymentApiConnector {
      * @return PaymentOrderResponse The order response
      */
     public PaymentOrderResponse callOrderPayment(PaymentInstruction instruction) {
+        return orderPaymentAsync(instruction).block(TIMEOUT);
+    }
+
+    /**
+     * Calls the order payment endpoint without blocking
+     * @param instruction Payment instruction containing the payment details
+     * @return Mono<PaymentOrderResponse> The order response, failing after the timeout
+     */
+    public Mono<PaymentOrderResponse> orderPaymentAsync(PaymentInstruction instruction) {
         return executeRequest(
-                properties.getOrder(),
+                properties.getUrls().getOrder(),
                 convertToOrderRequestBody(instruction),
                 PaymentOrderResponse.class,
                 instruction.getHeaders(),
                 "Order Payment"
-        ).block(TIMEOUT);
+        ).timeout(TIMEOUT);
     }
 
     /**
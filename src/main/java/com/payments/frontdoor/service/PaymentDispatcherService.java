@@ -4,12 +4,15 @@ package com.payments.frontdoor.service;
 import com.payments.frontdoor.activities.PaymentStepStatus;
 import com.payments.frontdoor.avro.Account;
 import com.payments.frontdoor.avro.PaymentRecord;
+import com.payments.frontdoor.metrics.PaymentStepMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import com.payments.frontdoor.model.PaymentInstruction;
 import org.springframework.stereotype.Service;
 
 import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -18,6 +21,7 @@ public class PaymentDispatcherService {
 
     private final KafkaProducer kafkaProducer;
     private final PaymentTopicService paymentTopicService;
+    private final PaymentStepMetrics paymentStepMetrics;
 
     public void dispatchPayment(PaymentInstruction instruction, PaymentStepStatus status, byte[] taskToken) {
         String topic = paymentTopicService.getTopicName(status);
@@ -25,7 +29,13 @@ public class PaymentDispatcherService {
         if(taskToken != null) {
             paymentRecord.setToken(ByteBuffer.wrap(taskToken));
         }
-        kafkaProducer.sendMessage(topic, instruction.getPaymentId(), paymentRecord);
+        Map<String, String> headers = instruction.getPriority() == null
+                ? Map.of()
+                : Map.of(PaymentStepMetrics.PRIORITY_HEADER, instruction.getPriority().name());
+        long dispatchedAt = System.nanoTime();
+        kafkaProducer.sendMessage(topic, instruction.getPaymentId(), paymentRecord, headers)
+                .whenComplete((result, error) -> paymentStepMetrics.recordDispatch(status, instruction.getPriority(),
+                        Duration.ofNanos(System.nanoTime() - dispatchedAt), error == null));
     }
 
     private PaymentRecord convertToPaymentRecord(PaymentInstruction instruction) {
@@ -2,76 +2,218 @@ package com.payments.frontdoor.service;
 
 import com.google.protobuf.Timestamp;
 import com.payments.frontdoor.activities.PaymentStepStatus;
+import com.payments.frontdoor.config.TemporalRpcCustomProperties;
 import com.payments.frontdoor.config.TemporalWorkflowConfig;
 import com.payments.frontdoor.model.ActivityResult;
 import com.payments.frontdoor.model.CrossBoarderPaymentDetails;
 import com.payments.frontdoor.model.PaymentDetails;
+import com.payments.frontdoor.model.PaymentPriority;
 import com.payments.frontdoor.model.WorkflowResult;
+import com.payments.frontdoor.swagger.model.PaymentResponse;
+import com.payments.frontdoor.util.ConcurrencyLimitingClientInterceptor;
+import com.payments.frontdoor.util.FutureUtil;
+import com.payments.frontdoor.util.PaymentUtil;
 import com.payments.frontdoor.workflows.CrossBoarderPaymentWorkflow;
 import com.payments.frontdoor.workflows.HighPriorityWorkflow;
 import com.payments.frontdoor.workflows.PaymentWorkflow;
-import io.temporal.api.common.v1.WorkflowExecution;
-import io.temporal.api.enums.v1.EventType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import io.temporal.api.enums.v1.WorkflowExecutionStatus;
-import io.temporal.api.history.v1.ActivityTaskCompletedEventAttributes;
-import io.temporal.api.history.v1.ActivityTaskFailedEventAttributes;
-import io.temporal.api.history.v1.HistoryEvent;
-import io.temporal.api.workflowservice.v1.DescribeWorkflowExecutionRequest;
+import io.temporal.api.enums.v1.WorkflowUpdateStage;
 import io.temporal.api.workflowservice.v1.DescribeWorkflowExecutionResponse;
-import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryRequest;
-import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryResponse;
-import io.temporal.client.ActivityCompletionClient;
+import io.temporal.client.UpdateOptions;
+import io.temporal.client.WithStartWorkflowOperation;
 import io.temporal.client.WorkflowClient;
-import io.temporal.serviceclient.WorkflowServiceStubs;
-import lombok.AllArgsConstructor;
+import io.temporal.client.WorkflowExecutionAlreadyStarted;
+import io.temporal.client.WorkflowUpdateException;
+import io.temporal.client.WorkflowUpdateHandle;
+import io.temporal.client.WorkflowUpdateTimeoutOrCancelledException;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
-@AllArgsConstructor
 @Slf4j
 public class PaymentProcessService {
 
+    private static final UpdateOptions<PaymentResponse> AUTHORIZATION_UPDATE_OPTIONS =
+            UpdateOptions.<PaymentResponse>newBuilder()
+                    .setWaitForStage(WorkflowUpdateStage.ACCEPTED)
+                    .build();
+
     private final WorkflowClient workflowClient;
     private final TemporalWorkflowConfig temporalWorkflowConfig;
-    private final WorkflowServiceStubs service;
+    private final TemporalQueryGateway temporalQueryGateway;
+    private final ActivityTimelineBuilder activityTimelineBuilder;
+    private final PaymentStatusCache paymentStatusCache;
+    private final ThreadPoolExecutor updateStartExecutor;
+
+    public PaymentProcessService(WorkflowClient workflowClient, TemporalWorkflowConfig temporalWorkflowConfig,
+                                 TemporalQueryGateway temporalQueryGateway,
+                                 ActivityTimelineBuilder activityTimelineBuilder,
+                                 PaymentStatusCache paymentStatusCache, TemporalRpcCustomProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.workflowClient = workflowClient;
+        this.temporalWorkflowConfig = temporalWorkflowConfig;
+        this.temporalQueryGateway = temporalQueryGateway;
+        this.activityTimelineBuilder = activityTimelineBuilder;
+        this.paymentStatusCache = paymentStatusCache;
 
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("update-start-");
+        threadFactory.setDaemon(true);
+        this.updateStartExecutor = new ThreadPoolExecutor(properties.getStartThreads(), properties.getStartThreads(),
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(properties.getStartQueueCapacity()), threadFactory);
+        ExecutorServiceMetrics.monitor(meterRegistry, updateStartExecutor, "update-start", List.of());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updateStartExecutor.shutdown();
+    }
 
+    /**
+     * Starts the payment workflow on the {@code @Async} executor.
+     * @return Completes once the workflow has started, or exceptionally when the start failed
+     */
     @Async
-    public void processPaymentAsync(PaymentDetails paymentDetails) {
-        switch (paymentDetails.getPriority()) {
-            case HIGH:
-                HighPriorityWorkflow highWorkflow = temporalWorkflowConfig.highPaymentWorkflowWithId(
-                        workflowClient,
-                        paymentDetails.getPaymentId()
-                );
-                WorkflowClient.start(highWorkflow::processPayment, paymentDetails);
-                break;
-
-            case NORMAL:
-            default:
-                PaymentWorkflow normalWorkflow = temporalWorkflowConfig.sendPaymentWorkflowWithId(
-                        workflowClient,
-                        paymentDetails.getPaymentId()
-                );
-                WorkflowClient.start(normalWorkflow::processPayment, paymentDetails);
-                break;
+    public CompletableFuture<Void> processPaymentAsync(PaymentDetails paymentDetails) {
+        startPayment(paymentDetails);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    public void startPayment(PaymentDetails paymentDetails) {
+        try {
+            switch (paymentDetails.getPriority()) {
+                case HIGH:
+                    HighPriorityWorkflow highWorkflow = temporalWorkflowConfig.highPaymentWorkflowWithId(
+                            workflowClient,
+                            paymentDetails.getPaymentId()
+                    );
+                    WorkflowClient.start(highWorkflow::processPayment, paymentDetails);
+                    break;
+
+                case NORMAL:
+                default:
+                    PaymentWorkflow normalWorkflow = temporalWorkflowConfig.sendPaymentWorkflowWithId(
+                            workflowClient,
+                            paymentDetails.getPaymentId()
+                    );
+                    WorkflowClient.start(normalWorkflow::processPayment, paymentDetails);
+                    break;
+            }
+        } catch (WorkflowExecutionAlreadyStarted e) {
+            log.info("Payment {} was already started, ignoring duplicate submission", paymentDetails.getPaymentId());
+        } catch (RuntimeException e) {
+            throw ConcurrencyLimitingClientInterceptor.translateRejection(e);
         }
     }
 
+    /**
+     * Starts the cross-border workflow on the {@code @Async} executor.
+     * @return Completes once the workflow has started, or exceptionally when the start failed
+     */
     @Async
-    public void processCrossBoarderPaymentAsync(CrossBoarderPaymentDetails paymentDetails) {
+    public CompletableFuture<Void> processCrossBoarderPaymentAsync(CrossBoarderPaymentDetails paymentDetails) {
         log.info("Processing cross boarder payment with id: {}", paymentDetails.getPaymentId());
         CrossBoarderPaymentWorkflow crossBoarderPaymentWorkflow = temporalWorkflowConfig.sendCrossBoarderPaymentWorkflowWithId(
                 workflowClient,
                 paymentDetails.getPaymentId()
         );
-        WorkflowClient.start(crossBoarderPaymentWorkflow::processPayment, paymentDetails);
+        try {
+            WorkflowClient.start(crossBoarderPaymentWorkflow::processPayment, paymentDetails);
+        } catch (WorkflowExecutionAlreadyStarted e) {
+            log.info("Payment {} was already started, ignoring duplicate submission", paymentDetails.getPaymentId());
+        } catch (RuntimeException e) {
+            throw ConcurrencyLimitingClientInterceptor.translateRejection(e);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Starts the payment workflow with an update attached and completes as soon as order validation and
+     * authorization have finished. Clearing, notification and posting carry on in the background.
+     * Update-with-start blocks until a worker accepts the update, so it runs on a bounded pool and the
+     * timeout covers the whole call, not only the wait for the result.
+     * @param paymentDetails Payment to start
+     * @param timeout How long to wait for the authorization outcome before falling back to ACTC
+     * @return ACSP once authorized, RJCT when validation or authorization failed, ACTC on timeout
+     */
+    public CompletableFuture<PaymentResponse> submitPaymentAndAwaitAuthorization(PaymentDetails paymentDetails,
+                                                                                 Duration timeout) {
+        String paymentId = paymentDetails.getPaymentId();
+        CompletableFuture<PaymentResponse> response;
+        try {
+            response = CompletableFuture.supplyAsync(() -> startAuthorizationUpdate(paymentDetails, timeout),
+                    updateStartExecutor).thenCompose(result -> result);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return response.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(error -> fallbackAuthorizationResponse(paymentId, error));
+    }
+
+    private CompletableFuture<PaymentResponse> startAuthorizationUpdate(PaymentDetails paymentDetails,
+                                                                        Duration timeout) {
+        String paymentId = paymentDetails.getPaymentId();
+        WorkflowUpdateHandle<PaymentResponse> updateHandle;
+        try {
+            if (paymentDetails.getPriority() == PaymentPriority.HIGH) {
+                HighPriorityWorkflow highWorkflow = temporalWorkflowConfig.highPaymentWorkflowForUpdateWithStart(
+                        workflowClient, paymentId);
+                updateHandle = WorkflowClient.startUpdateWithStart(highWorkflow::awaitAuthorization,
+                        AUTHORIZATION_UPDATE_OPTIONS,
+                        new WithStartWorkflowOperation<>(highWorkflow::processPayment, paymentDetails));
+            } else {
+                PaymentWorkflow normalWorkflow = temporalWorkflowConfig.sendPaymentWorkflowForUpdateWithStart(
+                        workflowClient, paymentId);
+                updateHandle = WorkflowClient.startUpdateWithStart(normalWorkflow::awaitAuthorization,
+                        AUTHORIZATION_UPDATE_OPTIONS,
+                        new WithStartWorkflowOperation<>(normalWorkflow::processPayment, paymentDetails));
+            }
+        } catch (WorkflowExecutionAlreadyStarted e) {
+            // The payment already ran to completion under this id, so report its final state instead
+            log.info("Payment {} already completed, returning its recorded status", paymentId);
+            return temporalQueryGateway.describeWorkflowExecution(paymentId)
+                    .thenApply(describeResponse -> PaymentUtil.createPaymentResponse(paymentId,
+                            describeResponse.getWorkflowExecutionInfo().getStatus()));
+        }
+
+        return updateHandle.getResultAsync(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private PaymentResponse fallbackAuthorizationResponse(String paymentId, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException || cause instanceof WorkflowUpdateTimeoutOrCancelledException) {
+            return PaymentUtil.createPaymentResponse(paymentId, PaymentResponse.StatusEnum.ACTC);
+        }
+        if (cause instanceof WorkflowUpdateException) {
+            log.warn("Authorization update failed for payment: {}", paymentId, cause);
+            return PaymentUtil.createPaymentResponse(paymentId, PaymentResponse.StatusEnum.RJCT);
+        }
+        throw cause instanceof RuntimeException runtimeException
+                ? ConcurrencyLimitingClientInterceptor.translateRejection(runtimeException)
+                : new CompletionException(cause);
+    }
+
+    private static <T> T rethrowTranslated(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        throw cause instanceof RuntimeException runtimeException
+                ? ConcurrencyLimitingClientInterceptor.translateRejection(runtimeException)
+                : new CompletionException(cause);
     }
 
     public void sendSignal(PaymentStepStatus status, String workflowId){
@@ -80,100 +222,52 @@ public class PaymentProcessService {
     }
 
     public WorkflowExecutionStatus getWorkflowStatus(String workflowId) {
-        DescribeWorkflowExecutionRequest describeRequest = DescribeWorkflowExecutionRequest.newBuilder()
-                .setNamespace(workflowClient.getOptions().getNamespace())
-                .setExecution(WorkflowExecution.newBuilder().setWorkflowId(workflowId).build())
-                .build();
-
-        DescribeWorkflowExecutionResponse describeResponse = service.blockingStub().describeWorkflowExecution(describeRequest);
+        DescribeWorkflowExecutionResponse describeResponse = FutureUtil.join(
+                temporalQueryGateway.describeWorkflowExecution(workflowId));
         return describeResponse.getWorkflowExecutionInfo().getStatus();
     }
 
     public WorkflowResult retrieveWorkFlowHistory(String workflowId, boolean includeActivities) {
-        List<ActivityResult> activities = null;
-
-        DescribeWorkflowExecutionRequest describeRequest = DescribeWorkflowExecutionRequest.newBuilder()
-                .setNamespace(workflowClient.getOptions().getNamespace())
-                .setExecution(WorkflowExecution.newBuilder().setWorkflowId(workflowId).build())
-                .build();
-
-        DescribeWorkflowExecutionResponse describeResponse = service.blockingStub().describeWorkflowExecution(describeRequest);
-        WorkflowExecutionStatus workflowStatus = describeResponse.getWorkflowExecutionInfo().getStatus();
-        Timestamp workflowStartTime = describeResponse.getWorkflowExecutionInfo().getStartTime();
-        Timestamp workflowEndTime = describeResponse.getWorkflowExecutionInfo().getCloseTime();
-        String workflowType = describeResponse.getWorkflowExecutionInfo().getType().getName();
-
-        if (includeActivities) {
-            GetWorkflowExecutionHistoryRequest request = GetWorkflowExecutionHistoryRequest.newBuilder()
-                    .setNamespace(workflowClient.getOptions().getNamespace())
-                    .setExecution(WorkflowExecution.newBuilder().setWorkflowId(workflowId).build())
-                    .build();
-
-            GetWorkflowExecutionHistoryResponse response = service.blockingStub().getWorkflowExecutionHistory(request);
-            Map<Long, HistoryEvent> eventsById = response.getHistory().getEventsList().stream()
-                    .collect(Collectors.toMap(HistoryEvent::getEventId, event -> event));
-
-            activities = response.getHistory().getEventsList().stream()
-                    .filter(event -> event.getEventType() == EventType.EVENT_TYPE_ACTIVITY_TASK_COMPLETED || event.getEventType() == EventType.EVENT_TYPE_ACTIVITY_TASK_FAILED)
-                    .map(event -> {
-                        String status;
-                        ActivityTaskCompletedEventAttributes completedTaskAttributes = null;
-                        ActivityTaskFailedEventAttributes failedTaskAttributes = null;
-
-                        if (event.getEventType() == EventType.EVENT_TYPE_ACTIVITY_TASK_COMPLETED) {
-                            completedTaskAttributes = event.getActivityTaskCompletedEventAttributes();
-                            status = "successful";
-                        } else {
-                            failedTaskAttributes = event.getActivityTaskFailedEventAttributes();
-                            status = "failed";
-                        }
-
-                        return mapToActivityResult(completedTaskAttributes, failedTaskAttributes, eventsById, status);
-                    })
-                    .toList();
+        Optional<WorkflowResult> cached = paymentStatusCache.get(workflowId, includeActivities);
+        if (cached.isPresent()) {
+            return cached.get();
         }
 
-        return new WorkflowResult(workflowStatus, workflowStartTime, workflowEndTime, workflowType, activities);
+        return FutureUtil.join(retrieveWorkFlowHistoryAsync(workflowId, includeActivities));
     }
 
-    private ActivityResult mapToActivityResult(ActivityTaskCompletedEventAttributes completedTaskAttributes,
-                                               ActivityTaskFailedEventAttributes failedTaskAttributes,
-                                               Map<Long, HistoryEvent> eventsById, String status) {
-        long scheduledEventId;
-        if (completedTaskAttributes != null) {
-            scheduledEventId = completedTaskAttributes.getScheduledEventId();
-        } else if (failedTaskAttributes != null) {
-            scheduledEventId = failedTaskAttributes.getScheduledEventId();
-        } else {
-            throw new IllegalStateException("Both completed and failed task attributes are null");
+    /**
+     * Non-blocking variant of {@link #retrieveWorkFlowHistory}. Describe and history are requested in
+     * parallel through {@link TemporalQueryGateway}, so no thread waits on Temporal and concurrent pollers
+     * of the same payment share the RPCs.
+     */
+    public CompletableFuture<WorkflowResult> retrieveWorkFlowHistoryAsync(String workflowId, boolean includeActivities) {
+        Optional<WorkflowResult> cached = paymentStatusCache.get(workflowId, includeActivities);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
         }
 
-        if (scheduledEventId == 0) {
-            return new ActivityResult("Unknown Activity", status, null);
-        }
-
-        HistoryEvent scheduledEvent = eventsById.get(scheduledEventId);
-        if (scheduledEvent == null) {
-            throw new IllegalStateException(
-                    String.format("Scheduled event not found for ID: %d", scheduledEventId));
-        }
-
-        return new ActivityResult(
-                getActivityName(scheduledEvent),
-                status,
-                scheduledEvent.getEventTime()
-        );
-    }
+        CompletableFuture<DescribeWorkflowExecutionResponse> describe =
+                temporalQueryGateway.describeWorkflowExecution(workflowId);
+        CompletableFuture<List<ActivityResult>> activities = includeActivities
+                ? activityTimelineBuilder.build(workflowId)
+                : CompletableFuture.completedFuture(null);
 
-    private String getActivityName(HistoryEvent scheduledEvent) {
-        return scheduledEvent.getActivityTaskScheduledEventAttributes()
-                .getActivityType()
-                .getName();
+        return describe.thenCombine(activities, this::toWorkflowResult)
+                .thenApply(result -> {
+                    paymentStatusCache.put(workflowId, includeActivities, result);
+                    return result;
+                })
+                .exceptionally(PaymentProcessService::rethrowTranslated);
     }
 
-    public void sendToken(byte[] token) {
-        ActivityCompletionClient completionClient = workflowClient.newActivityCompletionClient();
-        completionClient.complete(token, PaymentStepStatus.POSTED);
+    private WorkflowResult toWorkflowResult(DescribeWorkflowExecutionResponse describeResponse,
+                                            List<ActivityResult> activities) {
+        WorkflowExecutionStatus workflowStatus = describeResponse.getWorkflowExecutionInfo().getStatus();
+        Timestamp workflowStartTime = describeResponse.getWorkflowExecutionInfo().getStartTime();
+        Timestamp workflowEndTime = describeResponse.getWorkflowExecutionInfo().getCloseTime();
+        String workflowType = describeResponse.getWorkflowExecutionInfo().getType().getName();
 
+        return new WorkflowResult(workflowStatus, workflowStartTime, workflowEndTime, workflowType, activities);
     }
 }
\ No newline at end of file
@@ -0,0 +1,253 @@
+package com.payments.frontdoor.service;
+
+import com.google.protobuf.ByteString;
+import com.payments.frontdoor.activities.PaymentStepStatus;
+import com.payments.frontdoor.config.ProgressStreamCustomProperties;
+import com.payments.frontdoor.model.PaymentProgressEvent;
+import com.payments.frontdoor.util.FutureUtil;
+import com.payments.frontdoor.util.PaymentUtil;
+import io.grpc.Status;
+import io.temporal.api.common.v1.WorkflowExecution;
+import io.temporal.api.enums.v1.EventType;
+import io.temporal.api.enums.v1.WorkflowExecutionStatus;
+import io.temporal.api.history.v1.HistoryEvent;
+import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryRequest;
+import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryResponse;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowException;
+import io.temporal.serviceclient.WorkflowServiceStubs;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes payment step transitions to Server-Sent Events watchers. Each payment has at most one upstream
+ * subscription, which long-polls the workflow history and re-runs the completed-steps query after every
+ * completed workflow task, since that is when a step change becomes visible, whether it came from an activity,
+ * a local activity, a signal or the workflow itself. All watchers of that payment share the subscription, and
+ * it is cancelled when the last one leaves.
+ */
+@Slf4j
+@Service
+public class PaymentProgressService {
+
+    private static final String STEP_EVENT = "step";
+    private static final String STATUS_EVENT = "status";
+    private static final String COMPLETED_STEPS_QUERY = "getCompletedSteps";
+
+    private final WorkflowClient workflowClient;
+    private final WorkflowServiceStubs service;
+    private final ProgressStreamCustomProperties properties;
+    private final ExecutorService queryExecutor;
+    private final Map<String, ProgressSubscription> subscriptions = new ConcurrentHashMap<>();
+
+    public PaymentProgressService(WorkflowClient workflowClient, WorkflowServiceStubs service,
+                                  ProgressStreamCustomProperties properties) {
+        this.workflowClient = workflowClient;
+        this.service = service;
+        this.properties = properties;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("progress-query-");
+        threadFactory.setDaemon(true);
+        this.queryExecutor = Executors.newFixedThreadPool(properties.getQueryThreads(), threadFactory);
+    }
+
+    public SseEmitter subscribe(String paymentId) {
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        while (true) {
+            ProgressSubscription created = new ProgressSubscription(paymentId);
+            ProgressSubscription existing = subscriptions.putIfAbsent(paymentId, created);
+            ProgressSubscription subscription = existing != null ? existing : created;
+            if (subscription.addWatcher(emitter)) {
+                if (existing == null) {
+                    created.poll();
+                }
+                return emitter;
+            }
+            // The subscription closed between lookup and join, drop it and start a fresh one
+            subscriptions.remove(paymentId, subscription);
+        }
+    }
+
+    public int activeSubscriptions() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.values().forEach(ProgressSubscription::close);
+        queryExecutor.shutdownNow();
+    }
+
+    private final class ProgressSubscription {
+
+        private final String paymentId;
+        private final Set<SseEmitter> watchers = new HashSet<>();
+        private final Set<PaymentStepStatus> publishedSteps = EnumSet.noneOf(PaymentStepStatus.class);
+        private ByteString nextPageToken = ByteString.EMPTY;
+        private CompletableFuture<GetWorkflowExecutionHistoryResponse> pendingPoll;
+        private boolean closed;
+
+        private ProgressSubscription(String paymentId) {
+            this.paymentId = paymentId;
+        }
+
+        private synchronized boolean addWatcher(SseEmitter emitter) {
+            if (closed) {
+                return false;
+            }
+            watchers.add(emitter);
+            emitter.onCompletion(() -> removeWatcher(emitter));
+            emitter.onTimeout(() -> removeWatcher(emitter));
+            emitter.onError(error -> removeWatcher(emitter));
+            publishedSteps.forEach(step -> send(emitter, STEP_EVENT, stepEvent(step)));
+            return true;
+        }
+
+        private synchronized void removeWatcher(SseEmitter emitter) {
+            watchers.remove(emitter);
+            if (watchers.isEmpty() && !closed) {
+                log.debug("Last watcher left, closing progress subscription for payment: {}", paymentId);
+                close();
+            }
+        }
+
+        private synchronized void close() {
+            closed = true;
+            subscriptions.remove(paymentId, this);
+            if (pendingPoll != null) {
+                pendingPoll.cancel(true);
+            }
+            List.copyOf(watchers).forEach(SseEmitter::complete);
+        }
+
+        private synchronized void poll() {
+            if (closed) {
+                return;
+            }
+            GetWorkflowExecutionHistoryRequest request = GetWorkflowExecutionHistoryRequest.newBuilder()
+                    .setNamespace(workflowClient.getOptions().getNamespace())
+                    .setExecution(WorkflowExecution.newBuilder().setWorkflowId(paymentId).build())
+                    .setNextPageToken(nextPageToken)
+                    .setWaitNewEvent(true)
+                    .build();
+
+            pendingPoll = FutureUtil.toCompletableFuture(service.futureStub()
+                    .withDeadlineAfter(properties.getPollTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                    .getWorkflowExecutionHistory(request));
+            pendingPoll.whenCompleteAsync(this::onHistory, queryExecutor);
+        }
+
+        private void onHistory(GetWorkflowExecutionHistoryResponse response, Throwable error) {
+            if (isClosed()) {
+                return;
+            }
+            if (error != null) {
+                if (Status.fromThrowable(error).getCode() == Status.Code.DEADLINE_EXCEEDED) {
+                    poll();
+                } else {
+                    log.error("Progress subscription failed for payment: {}", paymentId, error);
+                    failWatchers(error);
+                }
+                return;
+            }
+
+            nextPageToken = response.getNextPageToken();
+            List<HistoryEvent> events = response.getHistory().getEventsList();
+            if (events.stream().anyMatch(event -> event.getEventType() == EventType.EVENT_TYPE_WORKFLOW_TASK_COMPLETED)) {
+                queryCompletedSteps();
+            }
+
+            Optional<WorkflowExecutionStatus> closeStatus = events.stream()
+                    .map(event -> closeStatusOf(event.getEventType()))
+                    .flatMap(Optional::stream)
+                    .findFirst();
+            if (closeStatus.isPresent()) {
+                queryCompletedSteps();
+                publishStatus(closeStatus.get());
+                close();
+            } else {
+                poll();
+            }
+        }
+
+        private void queryCompletedSteps() {
+            try {
+                PaymentStepStatus[] steps = workflowClient
+                        .newUntypedWorkflowStub(paymentId, Optional.empty(), Optional.empty())
+                        .query(COMPLETED_STEPS_QUERY, PaymentStepStatus[].class);
+                publishSteps(steps);
+            } catch (WorkflowException e) {
+                log.debug("Completed steps query unavailable for payment: {}", paymentId, e);
+            }
+        }
+
+        private synchronized void publishSteps(PaymentStepStatus[] steps) {
+            Arrays.stream(steps)
+                    .sorted()
+                    .filter(publishedSteps::add)
+                    .forEach(step -> broadcast(STEP_EVENT, stepEvent(step)));
+        }
+
+        private synchronized void publishStatus(WorkflowExecutionStatus workflowStatus) {
+            String status = PaymentUtil.createPaymentResponse(paymentId, workflowStatus).getStatus().toString();
+            broadcast(STATUS_EVENT, PaymentProgressEvent.builder().paymentId(paymentId).status(status).build());
+        }
+
+        private synchronized void failWatchers(Throwable error) {
+            closed = true;
+            subscriptions.remove(paymentId, this);
+            List.copyOf(watchers).forEach(emitter -> emitter.completeWithError(error));
+        }
+
+        private synchronized boolean isClosed() {
+            return closed;
+        }
+
+        private void broadcast(String eventName, PaymentProgressEvent event) {
+            List.copyOf(watchers).forEach(emitter -> send(emitter, eventName, event));
+        }
+
+        private void send(SseEmitter emitter, String eventName, PaymentProgressEvent event) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(eventName)
+                        .data(event, MediaType.APPLICATION_JSON));
+            } catch (IOException e) {
+                log.debug("Dropping disconnected watcher for payment: {}", paymentId);
+                emitter.completeWithError(e);
+            }
+        }
+
+        private PaymentProgressEvent stepEvent(PaymentStepStatus step) {
+            return PaymentProgressEvent.builder().paymentId(paymentId).step(step.name()).build();
+        }
+
+        private Optional<WorkflowExecutionStatus> closeStatusOf(EventType eventType) {
+            return Optional.ofNullable(switch (eventType) {
+                case EVENT_TYPE_WORKFLOW_EXECUTION_COMPLETED -> WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_COMPLETED;
+                case EVENT_TYPE_WORKFLOW_EXECUTION_FAILED -> WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED;
+                case EVENT_TYPE_WORKFLOW_EXECUTION_CANCELED -> WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_CANCELED;
+                case EVENT_TYPE_WORKFLOW_EXECUTION_TERMINATED -> WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_TERMINATED;
+                case EVENT_TYPE_WORKFLOW_EXECUTION_TIMED_OUT -> WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_TIMED_OUT;
+                default -> null;
+            });
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.payments.frontdoor.service;
+
+import com.payments.frontdoor.config.StatusCacheCustomProperties;
+import com.payments.frontdoor.model.WorkflowResult;
+import com.payments.frontdoor.util.LruCache;
+import io.temporal.api.enums.v1.WorkflowExecutionStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Bounded cache of payment status lookups. A closed workflow can no longer change, so its result is
+ * kept for the terminal TTL, while a running one is only reused for the short running TTL.
+ */
+@Component
+public class PaymentStatusCache {
+
+    private final LruCache<StatusKey, CachedResult> cache;
+    private final Duration terminalTtl;
+    private final Duration runningTtl;
+
+    public PaymentStatusCache(StatusCacheCustomProperties properties) {
+        this.cache = new LruCache<>(properties.getMaxEntries());
+        this.terminalTtl = properties.getTerminalTtl();
+        this.runningTtl = properties.getRunningTtl();
+    }
+
+    public Optional<WorkflowResult> get(String workflowId, boolean includeActivities) {
+        StatusKey key = new StatusKey(workflowId, includeActivities);
+        CachedResult cached = cache.get(key);
+        if (cached == null) {
+            return Optional.empty();
+        }
+        if (Instant.now().isAfter(cached.expiresAt())) {
+            cache.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(cached.result());
+    }
+
+    public void put(String workflowId, boolean includeActivities, WorkflowResult result) {
+        Duration ttl = isTerminal(result.getWorkflowStatus()) ? terminalTtl : runningTtl;
+        cache.put(new StatusKey(workflowId, includeActivities), new CachedResult(result, Instant.now().plus(ttl)));
+    }
+
+    private boolean isTerminal(WorkflowExecutionStatus status) {
+        return switch (status) {
+            case WORKFLOW_EXECUTION_STATUS_COMPLETED,
+                 WORKFLOW_EXECUTION_STATUS_FAILED,
+                 WORKFLOW_EXECUTION_STATUS_CANCELED,
+                 WORKFLOW_EXECUTION_STATUS_TERMINATED,
+                 WORKFLOW_EXECUTION_STATUS_TIMED_OUT -> true;
+            default -> false;
+        };
+    }
+
+    private record StatusKey(String workflowId, boolean includeActivities) {
+    }
+
+    private record CachedResult(WorkflowResult result, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.payments.frontdoor.service;
+
+import com.payments.frontdoor.config.TemporalRpcCustomProperties;
+import com.payments.frontdoor.config.TemporalWorkflowConfig;
+import com.payments.frontdoor.model.CrossBoarderPaymentDetails;
+import com.payments.frontdoor.model.PaymentDetails;
+import com.payments.frontdoor.model.PaymentPriority;
+import com.payments.frontdoor.util.ConcurrencyLimitingClientInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.temporal.api.common.v1.WorkflowExecution;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowStub;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts payment workflows through {@link WorkflowClient} on a bounded pool, so callers on an event loop or
+ * a bulk stream never wait on Temporal while starts still pass the client interceptors, context propagators,
+ * data converter and eager start. A start that finds the pool full fails instead of queueing without bound.
+ */
+@Slf4j
+@Service
+public class PaymentWorkflowStarter {
+
+    private final WorkflowClient workflowClient;
+    private final TemporalWorkflowConfig temporalWorkflowConfig;
+    private final ThreadPoolExecutor startExecutor;
+
+    public PaymentWorkflowStarter(WorkflowClient workflowClient, TemporalWorkflowConfig temporalWorkflowConfig,
+                                  TemporalRpcCustomProperties properties, MeterRegistry meterRegistry) {
+        this.workflowClient = workflowClient;
+        this.temporalWorkflowConfig = temporalWorkflowConfig;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("workflow-start-");
+        threadFactory.setDaemon(true);
+        this.startExecutor = new ThreadPoolExecutor(properties.getStartThreads(), properties.getStartThreads(),
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(properties.getStartQueueCapacity()), threadFactory);
+        ExecutorServiceMetrics.monitor(meterRegistry, startExecutor, "workflow-start", List.of());
+    }
+
+    public CompletableFuture<WorkflowExecution> startAsync(PaymentDetails paymentDetails) {
+        String workflowId = paymentDetails.getPaymentId();
+        WorkflowStub stub = paymentDetails.getPriority() == PaymentPriority.HIGH
+                ? WorkflowStub.fromTyped(temporalWorkflowConfig.highPaymentWorkflowWithId(workflowClient, workflowId))
+                : WorkflowStub.fromTyped(temporalWorkflowConfig.sendPaymentWorkflowWithId(workflowClient, workflowId));
+        return start(stub, workflowId, paymentDetails);
+    }
+
+    public CompletableFuture<WorkflowExecution> startAsync(CrossBoarderPaymentDetails paymentDetails) {
+        String workflowId = paymentDetails.getPaymentId();
+        WorkflowStub stub = WorkflowStub.fromTyped(
+                temporalWorkflowConfig.sendCrossBoarderPaymentWorkflowWithId(workflowClient, workflowId));
+        return start(stub, workflowId, paymentDetails);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        startExecutor.shutdown();
+    }
+
+    private CompletableFuture<WorkflowExecution> start(WorkflowStub stub, String workflowId, Object input) {
+        log.debug("Starting workflow {} of type {}", workflowId, stub.getWorkflowType().orElse(null));
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return stub.start(input);
+                } catch (RuntimeException e) {
+                    throw ConcurrencyLimitingClientInterceptor.translateRejection(e);
+                }
+            }, startExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
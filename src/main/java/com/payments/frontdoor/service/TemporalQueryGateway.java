@@ -0,0 +1,128 @@
+package com.payments.frontdoor.service;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.protobuf.ByteString;
+import com.payments.frontdoor.config.TemporalRpcCustomProperties;
+import com.payments.frontdoor.util.FutureUtil;
+import com.payments.frontdoor.util.SingleFlight;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.temporal.api.common.v1.WorkflowExecution;
+import io.temporal.api.enums.v1.DescribeTaskQueueMode;
+import io.temporal.api.enums.v1.TaskQueueType;
+import io.temporal.api.taskqueue.v1.TaskQueue;
+import io.temporal.api.taskqueue.v1.TaskQueueVersionSelection;
+import io.temporal.api.workflowservice.v1.DescribeTaskQueueRequest;
+import io.temporal.api.workflowservice.v1.DescribeTaskQueueResponse;
+import io.temporal.api.workflowservice.v1.DescribeWorkflowExecutionRequest;
+import io.temporal.api.workflowservice.v1.DescribeWorkflowExecutionResponse;
+import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryRequest;
+import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryResponse;
+import io.temporal.api.workflowservice.v1.WorkflowServiceGrpc;
+import io.temporal.client.WorkflowClient;
+import io.temporal.serviceclient.WorkflowServiceStubs;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Read-side gateway for Temporal describe, history and task queue lookups. Calls go through the gRPC future
+ * stub with a per-call deadline, and concurrent describes of the same workflow share one in-flight RPC, so a
+ * burst of pollers costs one call per distinct payment rather than one per request.
+ */
+@Service
+public class TemporalQueryGateway {
+
+    private static final String DESCRIBE = "DescribeWorkflowExecution";
+    private static final String HISTORY = "GetWorkflowExecutionHistory";
+    private static final String DESCRIBE_TASK_QUEUE = "DescribeTaskQueue";
+
+    private final WorkflowServiceStubs service;
+    private final WorkflowClient workflowClient;
+    private final TemporalRpcCustomProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final SingleFlight<String, DescribeWorkflowExecutionResponse> describes = new SingleFlight<>();
+    private final Counter coalescedDescribes;
+
+    public TemporalQueryGateway(WorkflowServiceStubs service, WorkflowClient workflowClient,
+                                TemporalRpcCustomProperties properties, MeterRegistry meterRegistry) {
+        this.service = service;
+        this.workflowClient = workflowClient;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.coalescedDescribes = Counter.builder("payments.temporal.query.coalesced")
+                .tag("method", DESCRIBE)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<DescribeWorkflowExecutionResponse> describeWorkflowExecution(String workflowId) {
+        SingleFlight.Call<DescribeWorkflowExecutionResponse> call = describes.execute(workflowId,
+                () -> timed(DESCRIBE, stub -> stub.describeWorkflowExecution(describeRequest(workflowId))));
+        if (call.shared()) {
+            coalescedDescribes.increment();
+        }
+        return call.result();
+    }
+
+    /**
+     * Fetches one page of history. Paging callers coalesce at a higher level, since two pages of the
+     * same workflow are different requests.
+     */
+    public CompletableFuture<GetWorkflowExecutionHistoryResponse> getWorkflowExecutionHistoryPage(
+            String workflowId, ByteString nextPageToken, int pageSize) {
+        return timed(HISTORY, stub -> stub.getWorkflowExecutionHistory(historyRequest(workflowId, nextPageToken,
+                pageSize)));
+    }
+
+    /**
+     * Describes the unversioned workflow and activity queues of a task queue in enhanced mode, which reports
+     * backlog and dispatch statistics alongside the pollers.
+     */
+    public CompletableFuture<DescribeTaskQueueResponse> describeTaskQueue(String taskQueue) {
+        DescribeTaskQueueRequest request = DescribeTaskQueueRequest.newBuilder()
+                .setNamespace(workflowClient.getOptions().getNamespace())
+                .setTaskQueue(TaskQueue.newBuilder().setName(taskQueue).build())
+                .setApiMode(DescribeTaskQueueMode.DESCRIBE_TASK_QUEUE_MODE_ENHANCED)
+                .setVersions(TaskQueueVersionSelection.newBuilder().setUnversioned(true).build())
+                .addTaskQueueTypes(TaskQueueType.TASK_QUEUE_TYPE_WORKFLOW)
+                .addTaskQueueTypes(TaskQueueType.TASK_QUEUE_TYPE_ACTIVITY)
+                .setReportStats(true)
+                .setReportPollers(true)
+                .build();
+        return timed(DESCRIBE_TASK_QUEUE, stub -> stub.describeTaskQueue(request));
+    }
+
+    private <T> CompletableFuture<T> timed(String method,
+                                           Function<WorkflowServiceGrpc.WorkflowServiceFutureStub, ListenableFuture<T>> rpc) {
+        WorkflowServiceGrpc.WorkflowServiceFutureStub stub = service.futureStub()
+                .withDeadlineAfter(properties.getQueryDeadline().toMillis(), TimeUnit.MILLISECONDS);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return FutureUtil.toCompletableFuture(rpc.apply(stub))
+                .whenComplete((result, error) -> sample.stop(Timer.builder("payments.temporal.query.latency")
+                        .tag("method", method)
+                        .tag("outcome", error == null ? "OK" : Status.fromThrowable(error).getCode().name())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)));
+    }
+
+    private DescribeWorkflowExecutionRequest describeRequest(String workflowId) {
+        return DescribeWorkflowExecutionRequest.newBuilder()
+                .setNamespace(workflowClient.getOptions().getNamespace())
+                .setExecution(WorkflowExecution.newBuilder().setWorkflowId(workflowId).build())
+                .build();
+    }
+
+    private GetWorkflowExecutionHistoryRequest historyRequest(String workflowId, ByteString nextPageToken,
+                                                              int pageSize) {
+        return GetWorkflowExecutionHistoryRequest.newBuilder()
+                .setNamespace(workflowClient.getOptions().getNamespace())
+                .setExecution(WorkflowExecution.newBuilder().setWorkflowId(workflowId).build())
+                .setNextPageToken(nextPageToken)
+                .setMaximumPageSize(pageSize)
+                .build();
+    }
+}
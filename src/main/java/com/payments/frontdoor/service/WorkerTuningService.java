@@ -0,0 +1,126 @@
+package com.payments.frontdoor.service;
+
+import com.payments.frontdoor.config.WorkerTuningCustomProperties;
+import com.payments.frontdoor.util.ResizableSlotSupplier;
+import io.temporal.worker.WorkerOptions;
+import io.temporal.worker.tuning.ActivitySlotInfo;
+import io.temporal.worker.tuning.CompositeTuner;
+import io.temporal.worker.tuning.FixedSizeSlotSupplier;
+import io.temporal.worker.tuning.LocalActivitySlotInfo;
+import io.temporal.worker.tuning.NexusSlotInfo;
+import io.temporal.worker.tuning.ResourceBasedControllerOptions;
+import io.temporal.worker.tuning.ResourceBasedSlotOptions;
+import io.temporal.worker.tuning.ResourceBasedTuner;
+import io.temporal.worker.tuning.WorkflowSlotInfo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies the per-worker tuning from {@link WorkerTuningCustomProperties} when the Temporal starter builds
+ * each worker, and keeps the slot suppliers of fixed-size workers so their limits can be changed while the
+ * worker runs. Resource-based workers size their own slots from the CPU and memory targets.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WorkerTuningService {
+
+    private static final int NEXUS_SLOTS = 10;
+
+    private final WorkerTuningCustomProperties properties;
+    private final Map<String, FixedSlots> fixedSlots = new ConcurrentHashMap<>();
+
+    public WorkerOptions.Builder customize(WorkerOptions.Builder builder, String workerName) {
+        WorkerTuningCustomProperties.Worker tuning = properties.getWorkers()
+                .getOrDefault(workerName, new WorkerTuningCustomProperties.Worker());
+        builder.setMaxConcurrentWorkflowTaskPollers(tuning.getWorkflowTaskPollers())
+                .setMaxConcurrentActivityTaskPollers(tuning.getActivityTaskPollers())
+                .setUsingVirtualThreads(tuning.isVirtualThreads())
+                .setDisableEagerExecution(!tuning.isEagerActivities());
+
+        if (tuning.getMode() == WorkerTuningCustomProperties.Mode.RESOURCE_BASED) {
+            log.info("Worker {} uses resource-based slots with memory target {} and CPU target {}", workerName,
+                    tuning.getResourceBased().getTargetMemoryUsage(), tuning.getResourceBased().getTargetCpuUsage());
+            return builder.setWorkerTuner(resourceBasedTuner(tuning.getResourceBased()));
+        }
+
+        FixedSlots slots = new FixedSlots(
+                new ResizableSlotSupplier<>(tuning.getWorkflowTaskSlots()),
+                new ResizableSlotSupplier<>(tuning.getActivitySlots()),
+                new ResizableSlotSupplier<>(tuning.getLocalActivitySlots()));
+        fixedSlots.put(workerName, slots);
+        log.info("Worker {} uses fixed slots: {} workflow task, {} activity, {} local activity on {} threads",
+                workerName, tuning.getWorkflowTaskSlots(), tuning.getActivitySlots(), tuning.getLocalActivitySlots(),
+                tuning.isVirtualThreads() ? "virtual" : "platform");
+        return builder.setWorkerTuner(new CompositeTuner(slots.workflowTasks(), slots.activities(),
+                slots.localActivities(), new FixedSizeSlotSupplier<NexusSlotInfo>(NEXUS_SLOTS)));
+    }
+
+    /**
+     * Changes the slot limits of a running fixed-size worker. Limits left null are kept.
+     */
+    public WorkerSlots resize(String workerName, Integer workflowTaskSlots, Integer activitySlots,
+                              Integer localActivitySlots) {
+        FixedSlots slots = Optional.ofNullable(fixedSlots.get(workerName))
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "No fixed-size worker named " + workerName + "; resource-based workers size themselves"));
+        if (workflowTaskSlots != null) {
+            slots.workflowTasks().resize(workflowTaskSlots);
+        }
+        if (activitySlots != null) {
+            slots.activities().resize(activitySlots);
+        }
+        if (localActivitySlots != null) {
+            slots.localActivities().resize(localActivitySlots);
+        }
+        log.info("Resized worker {} slots to {} workflow task, {} activity, {} local activity", workerName,
+                slots.workflowTasks().getLimit(), slots.activities().getLimit(), slots.localActivities().getLimit());
+        return toWorkerSlots(workerName, slots);
+    }
+
+    public Map<String, WorkerSlots> currentSlots() {
+        Map<String, WorkerSlots> current = new ConcurrentHashMap<>();
+        fixedSlots.forEach((workerName, slots) -> current.put(workerName, toWorkerSlots(workerName, slots)));
+        return current;
+    }
+
+    private WorkerSlots toWorkerSlots(String workerName, FixedSlots slots) {
+        return new WorkerSlots(workerName,
+                new SlotLimit(slots.workflowTasks().getLimit(), slots.workflowTasks().getAvailable()),
+                new SlotLimit(slots.activities().getLimit(), slots.activities().getAvailable()),
+                new SlotLimit(slots.localActivities().getLimit(), slots.localActivities().getAvailable()));
+    }
+
+    private ResourceBasedTuner resourceBasedTuner(WorkerTuningCustomProperties.ResourceBased resourceBased) {
+        return ResourceBasedTuner.newBuilder()
+                .setControllerOptions(ResourceBasedControllerOptions.newBuilder(
+                        resourceBased.getTargetMemoryUsage(), resourceBased.getTargetCpuUsage()).build())
+                .setWorkflowSlotOptions(ResourceBasedSlotOptions.newBuilder()
+                        .setMinimumSlots(resourceBased.getMinWorkflowTaskSlots())
+                        .setMaximumSlots(resourceBased.getMaxWorkflowTaskSlots())
+                        .build())
+                .setActivitySlotOptions(ResourceBasedSlotOptions.newBuilder()
+                        .setMinimumSlots(resourceBased.getMinActivitySlots())
+                        .setMaximumSlots(resourceBased.getMaxActivitySlots())
+                        .setRampThrottle(resourceBased.getActivityRampThrottle())
+                        .build())
+                .build();
+    }
+
+    private record FixedSlots(ResizableSlotSupplier<WorkflowSlotInfo> workflowTasks,
+                              ResizableSlotSupplier<ActivitySlotInfo> activities,
+                              ResizableSlotSupplier<LocalActivitySlotInfo> localActivities) {
+    }
+
+    public record WorkerSlots(String workerName, SlotLimit workflowTasks, SlotLimit activities,
+                              SlotLimit localActivities) {
+    }
+
+    public record SlotLimit(int limit, int available) {
+    }
+}
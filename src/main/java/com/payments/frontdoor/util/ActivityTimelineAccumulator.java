@@ -0,0 +1,187 @@
+package com.payments.frontdoor.util;
+
+import com.google.protobuf.Timestamp;
+import com.payments.frontdoor.model.ActivityResult;
+import com.payments.frontdoor.workflows.HighPriorityWorkflowImpl;
+import com.payments.frontdoor.workflows.PaymentWorkflowImpl;
+import io.temporal.api.common.v1.Payloads;
+import io.temporal.api.history.v1.HistoryEvent;
+import io.temporal.api.history.v1.MarkerRecordedEventAttributes;
+import io.temporal.common.converter.DataConverterException;
+import io.temporal.common.converter.DefaultDataConverter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Folds history events, page by page, into the activity timeline of one workflow. Activity scheduled,
+ * started, completed and failed events are kept, as are local activity markers. Payments that initiate
+ * inside the workflow instead of through an activity get a synthetic {@code InitiatePayment} entry, so
+ * the timeline lists the same steps whichever way the workflow ran them. Scheduled events are indexed by
+ * event id in sorted primitive arrays, which works because history event ids only ever increase.
+ */
+public class ActivityTimelineAccumulator {
+
+    public static final String INITIATE_PAYMENT = "InitiatePayment";
+
+    private static final int INITIAL_CAPACITY = 16;
+    // Marker names and detail keys the Java SDK writes for local activities and Workflow.getVersion
+    private static final String LOCAL_ACTIVITY_MARKER = "LocalActivity";
+    private static final String VERSION_MARKER = "Version";
+    private static final String ACTIVITY_TYPE_KEY = "type";
+    private static final String METADATA_KEY = "meta";
+    private static final String CHANGE_ID_KEY = "changeId";
+    private static final Set<String> INLINE_INITIATE_CHANGES = Set.of(
+            PaymentWorkflowImpl.IN_WORKFLOW_INITIATE_CHANGE, HighPriorityWorkflowImpl.LOCAL_STEPS_CHANGE);
+
+    private long[] scheduledEventIds = new long[INITIAL_CAPACITY];
+    private String[] activityNames = new String[INITIAL_CAPACITY];
+    private Timestamp[] scheduledTimes = new Timestamp[INITIAL_CAPACITY];
+    private int[] attempts = new int[INITIAL_CAPACITY];
+    private int scheduledCount;
+
+    private final List<ActivityResult> timeline = new ArrayList<>();
+    private Timestamp workflowStartTime;
+    private boolean workflowClosed;
+
+    public void accept(HistoryEvent event) {
+        switch (event.getEventType()) {
+            case EVENT_TYPE_ACTIVITY_TASK_SCHEDULED -> addScheduled(event.getEventId(),
+                    event.getActivityTaskScheduledEventAttributes().getActivityType().getName(), event.getEventTime());
+            case EVENT_TYPE_ACTIVITY_TASK_STARTED -> {
+                int index = indexOf(event.getActivityTaskStartedEventAttributes().getScheduledEventId());
+                if (index >= 0) {
+                    attempts[index] = event.getActivityTaskStartedEventAttributes().getAttempt();
+                }
+            }
+            case EVENT_TYPE_ACTIVITY_TASK_COMPLETED -> close(
+                    event.getActivityTaskCompletedEventAttributes().getScheduledEventId(), "successful", event);
+            case EVENT_TYPE_ACTIVITY_TASK_FAILED -> close(
+                    event.getActivityTaskFailedEventAttributes().getScheduledEventId(), "failed", event);
+            case EVENT_TYPE_WORKFLOW_EXECUTION_STARTED -> workflowStartTime = event.getEventTime();
+            case EVENT_TYPE_MARKER_RECORDED -> acceptMarker(event);
+            case EVENT_TYPE_WORKFLOW_EXECUTION_COMPLETED,
+                 EVENT_TYPE_WORKFLOW_EXECUTION_FAILED,
+                 EVENT_TYPE_WORKFLOW_EXECUTION_CANCELED,
+                 EVENT_TYPE_WORKFLOW_EXECUTION_TERMINATED,
+                 EVENT_TYPE_WORKFLOW_EXECUTION_TIMED_OUT,
+                 EVENT_TYPE_WORKFLOW_EXECUTION_CONTINUED_AS_NEW -> workflowClosed = true;
+            default -> {
+                // Not part of the activity timeline
+            }
+        }
+    }
+
+    /**
+     * @return true once the close event of the workflow has been seen, after which the timeline is final
+     */
+    public boolean isWorkflowClosed() {
+        return workflowClosed;
+    }
+
+    public List<ActivityResult> timeline() {
+        return List.copyOf(timeline);
+    }
+
+    private void acceptMarker(HistoryEvent event) {
+        MarkerRecordedEventAttributes marker = event.getMarkerRecordedEventAttributes();
+        Map<String, Payloads> details = marker.getDetailsMap();
+        switch (marker.getMarkerName()) {
+            case LOCAL_ACTIVITY_MARKER -> {
+                Map<?, ?> metadata = decode(details, METADATA_KEY, Map.class).orElse(Map.of());
+                Timestamp startTime = metadata.get("firstSkd") instanceof Number firstScheduled
+                        ? fromMillis(firstScheduled.longValue())
+                        : event.getEventTime();
+                int attempt = metadata.get("atpt") instanceof Number number ? number.intValue() : 1;
+                timeline.add(result(decode(details, ACTIVITY_TYPE_KEY, String.class).orElse("Unknown Activity"),
+                        marker.hasFailure() ? "failed" : "successful", startTime, event.getEventTime(), attempt));
+            }
+            case VERSION_MARKER -> {
+                // getVersion records its marker in the first workflow task, the one that now initiates inline
+                if (decode(details, CHANGE_ID_KEY, String.class).filter(INLINE_INITIATE_CHANGES::contains).isPresent()) {
+                    Timestamp startTime = workflowStartTime != null ? workflowStartTime : event.getEventTime();
+                    timeline.add(result(INITIATE_PAYMENT, "successful", startTime, event.getEventTime(), 1));
+                }
+            }
+            default -> {
+                // Side effects and other markers are not part of the activity timeline
+            }
+        }
+    }
+
+    private void addScheduled(long eventId, String activityName, Timestamp eventTime) {
+        if (scheduledCount == scheduledEventIds.length) {
+            int capacity = scheduledCount * 2;
+            scheduledEventIds = Arrays.copyOf(scheduledEventIds, capacity);
+            activityNames = Arrays.copyOf(activityNames, capacity);
+            scheduledTimes = Arrays.copyOf(scheduledTimes, capacity);
+            attempts = Arrays.copyOf(attempts, capacity);
+        }
+        scheduledEventIds[scheduledCount] = eventId;
+        activityNames[scheduledCount] = activityName;
+        scheduledTimes[scheduledCount] = eventTime;
+        attempts[scheduledCount] = 1;
+        scheduledCount++;
+    }
+
+    private void close(long scheduledEventId, String status, HistoryEvent event) {
+        int index = indexOf(scheduledEventId);
+        if (index < 0) {
+            timeline.add(ActivityResult.builder()
+                    .activityName("Unknown Activity")
+                    .status(status)
+                    .endTime(event.getEventTime())
+                    .build());
+            return;
+        }
+        timeline.add(result(activityNames[index], status, scheduledTimes[index], event.getEventTime(),
+                attempts[index]));
+    }
+
+    private int indexOf(long scheduledEventId) {
+        return scheduledEventId == 0 ? -1 : Arrays.binarySearch(scheduledEventIds, 0, scheduledCount, scheduledEventId);
+    }
+
+    private static ActivityResult result(String activityName, String status, Timestamp startTime,
+                                         Timestamp endTime, int attempts) {
+        return ActivityResult.builder()
+                .activityName(activityName)
+                .status(status)
+                .startTime(startTime)
+                .endTime(endTime)
+                .durationMillis(Duration.between(toInstant(startTime), toInstant(endTime)).toMillis())
+                .attempts(attempts)
+                .build();
+    }
+
+    /**
+     * Marker details are written with the SDK's standard converter, never the application's payload codec.
+     */
+    private static <T> Optional<T> decode(Map<String, Payloads> details, String key, Class<T> type) {
+        Payloads payloads = details.get(key);
+        if (payloads == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(DefaultDataConverter.STANDARD_INSTANCE.fromPayloads(0, Optional.of(payloads),
+                    type, type));
+        } catch (DataConverterException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Timestamp fromMillis(long epochMillis) {
+        Instant instant = Instant.ofEpochMilli(epochMillis);
+        return Timestamp.newBuilder().setSeconds(instant.getEpochSecond()).setNanos(instant.getNano()).build();
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
+    }
+}
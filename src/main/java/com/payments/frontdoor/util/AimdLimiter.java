@@ -0,0 +1,73 @@
+package com.payments.frontdoor.util;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Concurrency limiter that adapts its limit with additive increase / multiplicative decrease. A request
+ * slower than the latency threshold shrinks the limit by the backoff ratio, and a fast one grows it by one
+ * while at least half of the limit is in use.
+ */
+public class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public synchronized Optional<Permit> tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return Optional.empty();
+        }
+        inFlight++;
+        return Optional.of(new Permit(System.nanoTime()));
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private synchronized void onSample(long latencyNanos) {
+        if (latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        inFlight--;
+    }
+
+    public final class Permit {
+
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        public void release() {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            onSample(System.nanoTime() - startNanos);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.payments.frontdoor.util;
+
+import com.payments.frontdoor.exception.PaymentServiceUnavailableException;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of concurrent gRPC calls for the listed methods. Long polls are left out on purpose,
+ * since they hold a call open for most of their lifetime. Starting a call never blocks, because the caller
+ * may be a Netty event loop or a gRPC callback: a call without a free permit is queued, with its messages
+ * buffered, and started as soon as another call closes. A call still queued after the acquire timeout fails
+ * with FAILED_PRECONDITION, a status the Temporal SDK does not retry, so the caller fails fast instead of
+ * re-queueing the same call. {@link #translateRejection} turns that failure into a 503 for the HTTP client.
+ */
+public class ConcurrencyLimitingClientInterceptor implements ClientInterceptor {
+
+    public static final String REJECTED_DESCRIPTION = "Too many concurrent Temporal calls";
+
+    private final Set<String> limitedMethods;
+    private final long acquireTimeoutMillis;
+    private final Deque<LimitedCall<?, ?>> waiting = new ArrayDeque<>();
+    private int availablePermits;
+
+    public ConcurrencyLimitingClientInterceptor(int maxConcurrentCalls, Set<String> limitedMethods,
+                                                Duration acquireTimeout) {
+        this.availablePermits = maxConcurrentCalls;
+        this.limitedMethods = limitedMethods;
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+    }
+
+    /**
+     * @return true if the call behind {@code error}, however deeply wrapped, was failed here for lack of a permit
+     */
+    public static boolean isRejected(Throwable error) {
+        Status status = Status.fromThrowable(error);
+        return status.getCode() == Status.Code.FAILED_PRECONDITION
+                && REJECTED_DESCRIPTION.equals(status.getDescription());
+    }
+
+    /**
+     * @return a {@link PaymentServiceUnavailableException} if the call was rejected here, otherwise {@code error}
+     */
+    public static RuntimeException translateRejection(RuntimeException error) {
+        return isRejected(error)
+                ? new PaymentServiceUnavailableException("Temporal is at capacity, retry the payment later", error)
+                : error;
+    }
+
+    public synchronized int availablePermits() {
+        return availablePermits;
+    }
+
+    public synchronized int waitingCalls() {
+        return waiting.size();
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                               CallOptions callOptions, Channel next) {
+        if (!limitedMethods.contains(method.getBareMethodName())) {
+            return next.newCall(method, callOptions);
+        }
+        return new LimitedCall<>(next.newCall(method, callOptions));
+    }
+
+    private synchronized boolean acquireOrQueue(LimitedCall<?, ?> call) {
+        if (availablePermits > 0) {
+            availablePermits--;
+            return true;
+        }
+        waiting.addLast(call);
+        return false;
+    }
+
+    private synchronized boolean dequeue(LimitedCall<?, ?> call) {
+        return waiting.remove(call);
+    }
+
+    private void release() {
+        LimitedCall<?, ?> next;
+        synchronized (this) {
+            next = waiting.pollFirst();
+            if (next == null) {
+                availablePermits++;
+                return;
+            }
+        }
+        // The permit passes straight to the oldest queued call
+        next.dispatch();
+    }
+
+    private enum State {
+        NEW,
+        QUEUED,
+        STARTED,
+        CLOSED
+    }
+
+    private final class LimitedCall<ReqT, RespT> extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final List<Runnable> pending = new ArrayList<>();
+        private Listener<RespT> listener;
+        private Metadata headers;
+        private State state = State.NEW;
+
+        private LimitedCall(ClientCall<ReqT, RespT> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void start(Listener<RespT> responseListener, Metadata headers) {
+            synchronized (this) {
+                this.listener = responseListener;
+                this.headers = headers;
+                state = State.QUEUED;
+            }
+            if (acquireOrQueue(this)) {
+                dispatch();
+            } else if (acquireTimeoutMillis <= 0) {
+                expire();
+            } else {
+                CompletableFuture.delayedExecutor(acquireTimeoutMillis, TimeUnit.MILLISECONDS).execute(this::expire);
+            }
+        }
+
+        @Override
+        public void request(int numMessages) {
+            runWhenStarted(() -> super.request(numMessages));
+        }
+
+        @Override
+        public void sendMessage(ReqT message) {
+            runWhenStarted(() -> super.sendMessage(message));
+        }
+
+        @Override
+        public void halfClose() {
+            runWhenStarted(super::halfClose);
+        }
+
+        @Override
+        public void cancel(String message, Throwable cause) {
+            boolean cancelledWhileQueued = false;
+            synchronized (this) {
+                if (state == State.CLOSED) {
+                    return;
+                }
+                if (state == State.QUEUED) {
+                    if (!dequeue(this)) {
+                        // Already handed a permit and about to start, so cancel right after it does
+                        pending.add(() -> super.cancel(message, cause));
+                        return;
+                    }
+                    state = State.CLOSED;
+                    pending.clear();
+                    cancelledWhileQueued = true;
+                }
+            }
+            if (cancelledWhileQueued) {
+                listener.onClose(Status.CANCELLED.withDescription(message).withCause(cause), new Metadata());
+            } else {
+                super.cancel(message, cause);
+            }
+        }
+
+        private void dispatch() {
+            synchronized (this) {
+                state = State.STARTED;
+                try {
+                    super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(listener) {
+                        @Override
+                        public void onClose(Status status, Metadata trailers) {
+                            releaseOnce();
+                            super.onClose(status, trailers);
+                        }
+                    }, headers);
+                } catch (RuntimeException e) {
+                    releaseOnce();
+                    throw e;
+                }
+                pending.forEach(Runnable::run);
+                pending.clear();
+            }
+        }
+
+        private void expire() {
+            synchronized (this) {
+                if (state != State.QUEUED || !dequeue(this)) {
+                    return;
+                }
+                state = State.CLOSED;
+                pending.clear();
+            }
+            listener.onClose(Status.FAILED_PRECONDITION.withDescription(REJECTED_DESCRIPTION), new Metadata());
+        }
+
+        private void runWhenStarted(Runnable action) {
+            synchronized (this) {
+                if (state == State.CLOSED) {
+                    return;
+                }
+                if (state == State.QUEUED) {
+                    pending.add(action);
+                    return;
+                }
+            }
+            action.run();
+        }
+
+        private void releaseOnce() {
+            if (released.compareAndSet(false, true)) {
+                release();
+            }
+        }
+    }
+}
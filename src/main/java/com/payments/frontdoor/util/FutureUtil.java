@@ -0,0 +1,52 @@
+package com.payments.frontdoor.util;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class FutureUtil {
+
+    /**
+     * Adapts a gRPC future stub call to a CompletableFuture. Cancelling the returned future cancels the RPC.
+     */
+    public static <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> listenableFuture) {
+        CompletableFuture<T> completableFuture = new CompletableFuture<>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                listenableFuture.cancel(mayInterruptIfRunning);
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+        Futures.addCallback(listenableFuture, new FutureCallback<>() {
+            @Override
+            public void onSuccess(T result) {
+                completableFuture.complete(result);
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                completableFuture.completeExceptionally(error);
+            }
+        }, MoreExecutors.directExecutor());
+        return completableFuture;
+    }
+
+    /**
+     * Waits for the future and rethrows a runtime failure as-is rather than wrapped in a CompletionException,
+     * so blocking callers see the same gRPC exceptions as with the blocking stub.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.payments.frontdoor.util;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.common.converter.EncodingKeys;
+import io.temporal.payload.codec.PayloadCodec;
+import io.temporal.payload.codec.PayloadCodecException;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Compresses whole payloads, metadata included, with LZ4 once their serialized size reaches the threshold.
+ * Smaller payloads, and payloads LZ4 cannot shrink, pass through unchanged. Compressed payloads are marked
+ * with the {@value #ENCODING} encoding and prefixed with the original length, so decoding needs no guess
+ * at the buffer size. Payloads without the marker decode as they are, so histories written before
+ * compression was enabled still replay.
+ */
+public class Lz4PayloadCodec implements PayloadCodec {
+
+    public static final String ENCODING = "binary/lz4";
+
+    private static final ByteString ENCODING_VALUE = ByteString.copyFromUtf8(ENCODING);
+    // LZ4 cannot expand a block by more than this, so a larger recorded length means a corrupt prefix
+    private static final long MAX_COMPRESSION_RATIO = 255;
+
+    private final int thresholdBytes;
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+
+    public Lz4PayloadCodec(int thresholdBytes) {
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.thresholdBytes = thresholdBytes;
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.fastDecompressor();
+    }
+
+    @Override
+    public List<Payload> encode(List<Payload> payloads) {
+        return payloads.stream().map(this::encode).toList();
+    }
+
+    @Override
+    public List<Payload> decode(List<Payload> payloads) {
+        return payloads.stream().map(this::decode).toList();
+    }
+
+    private Payload encode(Payload payload) {
+        int size = payload.getSerializedSize();
+        if (size < thresholdBytes) {
+            return payload;
+        }
+
+        byte[] raw = payload.toByteArray();
+        ByteBuffer compressed = ByteBuffer.allocate(Integer.BYTES + compressor.maxCompressedLength(size));
+        compressed.putInt(size);
+        int compressedLength = compressor.compress(raw, 0, size, compressed.array(), Integer.BYTES,
+                compressed.capacity() - Integer.BYTES);
+        if (Integer.BYTES + compressedLength >= size) {
+            return payload;
+        }
+
+        return Payload.newBuilder()
+                .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, ENCODING_VALUE)
+                .setData(ByteString.copyFrom(compressed.array(), 0, Integer.BYTES + compressedLength))
+                .build();
+    }
+
+    private Payload decode(Payload payload) {
+        if (!ENCODING_VALUE.equals(payload.getMetadataOrDefault(EncodingKeys.METADATA_ENCODING_KEY, null))) {
+            return payload;
+        }
+
+        byte[] compressed = payload.getData().toByteArray();
+        int size = compressed.length < Integer.BYTES ? -1 : ByteBuffer.wrap(compressed).getInt();
+        if (size < 0 || size > (compressed.length - Integer.BYTES) * MAX_COMPRESSION_RATIO) {
+            throw new PayloadCodecException("Corrupt LZ4 payload: implausible length " + size);
+        }
+        try {
+            byte[] raw = new byte[size];
+            decompressor.decompress(compressed, Integer.BYTES, raw, 0, size);
+            return Payload.parseFrom(raw);
+        } catch (InvalidProtocolBufferException | RuntimeException e) {
+            throw new PayloadCodecException("Corrupt LZ4 payload", e);
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package com.payments.frontdoor.util;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.payments.frontdoor.model.*;
 import com.payments.frontdoor.swagger.model.*;
 import com.payments.frontdoor.workflows.RefundWorkflow;
@@ -11,9 +16,13 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,6 +35,12 @@ import static java.time.ZoneId.systemDefault;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class PaymentUtil {
 
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
     public static PaymentResponse createPaymentResponse(String uetr, PaymentResponse.StatusEnum status) {
         PaymentResponse response = new PaymentResponse();
         response.setPaymentId(uetr);
@@ -60,6 +75,9 @@ public class PaymentUtil {
     }
 
     public static OffsetDateTime convertToOffsetDateTime(com.google.protobuf.Timestamp timestamp) {
+        if (timestamp == null) {
+            return null;
+        }
         return Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos())
                 .atOffset(systemDefault().getRules().getOffset(Instant.now()));
     }
@@ -85,6 +103,47 @@ public class PaymentUtil {
         return UUID.randomUUID().toString();
     }
 
+    /**
+     * Derives the UETR from the scoped idempotency key so a retried submission maps to the same workflow id.
+     *
+     * @see #scopedIdempotencyKey(Object, String)
+     */
+    public static String deriveUetr(String scopedIdempotencyKey) {
+        return UUID.nameUUIDFromBytes(scopedIdempotencyKey.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Scopes the client's idempotency key to the account the payment is debited from, so two debtors reusing
+     * a reference never share an idempotency record or a workflow id. The account number is length-prefixed,
+     * so no two account and key pairs produce the same scoped key.
+     */
+    public static String scopedIdempotencyKey(Object request, String idempotencyKey) {
+        String debtorAccount = switch (request) {
+            case PaymentRequest pr -> Optional.ofNullable(pr.getDebtor()).map(Account::getAccountNumber).orElse("");
+            case CrossBorderPaymentRequest cbr -> Optional.ofNullable(cbr.getCustomer())
+                    .map(CrossBorderPaymentRequestCustomer::getAccountNumber).orElse("");
+            case null -> throw new IllegalArgumentException("Payment request cannot be null");
+            default -> throw new IllegalArgumentException("Unsupported payment request type: " +
+                    request.getClass().getSimpleName());
+        };
+        return debtorAccount.length() + ":" + debtorAccount + ":" + idempotencyKey;
+    }
+
+    /**
+     * SHA-256 of the request serialized with sorted properties, so a retry of the same request always has the
+     * same hash whatever order its fields arrived in.
+     */
+    public static String requestHash(Object request) {
+        try {
+            byte[] canonical = CANONICAL_MAPPER.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(canonical));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Payment request cannot be serialized", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     public static PaymentStatusResponse convertToPaymentStatusResponse(WorkflowResult workflowResult, String paymentId) {
         PaymentStatusResponse response = new PaymentStatusResponse();
         response.setPaymentId(paymentId);
@@ -95,7 +154,10 @@ public class PaymentUtil {
             case WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_COMPLETED:
                 response.setStatus(PaymentStatusResponse.StatusEnum.ACSC);
                 break;
-            case WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED:
+            case WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED,
+                 WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_CANCELED,
+                 WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_TERMINATED,
+                 WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_TIMED_OUT:
                 response.setStatus(PaymentStatusResponse.StatusEnum.RJCT);
                 break;
             default:
@@ -110,6 +172,9 @@ public class PaymentUtil {
                         activityResponse.setActivityName(activity.getActivityName());
                         activityResponse.setStatus(activity.getStatus());
                         activityResponse.setStartTime(PaymentUtil.convertToOffsetDateTime(activity.getStartTime()));
+                        activityResponse.setEndTime(PaymentUtil.convertToOffsetDateTime(activity.getEndTime()));
+                        activityResponse.setDurationMs(activity.getDurationMillis());
+                        activityResponse.setAttempts(activity.getAttempts());
                         return activityResponse;
                     })
                     .collect(Collectors.toList()));
@@ -118,6 +183,21 @@ public class PaymentUtil {
         return response;
     }
 
+    /**
+     * Builds an ETag that changes whenever the status response would change: the workflow status,
+     * its close time and, when requested, the number of finished activities.
+     */
+    public static String paymentStatusETag(WorkflowResult workflowResult, boolean includeActivities) {
+        com.google.protobuf.Timestamp endTime = workflowResult.getEndTime();
+        int activityCount = workflowResult.getActivities() == null ? 0 : workflowResult.getActivities().size();
+        return String.format("%s-%d.%d-%s%d",
+                workflowResult.getWorkflowStatus().getNumber(),
+                endTime.getSeconds(),
+                endTime.getNanos(),
+                includeActivities ? "a" : "s",
+                activityCount);
+    }
+
     public static PaymentDetails getPaymentDetails(PaymentRequest request, String uetr, Map<String, String> headers) {
         return PaymentDetails.builder()
                 .paymentStatus(PaymentResponse.StatusEnum.ACTC.toString())
@@ -148,6 +228,30 @@ public class PaymentUtil {
     }
 
 
+    /**
+     * Maps the submitted payment to the instruction the payment steps work on. Pure and deterministic,
+     * so workflows can call it directly instead of scheduling an activity.
+     */
+    public static PaymentInstruction toPaymentInstruction(PaymentDetails details) {
+        return PaymentInstruction.builder()
+                .paymentStatus(details.getPaymentStatus())
+                .paymentId(details.getPaymentId())
+                .debtor(details.getDebtor())
+                .creditor(details.getCreditor())
+                .amount(details.getAmount())
+                .currency(details.getCurrency())
+                .paymentReference(details.getPaymentReference())
+                .paymentDate(details.getPaymentDate())
+                .bankAddress("Main Road")
+                .bankCountry("Australia")
+                .bankCity("Melbourne")
+                .bic("LIAM123")
+                .bankName("Liam Bank")
+                .headers(details.getHeaders())
+                .priority(details.getPriority())
+                .build();
+    }
+
     public static Object getDetails(Object request, String uetr, Map<String, String> headers) {
         return switch (request) {
             case PaymentRequest pr -> getPaymentDetails(pr, uetr, headers);
@@ -0,0 +1,82 @@
+package com.payments.frontdoor.util;
+
+import io.temporal.worker.tuning.SlotInfo;
+import io.temporal.worker.tuning.SlotMarkUsedContext;
+import io.temporal.worker.tuning.SlotPermit;
+import io.temporal.worker.tuning.SlotReleaseContext;
+import io.temporal.worker.tuning.SlotReserveContext;
+import io.temporal.worker.tuning.SlotSupplier;
+
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Fixed-size Temporal slot supplier whose size can be changed while the worker runs. Shrinking takes
+ * effect as slots in use are released; tasks already running are never interrupted.
+ */
+public class ResizableSlotSupplier<SI extends SlotInfo> implements SlotSupplier<SI> {
+
+    private final AdjustableSemaphore permits;
+    private int limit;
+
+    public ResizableSlotSupplier(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Slot limit must be at least 1");
+        }
+        this.permits = new AdjustableSemaphore(limit);
+        this.limit = limit;
+    }
+
+    @Override
+    public SlotPermit reserveSlot(SlotReserveContext<SI> context) throws InterruptedException {
+        permits.acquire();
+        return new SlotPermit();
+    }
+
+    @Override
+    public Optional<SlotPermit> tryReserveSlot(SlotReserveContext<SI> context) {
+        return permits.tryAcquire() ? Optional.of(new SlotPermit()) : Optional.empty();
+    }
+
+    @Override
+    public void markSlotUsed(SlotMarkUsedContext<SI> context) {
+        // Slots are counted when reserved, so there is nothing more to track once used
+    }
+
+    @Override
+    public void releaseSlot(SlotReleaseContext<SI> context) {
+        permits.release();
+    }
+
+    public synchronized void resize(int newLimit) {
+        if (newLimit < 1) {
+            throw new IllegalArgumentException("Slot limit must be at least 1");
+        }
+        int delta = newLimit - limit;
+        if (delta > 0) {
+            permits.release(delta);
+        } else if (delta < 0) {
+            permits.reducePermits(-delta);
+        }
+        limit = newLimit;
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    public int getAvailable() {
+        return Math.max(0, permits.availablePermits());
+    }
+
+    private static final class AdjustableSemaphore extends Semaphore {
+        private AdjustableSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
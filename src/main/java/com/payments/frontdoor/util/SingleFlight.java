@@ -0,0 +1,50 @@
+package com.payments.frontdoor.util;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Merges concurrent calls for the same key into a single in-flight call. Callers that arrive while a
+ * call is running share its outcome; the next caller after it completes starts a fresh one. Each caller
+ * receives its own dependent future, so cancelling it does not cancel the shared call.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Starts {@code call} for the key unless one is already running, in which case the caller joins it.
+     */
+    public Call<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return new Call<>(existing.copy(), true);
+        }
+
+        CompletableFuture<V> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((result, error) -> {
+            inFlight.remove(key, created);
+            if (error != null) {
+                created.completeExceptionally(error);
+            } else {
+                created.complete(result);
+            }
+        });
+        return new Call<>(created.copy(), false);
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    public record Call<V>(CompletableFuture<V> result, boolean shared) {
+    }
+}
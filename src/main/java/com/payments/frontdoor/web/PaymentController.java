@@ -1,44 +1,62 @@
 package com.payments.frontdoor.web;
 
 import com.payments.frontdoor.exception.IdempotencyKeyMismatchException;
+import com.payments.frontdoor.exception.PaymentServiceUnavailableException;
 import com.payments.frontdoor.exception.PaymentValidationException;
 import com.payments.frontdoor.model.*;
+import com.payments.frontdoor.service.AdmissionControlService;
+import com.payments.frontdoor.service.BulkPaymentService;
+import com.payments.frontdoor.service.BulkPaymentStatusService;
+import com.payments.frontdoor.service.IdempotencyService;
 import com.payments.frontdoor.service.PaymentProcessService;
+import com.payments.frontdoor.service.PaymentProgressService;
 import com.payments.frontdoor.swagger.model.CrossBorderPaymentRequest;
 import com.payments.frontdoor.swagger.model.PaymentRequest;
 import com.payments.frontdoor.swagger.model.PaymentResponse;
+import com.payments.frontdoor.swagger.model.PaymentStatusQuery;
 import com.payments.frontdoor.swagger.model.PaymentStatusResponse;
 import com.payments.frontdoor.util.PaymentUtil;
-import io.temporal.api.enums.v1.WorkflowExecutionStatus;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.validation.Valid;
 import java.time.Duration;
-import java.time.Instant;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static com.payments.frontdoor.util.PaymentUtil.*;
 
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @lombok.AllArgsConstructor
 public class PaymentController {
 
     private final PaymentProcessService paymentProcessService;
+    private final BulkPaymentService bulkPaymentService;
+    private final BulkPaymentStatusService bulkPaymentStatusService;
+    private final IdempotencyService idempotencyService;
+    private final PaymentProgressService paymentProgressService;
+    private final AdmissionControlService admissionControlService;
 
-    private static final Duration POLLING_TIMEOUT = Duration.ofSeconds(5);
-    private static final Duration POLLING_INTERVAL = Duration.ofMillis(100);
+    private static final Duration SYNC_RESPONSE_TIMEOUT = Duration.ofSeconds(5);
 
     @PostMapping(value = "/submit-payment",
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<PaymentResponse> submitPayment(
+    public CompletableFuture<ResponseEntity<PaymentResponse>> submitPayment(
             @RequestHeader(PaymentHeaders.CORRELATION_ID) String correlationId,
             @RequestHeader(PaymentHeaders.IDEMPOTENCY_KEY) String idempotencyKey,
             @RequestHeader(PaymentHeaders.REQUEST_STATUS) String requestStatus,
@@ -47,18 +65,26 @@ public class PaymentController {
 
         logPaymentRequest(request, correlationId, PaymentType.NORMAL);
         validateRequest(bindingResult, idempotencyKey, request.getPaymentReference());
-        String uetr = generateUetr();
+        IdempotencyScope scope = new IdempotencyScope(scopedIdempotencyKey(request, idempotencyKey),
+                requestHash(request));
+        Optional<IdempotencyRecord> previous = idempotencyService.find(scope.key(), scope.requestHash());
+        if (previous.isPresent()) {
+            return CompletableFuture.completedFuture(replayPaymentResponse(previous.get(), correlationId));
+        }
+
+        String uetr = deriveUetr(scope.key());
         PaymentDetails paymentDetails = createPaymentDetails(request, uetr, correlationId,
                 idempotencyKey, requestStatus);
 
-        return processPaymentRequest(paymentDetails, uetr, requestStatus);
+        return admissionControlService.admitAsync(AdmissionBudget.of(paymentDetails.getPriority()),
+                () -> processPaymentRequest(paymentDetails, scope, requestStatus));
 
     }
 
     @PostMapping(value = "/cross-border-payment",
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<PaymentResponse> submitCrossBoarderPayment(
+    public CompletableFuture<ResponseEntity<PaymentResponse>> submitCrossBoarderPayment(
             @RequestHeader(PaymentHeaders.CORRELATION_ID) String correlationId,
             @RequestHeader(PaymentHeaders.IDEMPOTENCY_KEY) String idempotencyKey,
             @Valid @RequestBody CrossBorderPaymentRequest request,
@@ -66,28 +92,82 @@ public class PaymentController {
 
         logPaymentRequest(request, correlationId, PaymentType.CROSS_BOARDER);
         validateRequest(bindingResult, idempotencyKey, request.getPaymentReference());
-        String uetr = generateUetr();
+        IdempotencyScope scope = new IdempotencyScope(scopedIdempotencyKey(request, idempotencyKey),
+                requestHash(request));
+        Optional<IdempotencyRecord> previous = idempotencyService.find(scope.key(), scope.requestHash());
+        if (previous.isPresent()) {
+            return CompletableFuture.completedFuture(replayPaymentResponse(previous.get(), correlationId));
+        }
+
+        String uetr = deriveUetr(scope.key());
         CrossBoarderPaymentDetails crossBorderPaymentRequest = createCrossBoarderPaymentDetails(request, uetr, correlationId,
                idempotencyKey);
-        return processCrossPaymentRequest(crossBorderPaymentRequest, uetr);
+        return admissionControlService.admitAsync(AdmissionBudget.CROSS_BORDER,
+                () -> processCrossPaymentRequest(crossBorderPaymentRequest, scope));
 
     }
 
 
+    @PostMapping(value = "/submit-payments",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> submitPayments(
+            @RequestHeader(PaymentHeaders.CORRELATION_ID) String correlationId,
+            HttpServletRequest request) {
+
+        log.info("Received bulk payment submission - correlationId: {}", correlationId);
+        StreamingResponseBody body = outputStream ->
+                bulkPaymentService.submitPayments(request.getInputStream(), outputStream, correlationId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping(value = "/payment-status/{paymentId}",
             produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<PaymentStatusResponse> getPaymentStatus(
             @RequestHeader(PaymentHeaders.CORRELATION_ID) String correlationId,
             @PathVariable String paymentId,
-            @RequestParam(name = "includeActivities", required = false, defaultValue = "false") boolean includeActivities) {
+            @RequestParam(name = "includeActivities", required = false, defaultValue = "false") boolean includeActivities,
+            WebRequest webRequest) {
 
         log.info("Received request to get payment status for paymentId: {} - correlationId: {}", paymentId, correlationId);
 
         WorkflowResult workflowResult = paymentProcessService.retrieveWorkFlowHistory(paymentId, includeActivities);
+        String eTag = paymentStatusETag(workflowResult, includeActivities);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
         PaymentStatusResponse response = convertToPaymentStatusResponse(workflowResult, paymentId);
         response.setPaymentId(paymentId);
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).body(response);
+    }
+
+    @PostMapping(value = "/payment-statuses",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getPaymentStatuses(
+            @RequestHeader(PaymentHeaders.CORRELATION_ID) String correlationId,
+            @RequestBody PaymentStatusQuery query) {
+
+        log.info("Received bulk payment status request - correlationId: {}", correlationId);
+        bulkPaymentStatusService.validate(query);
+        StreamingResponseBody body = outputStream -> bulkPaymentStatusService.streamStatuses(query, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(value = "/payment-status/{paymentId}/stream",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPaymentStatus(
+            @RequestHeader(PaymentHeaders.CORRELATION_ID) String correlationId,
+            @PathVariable String paymentId) {
+
+        log.info("Received request to stream payment progress for paymentId: {} - correlationId: {}", paymentId, correlationId);
+        return paymentProgressService.subscribe(paymentId);
     }
 
 
@@ -98,6 +178,22 @@ public class PaymentController {
         public static final String REQUEST_STATUS = "x-request-status";
     }
 
+    /**
+     * The idempotency key scoped to the debtor, and the hash of the request it was first used for.
+     */
+    record IdempotencyScope(String key, String requestHash) {
+    }
+
+    /**
+     * Keeps a Temporal overload a 503 the client can retry, and reports anything else as a processing failure.
+     */
+    static RuntimeException failure(String message, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof PaymentServiceUnavailableException unavailable
+                ? unavailable
+                : new PaymentProcessingException(message, error);
+    }
+
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public static class PaymentProcessingException extends RuntimeException {
         public PaymentProcessingException(String message, Throwable cause) {
@@ -121,7 +217,7 @@ public class PaymentController {
                                  String paymentReference) {
         if (bindingResult.hasErrors()) {
             log.error("Payment request validation failed");
-            throw new PaymentValidationException("Validation error");
+            throw new PaymentValidationException(PaymentExceptionHandler.VALIDATION_ERROR);
         }
         validateIdempotencyKey(idempotencyKey, paymentReference);
     }
@@ -155,64 +251,64 @@ public class PaymentController {
         return (CrossBoarderPaymentDetails) getDetails(request, uetr, headers);
     }
 
-    private ResponseEntity<PaymentResponse> processPaymentRequest(PaymentDetails paymentDetails,
-                                                                  String uetr, String requestStatus) {
+    private CompletableFuture<ResponseEntity<PaymentResponse>> processPaymentRequest(PaymentDetails paymentDetails,
+                                                                                   IdempotencyScope scope, String requestStatus) {
 
-        paymentProcessService.processPaymentAsync(paymentDetails);
+        if (PaymentStatus.SYNC.getCode().equals(requestStatus)) {
+            return handleSyncPayment(paymentDetails, scope);
+        }
 
-        return PaymentStatus.SYNC.getCode().equals(requestStatus)
-                ? handleSyncPayment(uetr)
-                : handleAsyncPayment(uetr);
+        return handleAsyncPayment(paymentProcessService.processPaymentAsync(paymentDetails),
+                paymentDetails.getPaymentId(), scope);
     }
 
-    private ResponseEntity<PaymentResponse> processCrossPaymentRequest(CrossBoarderPaymentDetails paymentDetails,
-                                                                  String uetr) {
-
-        paymentProcessService.processCrossBoarderPaymentAsync(paymentDetails);
-        return handleAsyncPayment(uetr);
-    }
+    private CompletableFuture<ResponseEntity<PaymentResponse>> processCrossPaymentRequest(
+            CrossBoarderPaymentDetails paymentDetails, IdempotencyScope scope) {
 
-    private ResponseEntity<PaymentResponse> handleSyncPayment(String uetr) {
-        try {
-            WorkflowExecutionStatus workflowStatus = pollUntilWorkflowComplete(uetr
-            );
-            PaymentResponse response = PaymentUtil.createPaymentResponse(uetr, workflowStatus);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("Error processing payment for UETR: {}", uetr, e);
-            throw new PaymentProcessingException("Payment processing failed", e);
-        }
+        return handleAsyncPayment(paymentProcessService.processCrossBoarderPaymentAsync(paymentDetails),
+                paymentDetails.getPaymentId(), scope);
     }
 
-    private ResponseEntity<PaymentResponse> handleAsyncPayment(String uetr) {
-        PaymentResponse response = PaymentUtil.createPaymentResponse(uetr,
-                PaymentResponse.StatusEnum.ACTC);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    private CompletableFuture<ResponseEntity<PaymentResponse>> handleSyncPayment(PaymentDetails paymentDetails,
+                                                                               IdempotencyScope scope) {
+        String uetr = paymentDetails.getPaymentId();
+        return paymentProcessService.submitPaymentAndAwaitAuthorization(paymentDetails, SYNC_RESPONSE_TIMEOUT)
+                .handle((response, error) -> {
+                    if (error != null) {
+                        log.error("Error processing payment for UETR: {}", uetr, error);
+                        throw failure("Payment processing failed", error);
+                    }
+                    // ACTC means authorization is still pending, so a retry should wait on the workflow again
+                    if (response.getStatus() != PaymentResponse.StatusEnum.ACTC) {
+                        idempotencyService.remember(scope.key(), scope.requestHash(), uetr, response.getStatus(),
+                                HttpStatus.OK);
+                    }
+                    return ResponseEntity.ok(response);
+                });
     }
 
-    private WorkflowExecutionStatus pollUntilWorkflowComplete(String uetr){
-        Instant startTime = Instant.now();
-
-        while (true) {
-            WorkflowExecutionStatus status = paymentProcessService.getWorkflowStatus(uetr);
-
-            // If status is not RUNNING, return the final status
-            if (status != WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_RUNNING) {
-                return status;
-            }
-
-            // Check if we've exceeded the timeout
-            if (Duration.between(startTime, Instant.now()).compareTo(PaymentController.POLLING_TIMEOUT) > 0) {
-                return status;
+    private CompletableFuture<ResponseEntity<PaymentResponse>> handleAsyncPayment(CompletableFuture<Void> start,
+                                                                                String uetr, IdempotencyScope scope) {
+        return start.handle((ignored, error) -> {
+            if (error != null) {
+                // Nothing is remembered, so the client's retry starts the payment again
+                log.error("Error starting payment for UETR: {}", uetr, error);
+                throw failure("Payment could not be started", error);
             }
+            idempotencyService.remember(scope.key(), scope.requestHash(), uetr, PaymentResponse.StatusEnum.ACTC,
+                    HttpStatus.CREATED);
+            PaymentResponse response = PaymentUtil.createPaymentResponse(uetr,
+                    PaymentResponse.StatusEnum.ACTC);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        });
+    }
 
-            try {
-                Thread.sleep(PaymentController.POLLING_INTERVAL.toMillis());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new PaymentProcessingException("Polling was interrupted", e);
-            }
-        }
+    private ResponseEntity<PaymentResponse> replayPaymentResponse(IdempotencyRecord idempotencyRecord, String correlationId) {
+        log.info("Duplicate submission for idempotency key: {}, returning payment {} - correlationId: {}",
+                idempotencyRecord.getIdempotencyKey(), idempotencyRecord.getPaymentId(), correlationId);
+        PaymentResponse response = PaymentUtil.createPaymentResponse(idempotencyRecord.getPaymentId(),
+                idempotencyRecord.getStatus());
+        return ResponseEntity.status(idempotencyRecord.getHttpStatus()).body(response);
     }
 
 }
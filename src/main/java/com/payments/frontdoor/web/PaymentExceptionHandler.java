@@ -0,0 +1,65 @@
+package com.payments.frontdoor.web;
+
+import com.payments.frontdoor.exception.PaymentServiceUnavailableException;
+import com.payments.frontdoor.exception.PaymentThrottledException;
+import com.payments.frontdoor.exception.PaymentValidationException;
+import com.payments.frontdoor.swagger.model.ErrorResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+@Slf4j
+@RestControllerAdvice
+public class PaymentExceptionHandler {
+
+    public static final String VALIDATION_ERROR = "Validation error";
+
+    @ExceptionHandler(PaymentThrottledException.class)
+    public ResponseEntity<ErrorResponse> handlePaymentThrottled(PaymentThrottledException exception) {
+        ErrorResponse error = new ErrorResponse();
+        error.setCode(HttpStatus.TOO_MANY_REQUESTS.name());
+        error.setMessage(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, exception.getRetryAfter().toSeconds())))
+                .body(error);
+    }
+
+    /**
+     * Raised when the Temporal client has too many calls in flight to take another, which clears up on its own.
+     */
+    @ExceptionHandler(PaymentServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(PaymentServiceUnavailableException exception) {
+        ErrorResponse error = new ErrorResponse();
+        error.setCode(HttpStatus.SERVICE_UNAVAILABLE.name());
+        error.setMessage(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    @ExceptionHandler(PaymentValidationException.class)
+    public ResponseEntity<ErrorResponse> handlePaymentValidation(PaymentValidationException exception) {
+        return invalidRequest(exception.getMessage());
+    }
+
+    /**
+     * The reactive controller cannot take a {@code BindingResult} next to its request body, so an invalid body
+     * surfaces here and gets the same answer as {@link PaymentValidationException} on the servlet stack.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidExchange(WebExchangeBindException exception) {
+        log.error("Payment request validation failed: {}", exception.getFieldErrors());
+        return invalidRequest(VALIDATION_ERROR);
+    }
+
+    private ResponseEntity<ErrorResponse> invalidRequest(String message) {
+        ErrorResponse error = new ErrorResponse();
+        error.setCode(HttpStatus.BAD_REQUEST.name());
+        error.setMessage(message);
+        return ResponseEntity.badRequest().body(error);
+    }
+}
@@ -0,0 +1,196 @@
+package com.payments.frontdoor.web;
+
+import com.payments.frontdoor.exception.IdempotencyKeyMismatchException;
+import com.payments.frontdoor.model.*;
+import com.payments.frontdoor.service.AdmissionControlService;
+import com.payments.frontdoor.service.IdempotencyService;
+import com.payments.frontdoor.service.PaymentProcessService;
+import com.payments.frontdoor.service.PaymentWorkflowStarter;
+import com.payments.frontdoor.swagger.model.CrossBorderPaymentRequest;
+import com.payments.frontdoor.swagger.model.PaymentRequest;
+import com.payments.frontdoor.swagger.model.PaymentResponse;
+import com.payments.frontdoor.swagger.model.PaymentStatusResponse;
+import com.payments.frontdoor.util.PaymentUtil;
+import io.grpc.Status;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static com.payments.frontdoor.util.PaymentUtil.*;
+
+/**
+ * WebFlux variant of {@link PaymentController}, active when the application runs as a reactive web
+ * application (the {@code reactive} profile). Temporal is reached through the gRPC future stubs and the
+ * bounded start pools; the idempotency store, which can only block, is moved to the bounded elastic
+ * scheduler so event-loop threads never wait.
+ */
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@lombok.AllArgsConstructor
+public class ReactivePaymentController {
+
+    private static final Duration SYNC_RESPONSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final PaymentProcessService paymentProcessService;
+    private final PaymentWorkflowStarter paymentWorkflowStarter;
+    private final IdempotencyService idempotencyService;
+    private final AdmissionControlService admissionControlService;
+
+    @PostMapping(value = "/submit-payment",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<PaymentResponse>> submitPayment(
+            @RequestHeader(PaymentController.PaymentHeaders.CORRELATION_ID) String correlationId,
+            @RequestHeader(PaymentController.PaymentHeaders.IDEMPOTENCY_KEY) String idempotencyKey,
+            @RequestHeader(PaymentController.PaymentHeaders.REQUEST_STATUS) String requestStatus,
+            @Valid @RequestBody PaymentRequest request) {
+
+        log.info("Received payment {} with request: {} - correlationId: {}",
+                PaymentType.NORMAL.name(), request.getPaymentReference(), correlationId);
+        validateIdempotencyKey(idempotencyKey, request.getPaymentReference());
+        PaymentController.IdempotencyScope scope = new PaymentController.IdempotencyScope(
+                scopedIdempotencyKey(request, idempotencyKey), requestHash(request));
+
+        return findPrevious(scope)
+                .map(previous -> replayPaymentResponse(previous, correlationId))
+                .switchIfEmpty(Mono.defer(() -> {
+                    String uetr = deriveUetr(scope.key());
+                    PaymentDetails paymentDetails = (PaymentDetails) getDetails(request, uetr, Map.of(
+                            PaymentController.PaymentHeaders.CORRELATION_ID, correlationId,
+                            PaymentController.PaymentHeaders.IDEMPOTENCY_KEY, idempotencyKey,
+                            PaymentController.PaymentHeaders.REQUEST_STATUS, requestStatus));
+
+                    return admit(AdmissionBudget.of(paymentDetails.getPriority()),
+                            () -> PaymentStatus.SYNC.getCode().equals(requestStatus)
+                                    ? handleSyncPayment(paymentDetails, scope)
+                                    : handleAsyncPayment(paymentWorkflowStarter.startAsync(paymentDetails), uetr,
+                                    scope));
+                }));
+    }
+
+    @PostMapping(value = "/cross-border-payment",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<PaymentResponse>> submitCrossBoarderPayment(
+            @RequestHeader(PaymentController.PaymentHeaders.CORRELATION_ID) String correlationId,
+            @RequestHeader(PaymentController.PaymentHeaders.IDEMPOTENCY_KEY) String idempotencyKey,
+            @Valid @RequestBody CrossBorderPaymentRequest request) {
+
+        log.info("Received payment {} with request: {} - correlationId: {}",
+                PaymentType.CROSS_BOARDER.name(), request.getPaymentReference(), correlationId);
+        validateIdempotencyKey(idempotencyKey, request.getPaymentReference());
+        PaymentController.IdempotencyScope scope = new PaymentController.IdempotencyScope(
+                scopedIdempotencyKey(request, idempotencyKey), requestHash(request));
+
+        return findPrevious(scope)
+                .map(previous -> replayPaymentResponse(previous, correlationId))
+                .switchIfEmpty(Mono.defer(() -> {
+                    String uetr = deriveUetr(scope.key());
+                    CrossBoarderPaymentDetails paymentDetails = (CrossBoarderPaymentDetails) getDetails(request, uetr,
+                            Map.of(PaymentController.PaymentHeaders.CORRELATION_ID, correlationId,
+                                    PaymentController.PaymentHeaders.IDEMPOTENCY_KEY, idempotencyKey));
+
+                    return admit(AdmissionBudget.CROSS_BORDER,
+                            () -> handleAsyncPayment(paymentWorkflowStarter.startAsync(paymentDetails), uetr,
+                                    scope));
+                }));
+    }
+
+    @GetMapping(value = "/payment-status/{paymentId}",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<PaymentStatusResponse>> getPaymentStatus(
+            @RequestHeader(PaymentController.PaymentHeaders.CORRELATION_ID) String correlationId,
+            @PathVariable String paymentId,
+            @RequestParam(name = "includeActivities", required = false, defaultValue = "false") boolean includeActivities,
+            ServerWebExchange exchange) {
+
+        log.info("Received request to get payment status for paymentId: {} - correlationId: {}", paymentId, correlationId);
+
+        return Mono.fromFuture(() -> paymentProcessService.retrieveWorkFlowHistoryAsync(paymentId, includeActivities))
+                .map(workflowResult -> {
+                    String eTag = paymentStatusETag(workflowResult, includeActivities);
+                    if (exchange.checkNotModified(eTag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<PaymentStatusResponse>build();
+                    }
+                    PaymentStatusResponse response = convertToPaymentStatusResponse(workflowResult, paymentId);
+                    return ResponseEntity.ok().eTag(eTag).body(response);
+                });
+    }
+
+    private Mono<ResponseEntity<PaymentResponse>> handleSyncPayment(PaymentDetails paymentDetails,
+                                                                    PaymentController.IdempotencyScope scope) {
+        String uetr = paymentDetails.getPaymentId();
+        return Mono.fromFuture(() -> paymentProcessService.submitPaymentAndAwaitAuthorization(paymentDetails,
+                        SYNC_RESPONSE_TIMEOUT))
+                .flatMap(response -> response.getStatus() == PaymentResponse.StatusEnum.ACTC
+                        ? Mono.just(response)
+                        : remember(scope, uetr, response.getStatus(), HttpStatus.OK).thenReturn(response))
+                .map(ResponseEntity::ok)
+                .onErrorMap(error -> {
+                    log.error("Error processing payment for UETR: {}", uetr, error);
+                    return PaymentController.failure("Payment processing failed", error);
+                });
+    }
+
+    private <T> Mono<ResponseEntity<PaymentResponse>> handleAsyncPayment(CompletableFuture<T> start, String uetr,
+                                                                         PaymentController.IdempotencyScope scope) {
+        return Mono.fromFuture(start)
+                .then()
+                .onErrorResume(this::isAlreadyStarted, error -> {
+                    log.info("Payment {} was already started, ignoring duplicate submission", uetr);
+                    return Mono.empty();
+                })
+                .then(remember(scope, uetr, PaymentResponse.StatusEnum.ACTC, HttpStatus.CREATED))
+                .thenReturn(ResponseEntity.status(HttpStatus.CREATED)
+                        .body(PaymentUtil.createPaymentResponse(uetr, PaymentResponse.StatusEnum.ACTC)));
+    }
+
+    private <T> Mono<T> admit(AdmissionBudget budget, Supplier<Mono<T>> work) {
+        return Mono.fromFuture(() -> admissionControlService.admitAsync(budget, () -> work.get().toFuture()));
+    }
+
+    private Mono<IdempotencyRecord> findPrevious(PaymentController.IdempotencyScope scope) {
+        return Mono.fromCallable(() -> idempotencyService.find(scope.key(), scope.requestHash()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    private Mono<Void> remember(PaymentController.IdempotencyScope scope, String uetr,
+                                PaymentResponse.StatusEnum status, HttpStatus httpStatus) {
+        return Mono.fromRunnable(() -> idempotencyService.remember(scope.key(), scope.requestHash(), uetr, status,
+                        httpStatus))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private ResponseEntity<PaymentResponse> replayPaymentResponse(IdempotencyRecord idempotencyRecord, String correlationId) {
+        log.info("Duplicate submission for idempotency key: {}, returning payment {} - correlationId: {}",
+                idempotencyRecord.getIdempotencyKey(), idempotencyRecord.getPaymentId(), correlationId);
+        PaymentResponse response = PaymentUtil.createPaymentResponse(idempotencyRecord.getPaymentId(),
+                idempotencyRecord.getStatus());
+        return ResponseEntity.status(idempotencyRecord.getHttpStatus()).body(response);
+    }
+
+    private boolean isAlreadyStarted(Throwable error) {
+        return Status.fromThrowable(error).getCode() == Status.Code.ALREADY_EXISTS;
+    }
+
+    private void validateIdempotencyKey(String idempotencyKey, String paymentReference) {
+        if (!idempotencyKey.equals(paymentReference)) {
+            throw new IdempotencyKeyMismatchException("Idempotency key does not match payment reference");
+        }
+    }
+}
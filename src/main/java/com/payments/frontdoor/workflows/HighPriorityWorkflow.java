@@ -5,6 +5,7 @@ import com.payments.frontdoor.activities.PaymentStepStatus;
 import com.payments.frontdoor.model.PaymentDetails;
 import com.payments.frontdoor.swagger.model.PaymentResponse;
 import io.temporal.workflow.QueryMethod;
+import io.temporal.workflow.UpdateMethod;
 import io.temporal.workflow.WorkflowInterface;
 import io.temporal.workflow.WorkflowMethod;
 
@@ -20,4 +21,7 @@ public interface HighPriorityWorkflow {
     @QueryMethod
     Set<PaymentStepStatus> getCompletedSteps();
 
+    @UpdateMethod
+    PaymentResponse awaitAuthorization();
+
 }
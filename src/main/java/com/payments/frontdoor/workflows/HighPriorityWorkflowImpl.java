@@ -4,11 +4,13 @@ package com.payments.frontdoor.workflows;
 import com.payments.frontdoor.activities.PaymentActivity;
 import com.payments.frontdoor.activities.PaymentStepStatus;
 import com.payments.frontdoor.exception.*;
+import com.payments.frontdoor.metrics.PaymentStepWorkerInterceptor;
 import com.payments.frontdoor.model.PaymentDetails;
 import com.payments.frontdoor.model.PaymentInstruction;
 import com.payments.frontdoor.swagger.model.PaymentResponse;
 import com.payments.frontdoor.util.PaymentUtil;
 import io.temporal.activity.ActivityOptions;
+import io.temporal.activity.LocalActivityOptions;
 import io.temporal.common.RetryOptions;
 import io.temporal.failure.ActivityFailure;
 import io.temporal.spring.boot.WorkflowImpl;
@@ -32,7 +34,11 @@ import static com.payments.frontdoor.util.PaymentUtil.startReportWorkflow;
 @NoArgsConstructor
 public class HighPriorityWorkflowImpl implements HighPriorityWorkflow {
     private static final String INITIATE = "initiatePayment";
+    // Workflows started before this change keep replaying initiatePayment and clearing/notification as activities
+    public static final String LOCAL_STEPS_CHANGE = "in-workflow-initiate-local-steps";
+    private static final int LOCAL_STEPS_VERSION = 1;
     private Set<PaymentStepStatus> steps;
+    private PaymentResponse authorizationResult;
 
 
     // RetryOptions specify how to automatically handle retries when Activities fail
@@ -73,11 +79,28 @@ public class HighPriorityWorkflowImpl implements HighPriorityWorkflow {
     // ActivityStubs enable calls to methods as if the Activity object is local but actually perform an RPC invocation
     private final PaymentActivity activities = Workflow.newActivityStub(PaymentActivity.class, defaultActivityOptions, perActivityMethodOptions);
 
+    // Clearing and notification only publish a Kafka event, so they run as local activities inside the
+    // workflow task instead of a round trip through the task queue
+    private final PaymentActivity localActivities = Workflow.newLocalActivityStub(PaymentActivity.class,
+            LocalActivityOptions.newBuilder()
+                    .setRetryOptions(retryoptions)
+                    .setStartToCloseTimeout(Duration.ofSeconds(1))
+                    .build());
+
 
     @Override
     public PaymentResponse processPayment(PaymentDetails paymentDetails) {
         steps = new LinkedHashSet<>();
-        PaymentInstruction instruction = activities.initiatePayment(paymentDetails);
+        boolean localSteps = Workflow.getVersion(LOCAL_STEPS_CHANGE, Workflow.DEFAULT_VERSION, LOCAL_STEPS_VERSION)
+                == LOCAL_STEPS_VERSION;
+        PaymentInstruction instruction;
+        if (localSteps) {
+            // Initiation is a pure mapping, so it no longer needs an activity at all
+            instruction = PaymentUtil.toPaymentInstruction(paymentDetails);
+            PaymentStepWorkerInterceptor.stepReached(PaymentStepStatus.INITIATED);
+        } else {
+            instruction = activities.initiatePayment(paymentDetails);
+        }
         steps.add(PaymentStepStatus.INITIATED);
         // Step 2 & 3: Run Payment Order Management and Payment Authorization in Parallel
 
@@ -87,18 +110,21 @@ public class HighPriorityWorkflowImpl implements HighPriorityWorkflow {
             Promise.allOf(isAuthorizedPromise, isOrderValidPromise).get();
 
             Workflow.getLogger(HighPriorityWorkflowImpl.class).info("Payment successfully validated and authorized.");
+            authorizationResult = PaymentUtil.createPaymentResponse(instruction.getPaymentId(), PaymentResponse.StatusEnum.ACSP);
 
         } catch (ActivityFailure e) {
             log.error("Payment validation or authorization failed: ", e);
             Workflow.getLogger(HighPriorityWorkflowImpl.class).error("Payment validation or authorization failed: ", e);
+            authorizationResult = PaymentUtil.createPaymentResponse(instruction.getPaymentId(), PaymentResponse.StatusEnum.RJCT);
             startReportWorkflow(instruction);
             throw Workflow.wrap(e);
         }
 
 
         // Steps 5, 6, & 7: Run Clearing, Notification, and Reconciliation in Parallel
-        Promise<PaymentStepStatus> clearAndSettlePromise = Async.function(activities::clearAndSettlePayment, instruction);
-        Promise<PaymentStepStatus> sendNotificationPromise = Async.function(activities::sendNotification, instruction);
+        PaymentActivity shortSteps = localSteps ? localActivities : activities;
+        Promise<PaymentStepStatus> clearAndSettlePromise = Async.function(shortSteps::clearAndSettlePayment, instruction);
+        Promise<PaymentStepStatus> sendNotificationPromise = Async.function(shortSteps::sendNotification, instruction);
 
 
         Promise.allOf(clearAndSettlePromise, sendNotificationPromise).get();
@@ -130,4 +156,10 @@ public class HighPriorityWorkflowImpl implements HighPriorityWorkflow {
     public Set<PaymentStepStatus> getCompletedSteps() {
         return steps;
     }
+
+    @Override
+    public PaymentResponse awaitAuthorization() {
+        Workflow.await(() -> authorizationResult != null);
+        return authorizationResult;
+    }
 }
@@ -20,4 +20,7 @@ public interface PaymentWorkflow {
     @QueryMethod
     Set<PaymentStepStatus> getCompletedSteps();
 
+    @UpdateMethod
+    PaymentResponse awaitAuthorization();
+
 }
@@ -4,6 +4,7 @@ package com.payments.frontdoor.workflows;
 import com.payments.frontdoor.activities.PaymentActivity;
 import com.payments.frontdoor.activities.PaymentStepStatus;
 import com.payments.frontdoor.exception.*;
+import com.payments.frontdoor.metrics.PaymentStepWorkerInterceptor;
 import com.payments.frontdoor.model.PaymentDetails;
 import com.payments.frontdoor.model.PaymentInstruction;
 import com.payments.frontdoor.swagger.model.PaymentResponse;
@@ -32,7 +33,11 @@ import static com.payments.frontdoor.util.PaymentUtil.startReportWorkflow;
 @NoArgsConstructor
 public class PaymentWorkflowImpl implements PaymentWorkflow {
     private static final String INITIATE = "initiatePayment";
+    // Workflows started before this change keep replaying initiatePayment as an activity
+    public static final String IN_WORKFLOW_INITIATE_CHANGE = "in-workflow-initiate";
+    private static final int IN_WORKFLOW_INITIATE_VERSION = 1;
     private Set<PaymentStepStatus> steps;
+    private PaymentResponse authorizationResult;
 
 
     // RetryOptions specify how to automatically handle retries when Activities fail
@@ -77,7 +82,15 @@ public class PaymentWorkflowImpl implements PaymentWorkflow {
     @Override
     public PaymentResponse processPayment(PaymentDetails paymentDetails) {
         steps = new LinkedHashSet<>();
-        PaymentInstruction instruction = activities.initiatePayment(paymentDetails);
+        PaymentInstruction instruction;
+        if (Workflow.getVersion(IN_WORKFLOW_INITIATE_CHANGE, Workflow.DEFAULT_VERSION, IN_WORKFLOW_INITIATE_VERSION)
+                == IN_WORKFLOW_INITIATE_VERSION) {
+            // Initiation is a pure mapping, so it no longer needs an activity at all
+            instruction = PaymentUtil.toPaymentInstruction(paymentDetails);
+            PaymentStepWorkerInterceptor.stepReached(PaymentStepStatus.INITIATED);
+        } else {
+            instruction = activities.initiatePayment(paymentDetails);
+        }
         steps.add(PaymentStepStatus.INITIATED);
         // Step 2 & 3: Run Payment Order Management and Payment Authorization in Parallel
 
@@ -87,10 +100,12 @@ public class PaymentWorkflowImpl implements PaymentWorkflow {
             Promise.allOf(isAuthorizedPromise, isOrderValidPromise).get();
 
             Workflow.getLogger(PaymentWorkflowImpl.class).info("Payment successfully validated and authorized.");
+            authorizationResult = PaymentUtil.createPaymentResponse(instruction.getPaymentId(), PaymentResponse.StatusEnum.ACSP);
 
         } catch (ActivityFailure e) {
             log.error("Payment validation or authorization failed: ", e);
             Workflow.getLogger(PaymentWorkflowImpl.class).error("Payment validation or authorization failed: ", e);
+            authorizationResult = PaymentUtil.createPaymentResponse(instruction.getPaymentId(), PaymentResponse.StatusEnum.RJCT);
             startReportWorkflow(instruction);
             throw Workflow.wrap(e);
         }
@@ -139,4 +154,10 @@ public class PaymentWorkflowImpl implements PaymentWorkflow {
     public Set<PaymentStepStatus> getCompletedSteps() {
         return steps;
     }
+
+    @Override
+    public PaymentResponse awaitAuthorization() {
+        Workflow.await(() -> authorizationResult != null);
+        return authorizationResult;
+    }
 }
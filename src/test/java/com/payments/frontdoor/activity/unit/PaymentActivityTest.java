@@ -3,11 +3,13 @@ package com.payments.frontdoor.activity.unit;
 import com.payments.frontdoor.activities.PaymentActivity;
 import com.payments.frontdoor.activities.PaymentActivityImpl;
 import com.payments.frontdoor.activities.PaymentStepStatus;
+import com.payments.frontdoor.config.PaymentActivityCustomProperties;
 import com.payments.frontdoor.exception.PaymentAuthorizationFailedException;
 import com.payments.frontdoor.model.PaymentAuthorizationResponse;
 import com.payments.frontdoor.model.PaymentDetails;
 import com.payments.frontdoor.model.PaymentInstruction;
 import com.payments.frontdoor.model.PaymentOrderResponse;
+import com.payments.frontdoor.service.AsyncCompletionManager;
 import com.payments.frontdoor.service.PaymentApiConnector;
 import com.payments.frontdoor.service.PaymentDispatcherService;
 import com.payments.frontdoor.swagger.model.Account;
@@ -34,6 +36,7 @@ class PaymentActivityTest {
 
     PaymentDispatcherService paymentDispatcherService = Mockito.mock(PaymentDispatcherService.class);
     PaymentApiConnector paymentApiConnector = Mockito.mock(PaymentApiConnector.class);
+    AsyncCompletionManager asyncCompletionManager = Mockito.mock(AsyncCompletionManager.class);
 
 
 
@@ -43,7 +46,8 @@ class PaymentActivityTest {
     @RegisterExtension
     public  final TestActivityExtension activityExtension =
             TestActivityExtension.newBuilder()
-                    .setActivityImplementations(new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService))
+                    .setActivityImplementations(new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService, asyncCompletionManager,
+                            new PaymentActivityCustomProperties()))
                     .build();
 
     private PaymentInstruction createPaymentInstruction() {
@@ -70,7 +74,8 @@ class PaymentActivityTest {
 
     @Test
     void testInitiatePayment() {
-        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService);
+        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService, asyncCompletionManager,
+                new PaymentActivityCustomProperties());
         PaymentDetails paymentDetails = PaymentDetails.builder()
                 .paymentId("12345")
                 .amount(new BigDecimal("100.00"))
@@ -87,7 +92,8 @@ class PaymentActivityTest {
 
     @Test
     void testManagePaymentOrder() {
-        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService);
+        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService, asyncCompletionManager,
+                new PaymentActivityCustomProperties());
         PaymentInstruction paymentInstruction = createPaymentInstruction();
 
         PaymentOrderResponse orderResponse = PaymentOrderResponse.builder()
@@ -101,7 +107,8 @@ class PaymentActivityTest {
 
     @Test
     void testAuthorizePayment() {
-        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService);
+        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService, asyncCompletionManager,
+                new PaymentActivityCustomProperties());
         PaymentInstruction paymentInstruction = createPaymentInstruction();
         PaymentAuthorizationResponse authorizeResponse = PaymentAuthorizationResponse.builder()
                 .status("success")
@@ -114,7 +121,8 @@ class PaymentActivityTest {
 
     @Test
     void testUnAuthorizePayment() {
-        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService);
+        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService, asyncCompletionManager,
+                new PaymentActivityCustomProperties());
         PaymentInstruction paymentInstruction = createPaymentInstruction();
         PaymentAuthorizationResponse authorizeResponse = PaymentAuthorizationResponse.builder()
                 .status("failed")
@@ -129,7 +137,8 @@ class PaymentActivityTest {
 
     @Test
     void testExecutePayment() {
-        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService);
+        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService, asyncCompletionManager,
+                new PaymentActivityCustomProperties());
         PaymentInstruction paymentInstruction = createPaymentInstruction();
         PaymentDispatcherService paymentDispatcherService1 = Mockito.mock(PaymentDispatcherService.class);
         doNothing().when(paymentDispatcherService1).dispatchPayment(paymentInstruction, PaymentStepStatus.EXECUTED, null);
@@ -141,7 +150,8 @@ class PaymentActivityTest {
 
     @Test
     void testClearAndSettlePayment() {
-        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService);
+        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService, asyncCompletionManager,
+                new PaymentActivityCustomProperties());
         PaymentInstruction paymentInstruction = createPaymentInstruction();
 
         PaymentStepStatus response = activity.clearAndSettlePayment(paymentInstruction);
@@ -152,7 +162,8 @@ class PaymentActivityTest {
 
     @Test
     void testSendNotification() {
-        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService);
+        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService, asyncCompletionManager,
+                new PaymentActivityCustomProperties());
         PaymentInstruction paymentInstruction = createPaymentInstruction();
 
         PaymentStepStatus response = activity.sendNotification(paymentInstruction);
@@ -163,7 +174,8 @@ class PaymentActivityTest {
 
     @Test
     void testReconcilePayment() {
-        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService);
+        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService, asyncCompletionManager,
+                new PaymentActivityCustomProperties());
         PaymentInstruction paymentInstruction = createPaymentInstruction();
 
         PaymentStepStatus response = activity.reconcilePayment(paymentInstruction);
@@ -185,7 +197,8 @@ class PaymentActivityTest {
 
     @Test
     void testGenerateReports() {
-        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService);
+        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService, asyncCompletionManager,
+                new PaymentActivityCustomProperties());
         PaymentInstruction paymentInstruction = createPaymentInstruction();
 
         PaymentStepStatus response = activity.generateReports(paymentInstruction);
@@ -196,7 +209,8 @@ class PaymentActivityTest {
 
     @Test
     void testArchivePayment() {
-        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService);
+        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService, asyncCompletionManager,
+                new PaymentActivityCustomProperties());
         PaymentInstruction paymentInstruction = createPaymentInstruction();
 
         PaymentStepStatus response = activity.archivePayment(paymentInstruction);
@@ -207,7 +221,8 @@ class PaymentActivityTest {
 
     @Test
     void testRefundPayment() {
-        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService);
+        PaymentActivity activity = new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService, asyncCompletionManager,
+                new PaymentActivityCustomProperties());
         PaymentInstruction paymentInstruction = createPaymentInstruction();
 
         PaymentStepStatus response = activity.refundPayment(paymentInstruction);
@@ -0,0 +1,123 @@
+package com.payments.frontdoor.actuator.unit;
+
+import com.google.protobuf.Duration;
+import com.payments.frontdoor.actuator.WorkerRuntimeStats;
+import com.payments.frontdoor.service.TemporalQueryGateway;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.temporal.api.enums.v1.TaskQueueType;
+import io.temporal.api.taskqueue.v1.PollerInfo;
+import io.temporal.api.taskqueue.v1.TaskQueueStats;
+import io.temporal.api.taskqueue.v1.TaskQueueTypeInfo;
+import io.temporal.api.taskqueue.v1.TaskQueueVersionInfo;
+import io.temporal.api.workflowservice.v1.DescribeTaskQueueResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WorkerRuntimeStatsTest {
+
+    private static final String TASK_QUEUE = "payment_normal_subscription";
+
+    @Mock
+    private TemporalQueryGateway temporalQueryGateway;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WorkerRuntimeStats workerRuntimeStats;
+
+    @BeforeEach
+    void setUp() {
+        workerRuntimeStats = new WorkerRuntimeStats(meterRegistry, temporalQueryGateway);
+    }
+
+    @Test
+    void slotsAndPollers_ShouldReadSdkGaugesForTaskQueue() {
+        // Arrange
+        gauge("temporal_worker_task_slots_used",
+                Tags.of("task_queue", TASK_QUEUE, "worker_type", "ActivityWorker"), 7);
+        gauge("temporal_worker_task_slots_available",
+                Tags.of("task_queue", TASK_QUEUE, "worker_type", "ActivityWorker"), 193);
+        gauge("temporal_worker_task_slots_used",
+                Tags.of("task_queue", "payment_high_subscription", "worker_type", "ActivityWorker"), 50);
+        gauge("temporal_num_pollers",
+                Tags.of("task_queue", TASK_QUEUE, "poller_type", "activity_task"), 5);
+
+        // Act
+        Map<String, WorkerRuntimeStats.SlotUsage> slots = workerRuntimeStats.slots(TASK_QUEUE);
+        Map<String, Long> pollers = workerRuntimeStats.pollers(TASK_QUEUE);
+
+        // Assert
+        assertEquals(new WorkerRuntimeStats.SlotUsage(7, 193), slots.get("activity"));
+        assertEquals(new WorkerRuntimeStats.SlotUsage(0, 0), slots.get("workflow"));
+        assertEquals(5L, pollers.get("activity"));
+    }
+
+    @Test
+    void stickyCache_ShouldComputeHitRate() {
+        // Arrange
+        meterRegistry.counter("temporal_sticky_cache_hit", "task_queue", TASK_QUEUE).increment(3);
+        meterRegistry.counter("temporal_sticky_cache_miss", "task_queue", TASK_QUEUE).increment(1);
+
+        // Act
+        WorkerRuntimeStats.StickyCache stickyCache = workerRuntimeStats.stickyCache(TASK_QUEUE);
+
+        // Assert
+        assertEquals(3, stickyCache.hits());
+        assertEquals(0.75, stickyCache.hitRate());
+    }
+
+    @Test
+    void backlog_ShouldMapEnhancedTaskQueueStats() {
+        // Arrange
+        TaskQueueTypeInfo activityInfo = TaskQueueTypeInfo.newBuilder()
+                .setStats(TaskQueueStats.newBuilder()
+                        .setApproximateBacklogCount(42)
+                        .setApproximateBacklogAge(Duration.newBuilder().setSeconds(9))
+                        .setTasksAddRate(12.5f)
+                        .setTasksDispatchRate(10f))
+                .addPollers(PollerInfo.getDefaultInstance())
+                .build();
+        DescribeTaskQueueResponse response = DescribeTaskQueueResponse.newBuilder()
+                .putVersionsInfo("", TaskQueueVersionInfo.newBuilder()
+                        .putTypesInfo(TaskQueueType.TASK_QUEUE_TYPE_ACTIVITY_VALUE, activityInfo)
+                        .build())
+                .build();
+        when(temporalQueryGateway.describeTaskQueue(TASK_QUEUE)).thenReturn(CompletableFuture.completedFuture(response));
+
+        // Act
+        Map<String, Object> backlog = workerRuntimeStats.backlog(TASK_QUEUE);
+
+        // Assert
+        assertEquals(new WorkerRuntimeStats.Backlog(42, 9, 12.5f, 10f, 1), backlog.get("activity"));
+        assertNull(backlog.get("workflow"));
+    }
+
+    @Test
+    void backlog_WhenDescribeFails_ShouldReportError() {
+        // Arrange
+        when(temporalQueryGateway.describeTaskQueue(TASK_QUEUE))
+                .thenReturn(CompletableFuture.failedFuture(Status.UNIMPLEMENTED.asRuntimeException()));
+
+        // Act
+        Map<String, Object> backlog = workerRuntimeStats.backlog(TASK_QUEUE);
+
+        // Assert
+        assertNotNull(backlog.get("error"));
+    }
+
+    private void gauge(String name, Tags tags, double value) {
+        Gauge.builder(name, () -> value).tags(tags).register(meterRegistry);
+    }
+}
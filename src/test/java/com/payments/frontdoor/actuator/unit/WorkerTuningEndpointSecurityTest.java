@@ -0,0 +1,94 @@
+package com.payments.frontdoor.actuator.unit;
+
+import com.payments.frontdoor.actuator.WorkerTuningEndpoint;
+import com.payments.frontdoor.config.SecurityConfig;
+import com.payments.frontdoor.service.WorkerTuningService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.endpoint.EndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementContextAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.web.servlet.ServletManagementContextAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exposes {@code workertuning} over HTTP, which the application only does when configured to, and checks that
+ * resizing still needs an operator.
+ */
+@SpringBootTest(classes = WorkerTuningEndpointSecurityTest.EndpointConfig.class,
+        properties = "management.endpoints.web.exposure.include=workertuning")
+@AutoConfigureMockMvc
+class WorkerTuningEndpointSecurityTest {
+
+    private static final String RESIZE_URI = "/actuator/workertuning/high-payment-worker";
+    private static final String RESIZE_BODY = "{\"activitySlots\": 0}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private WorkerTuningService workerTuningService;
+
+    @Test
+    void resize_WhenAnonymous_ShouldBeRejected() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post(RESIZE_URI)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(RESIZE_BODY))
+                .andExpect(status().isUnauthorized());
+
+        verify(workerTuningService, never()).resize(any(), any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void resize_WithoutOperatorRole_ShouldBeForbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post(RESIZE_URI)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(RESIZE_BODY))
+                .andExpect(status().isForbidden());
+
+        verify(workerTuningService, never()).resize(any(), any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "OPERATOR")
+    void resize_AsOperator_ShouldResizeWorker() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post(RESIZE_URI)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(RESIZE_BODY))
+                .andExpect(status().is2xxSuccessful());
+
+        verify(workerTuningService).resize("high-payment-worker", null, 0, null);
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({DispatcherServletAutoConfiguration.class, WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class, JacksonAutoConfiguration.class,
+            SecurityAutoConfiguration.class, EndpointAutoConfiguration.class, WebEndpointAutoConfiguration.class,
+            ManagementContextAutoConfiguration.class, ServletManagementContextAutoConfiguration.class})
+    @Import({SecurityConfig.class, WorkerTuningEndpoint.class})
+    static class EndpointConfig {
+    }
+}
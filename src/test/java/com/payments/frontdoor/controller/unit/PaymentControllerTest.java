@@ -3,13 +3,27 @@ package com.payments.frontdoor.controller.unit;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.protobuf.Timestamp;
 import com.payments.frontdoor.config.TemporalWorkflowConfig;
 import com.payments.frontdoor.exception.IdempotencyKeyMismatchException;
+import com.payments.frontdoor.exception.PaymentServiceUnavailableException;
+import com.payments.frontdoor.exception.PaymentThrottledException;
+import com.payments.frontdoor.model.AdmissionBudget;
+import com.payments.frontdoor.model.IdempotencyRecord;
+import com.payments.frontdoor.model.PaymentDetails;
+import com.payments.frontdoor.model.WorkflowResult;
+import com.payments.frontdoor.service.AdmissionControlService;
+import com.payments.frontdoor.service.BulkPaymentService;
+import com.payments.frontdoor.service.BulkPaymentStatusService;
+import com.payments.frontdoor.service.IdempotencyService;
 import com.payments.frontdoor.service.PaymentProcessService;
+import com.payments.frontdoor.service.PaymentProgressService;
 import com.payments.frontdoor.swagger.model.Account;
 import com.payments.frontdoor.swagger.model.PaymentRequest;
 import com.payments.frontdoor.swagger.model.PaymentResponse;
+import com.payments.frontdoor.util.PaymentUtil;
 import com.payments.frontdoor.web.PaymentController;
+import io.temporal.api.enums.v1.WorkflowExecutionStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,19 +33,37 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MissingRequestHeaderException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = PaymentController.class, excludeAutoConfiguration = {SecurityAutoConfiguration.class, TemporalWorkflowConfig.class})
@@ -43,11 +75,30 @@ public class PaymentControllerTest {
     @MockitoBean
     private PaymentProcessService paymentService;
 
+    @MockitoBean
+    private BulkPaymentService bulkPaymentService;
+
+    @MockitoBean
+    private BulkPaymentStatusService bulkPaymentStatusService;
+
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
+    @MockitoBean
+    private PaymentProgressService paymentProgressService;
+
+    @MockitoBean
+    private AdmissionControlService admissionControlService;
+
     private PaymentRequest paymentRequest;
 
     @BeforeEach
     public void setUp() {
         paymentRequest = getSamplePaymentRequest();
+        when(admissionControlService.admitAsync(any(AdmissionBudget.class), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(paymentService.processPaymentAsync(any(PaymentDetails.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
     }
 
     @Test
@@ -81,12 +132,176 @@ public class PaymentControllerTest {
     @Test
     @DisplayName("Test for successful payment request")
     void testSuccessfulPaymentRequest() throws Exception {
-        mockMvc.perform(performPostRequest()
+        MvcResult result = mockMvc.perform(performPostRequest()
+                .header("x-correlation-id", "123456")
+                .header("x-request-status", "201")
+                .header("x-idempotency-key", "INV123456"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value(PaymentResponse.StatusEnum.ACTC.toString()));
+    }
+
+    @Test
+    @DisplayName("Test for failed workflow start not remembered, so the retry starts the payment")
+    void testFailedStartIsRetried() throws Exception {
+        when(paymentService.processPaymentAsync(any(PaymentDetails.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Temporal unavailable")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        MvcResult failed = mockMvc.perform(performPostRequest()
+                .header("x-correlation-id", "123456")
+                .header("x-request-status", "201")
+                .header("x-idempotency-key", "INV123456"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(failed))
+                .andExpect(status().isInternalServerError());
+        verify(idempotencyService, never()).remember(anyString(), anyString(), anyString(), any(), any());
+
+        MvcResult retried = mockMvc.perform(performPostRequest()
+                .header("x-correlation-id", "123456")
+                .header("x-request-status", "201")
+                .header("x-idempotency-key", "INV123456"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(retried))
+                .andExpect(status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value(PaymentResponse.StatusEnum.ACTC.toString()));
+        verify(paymentService, times(2)).processPaymentAsync(any(PaymentDetails.class));
+        verify(idempotencyService).remember(anyString(), anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Test for successful synchronous payment request")
+    void testSuccessfulSyncPaymentRequest() throws Exception {
+        when(paymentService.submitPaymentAndAwaitAuthorization(any(PaymentDetails.class), any(Duration.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(PaymentUtil.createPaymentResponse(
+                        invocation.<PaymentDetails>getArgument(0).getPaymentId(), PaymentResponse.StatusEnum.ACSP)));
+
+        MvcResult result = mockMvc.perform(performPostRequest()
+                .header("x-correlation-id", "123456")
+                .header("x-request-status", "200")
+                .header("x-idempotency-key", "INV123456"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value(PaymentResponse.StatusEnum.ACSP.toString()));
+        verify(paymentService, never()).getWorkflowStatus(anyString());
+    }
+
+    @Test
+    @DisplayName("Test for duplicate payment request served from the idempotency store")
+    void testDuplicatePaymentRequest() throws Exception {
+        IdempotencyRecord previous = new IdempotencyRecord("INV123456", "request-hash", "original-uetr",
+                PaymentResponse.StatusEnum.ACTC, 201, Instant.now());
+        when(idempotencyService.find(anyString(), anyString())).thenReturn(Optional.of(previous));
+
+        MvcResult result = mockMvc.perform(performPostRequest()
                 .header("x-correlation-id", "123456")
                 .header("x-request-status", "201")
                 .header("x-idempotency-key", "INV123456"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.paymentId").value("original-uetr"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.status").value(PaymentResponse.StatusEnum.ACTC.toString()));
+        verify(paymentService, never()).processPaymentAsync(any(PaymentDetails.class));
+    }
+
+    @Test
+    @DisplayName("Test for unchanged payment status answered with 304")
+    void testPaymentStatusNotModified() throws Exception {
+        WorkflowResult workflowResult = new WorkflowResult(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_COMPLETED,
+                Timestamp.getDefaultInstance(), Timestamp.getDefaultInstance(), "PaymentWorkflow", null);
+        when(paymentService.retrieveWorkFlowHistory("uetr-1", false)).thenReturn(workflowResult);
+
+        String eTag = mockMvc.perform(get("/payment-status/uetr-1")
+                        .header("x-correlation-id", "123456"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/payment-status/uetr-1")
+                        .header("x-correlation-id", "123456")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Test for payment progress stream")
+    void testPaymentProgressStream() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(paymentProgressService.subscribe("uetr-1")).thenReturn(emitter);
+
+        MvcResult result = mockMvc.perform(get("/payment-status/uetr-1/stream")
+                        .header("x-correlation-id", "123456")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        emitter.send(SseEmitter.event().name("status").data("{\"status\":\"ACSC\"}"));
+        emitter.complete();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("event:status")));
+    }
+
+    @Test
+    @DisplayName("Test for payment request rejected by admission control")
+    void testThrottledPaymentRequest() throws Exception {
+        when(admissionControlService.admitAsync(any(AdmissionBudget.class), any()))
+                .thenThrow(new PaymentThrottledException(AdmissionBudget.NORMAL, Duration.ofSeconds(2)));
+
+        mockMvc.perform(performPostRequest()
+                .header("x-correlation-id", "123456")
+                .header("x-request-status", "201")
+                .header("x-idempotency-key", "INV123456"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+
+    @Test
+    @DisplayName("Test for payment request rejected because Temporal is at capacity")
+    void testPaymentRequestWhenTemporalOverloaded() throws Exception {
+        when(paymentService.processPaymentAsync(any(PaymentDetails.class)))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new PaymentServiceUnavailableException("Temporal is at capacity, retry the payment later")));
+
+        MvcResult result = mockMvc.perform(performPostRequest()
+                .header("x-correlation-id", "123456")
+                .header("x-request-status", "201")
+                .header("x-idempotency-key", "INV123456"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.code").value("SERVICE_UNAVAILABLE"));
+        verify(idempotencyService, never()).remember(anyString(), anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Test for payment request with an invalid body")
+    void testInvalidPaymentRequest() throws Exception {
+        paymentRequest.setAmount(null);
+
+        mockMvc.perform(performPostRequest()
+                .header("x-correlation-id", "123456")
+                .header("x-request-status", "201")
+                .header("x-idempotency-key", "INV123456"))
+                .andExpect(status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.code").value("BAD_REQUEST"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Validation error"));
+        verify(paymentService, never()).processPaymentAsync(any(PaymentDetails.class));
     }
 
     private String getJsonRequest() throws JsonProcessingException {
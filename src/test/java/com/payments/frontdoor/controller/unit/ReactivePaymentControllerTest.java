@@ -0,0 +1,193 @@
+package com.payments.frontdoor.controller.unit;
+
+import com.payments.frontdoor.exception.IdempotencyKeyMismatchException;
+import com.payments.frontdoor.exception.IdempotencyKeyReuseException;
+import com.payments.frontdoor.model.AdmissionBudget;
+import com.payments.frontdoor.model.IdempotencyRecord;
+import com.payments.frontdoor.model.PaymentDetails;
+import com.payments.frontdoor.model.PaymentStatus;
+import com.payments.frontdoor.service.AdmissionControlService;
+import com.payments.frontdoor.service.IdempotencyService;
+import com.payments.frontdoor.service.PaymentProcessService;
+import com.payments.frontdoor.service.PaymentWorkflowStarter;
+import com.payments.frontdoor.swagger.model.Account;
+import com.payments.frontdoor.swagger.model.PaymentRequest;
+import com.payments.frontdoor.swagger.model.PaymentResponse;
+import com.payments.frontdoor.util.PaymentUtil;
+import com.payments.frontdoor.web.PaymentExceptionHandler;
+import com.payments.frontdoor.web.ReactivePaymentController;
+import io.grpc.Status;
+import io.temporal.api.common.v1.WorkflowExecution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactivePaymentControllerTest {
+
+    private static final String REFERENCE = "INV123456";
+
+    @Mock
+    private PaymentProcessService paymentProcessService;
+
+    @Mock
+    private PaymentWorkflowStarter paymentWorkflowStarter;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private AdmissionControlService admissionControlService;
+
+    private ReactivePaymentController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ReactivePaymentController(paymentProcessService, paymentWorkflowStarter, idempotencyService,
+                admissionControlService);
+    }
+
+    @Test
+    void submitPayment_Async_ShouldStartWorkflowAndReturnCreated() {
+        // Arrange
+        admitEverything();
+        when(idempotencyService.find(scopedKey(), requestHash())).thenReturn(Optional.empty());
+        when(paymentWorkflowStarter.startAsync(any(PaymentDetails.class)))
+                .thenReturn(CompletableFuture.completedFuture(WorkflowExecution.getDefaultInstance()));
+
+        // Act
+        ResponseEntity<PaymentResponse> response = controller.submitPayment("123456", REFERENCE,
+                PaymentStatus.ASYNC.getCode(), paymentRequest()).block();
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(PaymentUtil.deriveUetr(scopedKey()), response.getBody().getPaymentId());
+        verify(idempotencyService).remember(eq(scopedKey()), eq(requestHash()), eq(PaymentUtil.deriveUetr(scopedKey())),
+                eq(PaymentResponse.StatusEnum.ACTC), eq(HttpStatus.CREATED));
+    }
+
+    @Test
+    void submitPayment_WhenWorkflowAlreadyStarted_ShouldStillReturnCreated() {
+        // Arrange
+        admitEverything();
+        when(idempotencyService.find(scopedKey(), requestHash())).thenReturn(Optional.empty());
+        when(paymentWorkflowStarter.startAsync(any(PaymentDetails.class)))
+                .thenReturn(CompletableFuture.failedFuture(Status.ALREADY_EXISTS.asRuntimeException()));
+
+        // Act
+        ResponseEntity<PaymentResponse> response = controller.submitPayment("123456", REFERENCE,
+                PaymentStatus.ASYNC.getCode(), paymentRequest()).block();
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+    }
+
+    @Test
+    void submitPayment_WithPreviousSubmission_ShouldReplayWithoutStartingWorkflow() {
+        // Arrange
+        when(idempotencyService.find(scopedKey(), requestHash())).thenReturn(Optional.of(new IdempotencyRecord(
+                scopedKey(), requestHash(), "original-uetr", PaymentResponse.StatusEnum.ACTC, 201, Instant.now())));
+
+        // Act
+        ResponseEntity<PaymentResponse> response = controller.submitPayment("123456", REFERENCE,
+                PaymentStatus.ASYNC.getCode(), paymentRequest()).block();
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals("original-uetr", response.getBody().getPaymentId());
+        verifyNoInteractions(paymentWorkflowStarter, admissionControlService);
+    }
+
+    @Test
+    void submitPayment_WithMismatchedIdempotencyKey_ShouldReject() {
+        // Act & Assert
+        assertThrows(IdempotencyKeyMismatchException.class, () -> controller.submitPayment("123456", "OTHER",
+                PaymentStatus.ASYNC.getCode(), paymentRequest()));
+    }
+
+    @Test
+    void submitPayment_WithReusedKeyForDifferentPayment_ShouldReject() {
+        // Arrange
+        when(idempotencyService.find(scopedKey(), requestHash()))
+                .thenThrow(new IdempotencyKeyReuseException("Idempotency key was already used for a different payment request"));
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyReuseException.class, () -> controller.submitPayment("123456", REFERENCE,
+                PaymentStatus.ASYNC.getCode(), paymentRequest()).block());
+        verifyNoInteractions(paymentWorkflowStarter, admissionControlService);
+    }
+
+    @Test
+    void submitPayment_WithInvalidBody_ShouldReturnBadRequest() {
+        // Arrange
+        WebTestClient client = WebTestClient.bindToController(controller)
+                .controllerAdvice(new PaymentExceptionHandler())
+                .build();
+        PaymentRequest request = paymentRequest();
+        request.setAmount(null);
+
+        // Act & Assert
+        client.post().uri("/submit-payment")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("x-correlation-id", "123456")
+                .header("x-idempotency-key", REFERENCE)
+                .header("x-request-status", PaymentStatus.ASYNC.getCode())
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("BAD_REQUEST")
+                .jsonPath("$.message").isEqualTo("Validation error");
+        verifyNoInteractions(idempotencyService, paymentWorkflowStarter, admissionControlService);
+    }
+
+    private String scopedKey() {
+        return PaymentUtil.scopedIdempotencyKey(paymentRequest(), REFERENCE);
+    }
+
+    private String requestHash() {
+        return PaymentUtil.requestHash(paymentRequest());
+    }
+
+    private void admitEverything() {
+        when(admissionControlService.admitAsync(any(AdmissionBudget.class), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
+
+    private PaymentRequest paymentRequest() {
+        Account debtor = new Account();
+        debtor.setAccountNumber("123456789");
+        Account creditor = new Account();
+        creditor.setAccountNumber("987654321");
+        PaymentRequest request = new PaymentRequest();
+        request.setDebtor(debtor);
+        request.setCreditor(creditor);
+        request.setAmount(BigDecimal.valueOf(100.5));
+        request.setCurrency("USD");
+        request.setPaymentReference(REFERENCE);
+        request.setPriority(PaymentRequest.PriorityEnum.NORMAL);
+        request.setPaymentDate(LocalDate.parse("2022-01-12"));
+        return request;
+    }
+}
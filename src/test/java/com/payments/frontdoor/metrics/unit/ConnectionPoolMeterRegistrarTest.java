@@ -0,0 +1,66 @@
+package com.payments.frontdoor.metrics.unit;
+
+import com.payments.frontdoor.metrics.ConnectionPoolMeterRegistrar;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.netty.resources.ConnectionPoolMetrics;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionPoolMeterRegistrarTest {
+
+    private static final String POOL = "payment-api";
+    private static final String POOL_ID = "pool-1";
+    private static final SocketAddress REMOTE = InetSocketAddress.createUnresolved("localhost", 3001);
+
+    @Mock
+    private ConnectionPoolMetrics poolMetrics;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ConnectionPoolMeterRegistrar registrar = new ConnectionPoolMeterRegistrar(meterRegistry);
+
+    @Test
+    void registerMetrics_ShouldPublishActiveIdleAndPendingConnections() {
+        // Arrange
+        when(poolMetrics.acquiredSize()).thenReturn(3);
+        when(poolMetrics.idleSize()).thenReturn(5);
+        when(poolMetrics.pendingAcquireSize()).thenReturn(2);
+
+        // Act
+        registrar.registerMetrics(POOL, POOL_ID, REMOTE, poolMetrics);
+
+        // Assert
+        assertEquals(3.0, gauge(ConnectionPoolMeterRegistrar.ACTIVE));
+        assertEquals(5.0, gauge(ConnectionPoolMeterRegistrar.IDLE));
+        assertEquals(2.0, gauge(ConnectionPoolMeterRegistrar.PENDING));
+    }
+
+    @Test
+    void deRegisterMetrics_ShouldRemovePoolGauges() {
+        // Arrange
+        registrar.registerMetrics(POOL, POOL_ID, REMOTE, poolMetrics);
+
+        // Act
+        registrar.deRegisterMetrics(POOL, POOL_ID, REMOTE);
+
+        // Assert
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name)
+                .tags("pool", POOL, "remote_address", REMOTE.toString())
+                .gauge()
+                .value();
+    }
+}
@@ -0,0 +1,134 @@
+package com.payments.frontdoor.metrics.unit;
+
+import com.payments.frontdoor.metrics.EagerDispatchClientInterceptor;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.temporal.api.command.v1.Command;
+import io.temporal.api.command.v1.ScheduleActivityTaskCommandAttributes;
+import io.temporal.api.taskqueue.v1.TaskQueue;
+import io.temporal.api.workflowservice.v1.PollActivityTaskQueueResponse;
+import io.temporal.api.workflowservice.v1.PollWorkflowTaskQueueResponse;
+import io.temporal.api.workflowservice.v1.RespondWorkflowTaskCompletedRequest;
+import io.temporal.api.workflowservice.v1.RespondWorkflowTaskCompletedResponse;
+import io.temporal.api.workflowservice.v1.StartWorkflowExecutionRequest;
+import io.temporal.api.workflowservice.v1.StartWorkflowExecutionResponse;
+import io.temporal.api.workflowservice.v1.WorkflowServiceGrpc;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EagerDispatchClientInterceptorTest {
+
+    private static final String HIGH_QUEUE = "payment_high_subscription";
+
+    @Mock
+    private Channel channel;
+
+    @Mock
+    private ClientCall<StartWorkflowExecutionRequest, StartWorkflowExecutionResponse> startCall;
+
+    @Mock
+    private ClientCall<RespondWorkflowTaskCompletedRequest, RespondWorkflowTaskCompletedResponse> completeCall;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final EagerDispatchClientInterceptor interceptor = new EagerDispatchClientInterceptor(meterRegistry);
+
+    @Test
+    void startWorkflow_WithEagerTaskInResponse_ShouldCountEager() {
+        // Arrange
+        when(channel.newCall(WorkflowServiceGrpc.getStartWorkflowExecutionMethod(), CallOptions.DEFAULT))
+                .thenReturn(startCall);
+        StartWorkflowExecutionRequest request = StartWorkflowExecutionRequest.newBuilder()
+                .setTaskQueue(TaskQueue.newBuilder().setName(HIGH_QUEUE))
+                .setRequestEagerExecution(true)
+                .build();
+
+        // Act
+        ClientCall.Listener<StartWorkflowExecutionResponse> listener = exchange(
+                interceptor.interceptCall(WorkflowServiceGrpc.getStartWorkflowExecutionMethod(), CallOptions.DEFAULT,
+                        channel), startCall, request);
+        listener.onMessage(StartWorkflowExecutionResponse.newBuilder()
+                .setEagerWorkflowTask(PollWorkflowTaskQueueResponse.getDefaultInstance())
+                .build());
+
+        // Assert
+        assertEquals(1.0, count(EagerDispatchClientInterceptor.EAGER_WORKFLOW_START, "eager"));
+        assertEquals(0.0, count(EagerDispatchClientInterceptor.EAGER_WORKFLOW_START, "fallback"));
+    }
+
+    @Test
+    void startWorkflow_WithoutEagerRequest_ShouldNotCount() {
+        // Arrange
+        when(channel.newCall(WorkflowServiceGrpc.getStartWorkflowExecutionMethod(), CallOptions.DEFAULT))
+                .thenReturn(startCall);
+
+        // Act
+        ClientCall.Listener<StartWorkflowExecutionResponse> listener = exchange(
+                interceptor.interceptCall(WorkflowServiceGrpc.getStartWorkflowExecutionMethod(), CallOptions.DEFAULT,
+                        channel), startCall, StartWorkflowExecutionRequest.getDefaultInstance());
+        listener.onMessage(StartWorkflowExecutionResponse.getDefaultInstance());
+
+        // Assert
+        assertTrue(meterRegistry.find(EagerDispatchClientInterceptor.EAGER_WORKFLOW_START).counters().isEmpty());
+    }
+
+    @Test
+    void workflowTaskCompleted_WithFewerActivitiesReturned_ShouldCountFallback() {
+        // Arrange
+        when(channel.newCall(WorkflowServiceGrpc.getRespondWorkflowTaskCompletedMethod(), CallOptions.DEFAULT))
+                .thenReturn(completeCall);
+        RespondWorkflowTaskCompletedRequest request = RespondWorkflowTaskCompletedRequest.newBuilder()
+                .addCommands(eagerActivity())
+                .addCommands(eagerActivity())
+                .build();
+
+        // Act
+        ClientCall.Listener<RespondWorkflowTaskCompletedResponse> listener = exchange(
+                interceptor.interceptCall(WorkflowServiceGrpc.getRespondWorkflowTaskCompletedMethod(),
+                        CallOptions.DEFAULT, channel), completeCall, request);
+        listener.onMessage(RespondWorkflowTaskCompletedResponse.newBuilder()
+                .addActivityTasks(PollActivityTaskQueueResponse.getDefaultInstance())
+                .build());
+
+        // Assert
+        assertEquals(1.0, count(EagerDispatchClientInterceptor.EAGER_ACTIVITY, "eager"));
+        assertEquals(1.0, count(EagerDispatchClientInterceptor.EAGER_ACTIVITY, "fallback"));
+    }
+
+    private <ReqT, RespT> ClientCall.Listener<RespT> exchange(ClientCall<ReqT, RespT> call,
+                                                              ClientCall<ReqT, RespT> delegate, ReqT request) {
+        @SuppressWarnings("unchecked")
+        ClientCall.Listener<RespT> listener = mock(ClientCall.Listener.class);
+        call.start(listener, new Metadata());
+        call.sendMessage(request);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ClientCall.Listener<RespT>> wrapped = ArgumentCaptor.forClass(ClientCall.Listener.class);
+        verify(delegate).start(wrapped.capture(), any(Metadata.class));
+        return wrapped.getValue();
+    }
+
+    private Command eagerActivity() {
+        return Command.newBuilder()
+                .setScheduleActivityTaskCommandAttributes(ScheduleActivityTaskCommandAttributes.newBuilder()
+                        .setTaskQueue(TaskQueue.newBuilder().setName(HIGH_QUEUE))
+                        .setRequestEagerExecution(true))
+                .build();
+    }
+
+    private double count(String name, String outcome) {
+        return meterRegistry.counter(name, "task_queue", HIGH_QUEUE, "outcome", outcome).count();
+    }
+}
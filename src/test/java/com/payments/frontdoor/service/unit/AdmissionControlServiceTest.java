@@ -0,0 +1,119 @@
+package com.payments.frontdoor.service.unit;
+
+import com.payments.frontdoor.config.AdmissionControlCustomProperties;
+import com.payments.frontdoor.exception.PaymentThrottledException;
+import com.payments.frontdoor.model.AdmissionBudget;
+import com.payments.frontdoor.service.AdmissionControlService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AdmissionControlCustomProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionControlCustomProperties();
+        properties.getBudgets().put(AdmissionBudget.NORMAL, new AdmissionControlCustomProperties.Budget(2, 1, 4));
+        properties.getBudgets().put(AdmissionBudget.HIGH, new AdmissionControlCustomProperties.Budget(2, 1, 4));
+    }
+
+    @Test
+    void admitAsync_WhenBudgetExhausted_ShouldRejectAndCount() {
+        // Arrange
+        AdmissionControlService admissionControlService = new AdmissionControlService(properties, meterRegistry);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        admissionControlService.admitAsync(AdmissionBudget.NORMAL, () -> pending);
+        admissionControlService.admitAsync(AdmissionBudget.NORMAL, () -> pending);
+
+        // Act & Assert
+        PaymentThrottledException exception = assertThrows(PaymentThrottledException.class,
+                () -> admissionControlService.admitAsync(AdmissionBudget.NORMAL, () -> pending));
+        assertEquals(AdmissionBudget.NORMAL, exception.getBudget());
+        assertEquals(1.0, meterRegistry.get("payments.admission.rejected").tag("budget", "NORMAL").counter().count());
+        assertEquals(2.0, meterRegistry.get("payments.admission.inflight").tag("budget", "NORMAL").gauge().value());
+    }
+
+    @Test
+    void admitAsync_WithExhaustedNormalBudget_ShouldStillAdmitHighPriority() {
+        // Arrange
+        AdmissionControlService admissionControlService = new AdmissionControlService(properties, meterRegistry);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        admissionControlService.admitAsync(AdmissionBudget.NORMAL, () -> pending);
+        admissionControlService.admitAsync(AdmissionBudget.NORMAL, () -> pending);
+
+        // Act
+        CompletableFuture<String> result = admissionControlService.admitAsync(AdmissionBudget.HIGH,
+                () -> CompletableFuture.completedFuture("accepted"));
+
+        // Assert
+        assertEquals("accepted", result.join());
+    }
+
+    @Test
+    void admit_WithSlowRequests_ShouldShrinkLimit() {
+        // Arrange
+        properties.setLatencyThreshold(Duration.ZERO);
+        properties.setBackoffRatio(0.5);
+        properties.getBudgets().put(AdmissionBudget.NORMAL, new AdmissionControlCustomProperties.Budget(4, 1, 4));
+        AdmissionControlService admissionControlService = new AdmissionControlService(properties, meterRegistry);
+
+        // Act
+        admissionControlService.admit(AdmissionBudget.NORMAL, () -> sleep(Duration.ofMillis(5)));
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("payments.admission.limit").tag("budget", "NORMAL").gauge().value());
+    }
+
+    @Test
+    void admitAsync_WhenWorkflowStartsSlowDown_ShouldShrinkLimit() {
+        // Arrange
+        properties.setLatencyThreshold(Duration.ofMillis(50));
+        properties.setBackoffRatio(0.5);
+        properties.getBudgets().put(AdmissionBudget.NORMAL, new AdmissionControlCustomProperties.Budget(4, 1, 4));
+        AdmissionControlService admissionControlService = new AdmissionControlService(properties, meterRegistry);
+        Executor slowStarts = CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS);
+
+        // Act
+        // The hand-off returns at once; the future completes when the start RPC does
+        CompletableFuture<Void> started = admissionControlService.admitAsync(AdmissionBudget.NORMAL,
+                () -> CompletableFuture.runAsync(() -> { }, slowStarts));
+        started.join();
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("payments.admission.limit").tag("budget", "NORMAL").gauge().value());
+        assertEquals(0.0, meterRegistry.get("payments.admission.inflight").tag("budget", "NORMAL").gauge().value());
+    }
+
+    @Test
+    void admitAsync_WhenWorkCompletes_ShouldReleasePermit() {
+        // Arrange
+        AdmissionControlService admissionControlService = new AdmissionControlService(properties, meterRegistry);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        admissionControlService.admitAsync(AdmissionBudget.NORMAL, () -> pending);
+
+        // Act
+        pending.complete("done");
+
+        // Assert
+        assertEquals(0.0, meterRegistry.get("payments.admission.inflight").tag("budget", "NORMAL").gauge().value());
+    }
+
+    private String sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+}
@@ -0,0 +1,170 @@
+package com.payments.frontdoor.service.unit;
+
+import com.payments.frontdoor.activities.PaymentStepStatus;
+import com.payments.frontdoor.config.AsyncCompletionCustomProperties;
+import com.payments.frontdoor.service.AsyncCompletionManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.temporal.client.ActivityCompletionClient;
+import io.temporal.failure.ApplicationFailure;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncCompletionManagerTest {
+
+    private static final byte[] TOKEN = {1, 2, 3};
+
+    @Mock
+    private ActivityCompletionClient completionClient;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AsyncCompletionCustomProperties properties = new AsyncCompletionCustomProperties();
+    private AsyncCompletionManager asyncCompletionManager;
+
+    @BeforeEach
+    void setUp() {
+        // Sweeps are triggered by the tests themselves
+        properties.setSweepInterval(Duration.ofHours(1));
+        asyncCompletionManager = new AsyncCompletionManager(completionClient, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncCompletionManager.shutdown();
+    }
+
+    @Test
+    void complete_ShouldCompleteTokenAndStopTrackingIt() throws Exception {
+        // Arrange
+        CountDownLatch dispatched = new CountDownLatch(1);
+        asyncCompletionManager.dispatch(TOKEN, dispatched::countDown);
+        assertTrue(dispatched.await(5, TimeUnit.SECONDS));
+
+        // Act
+        asyncCompletionManager.complete(TOKEN.clone(), PaymentStepStatus.POSTED);
+
+        // Assert
+        verify(completionClient).complete(TOKEN, PaymentStepStatus.POSTED);
+        assertEquals(0, asyncCompletionManager.outstandingCount());
+        assertEquals(1.0, meterRegistry.counter(AsyncCompletionManager.COMPLETIONS, "outcome", "completed").count());
+    }
+
+    @Test
+    void dispatch_WhenDispatchThrows_ShouldFailActivity() {
+        // Arrange
+        IllegalStateException error = new IllegalStateException("kafka unavailable");
+
+        // Act
+        asyncCompletionManager.dispatch(TOKEN, () -> {
+            throw error;
+        });
+
+        // Assert
+        verify(completionClient, timeout(5000)).completeExceptionally(TOKEN, error);
+    }
+
+    @Test
+    void completeWhen_ShouldCompleteActivityOnceResultArrives() {
+        // Arrange
+        CompletableFuture<Boolean> response = new CompletableFuture<>();
+        asyncCompletionManager.completeWhen(TOKEN, response, IllegalStateException::new);
+        assertEquals(1, asyncCompletionManager.outstandingCount());
+
+        // Act
+        response.complete(true);
+
+        // Assert
+        verify(completionClient, timeout(5000)).complete(TOKEN, true);
+        assertEquals(0, asyncCompletionManager.outstandingCount());
+    }
+
+    @Test
+    void completeWhen_WithResultFinishedOnCallerThread_ShouldCompleteOnCompletionPool() {
+        // Arrange
+        AtomicReference<String> completingThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            completingThread.set(Thread.currentThread().getName());
+            return null;
+        }).when(completionClient).complete(TOKEN, true);
+
+        // Act
+        asyncCompletionManager.completeWhen(TOKEN, CompletableFuture.completedFuture(true), IllegalStateException::new);
+
+        // Assert
+        verify(completionClient, timeout(5000)).complete(TOKEN, true);
+        assertTrue(completingThread.get().startsWith("async-completer-"), completingThread.get());
+    }
+
+    @Test
+    void completeWhen_WhenResultFails_ShouldFailActivityWithMappedError() {
+        // Arrange
+        IllegalStateException mapped = new IllegalStateException("mapped");
+        CompletableFuture<Boolean> response = new CompletableFuture<>();
+        asyncCompletionManager.completeWhen(TOKEN, response.thenApply(ok -> ok), error -> mapped);
+
+        // Act
+        response.completeExceptionally(new RuntimeException("connection reset"));
+
+        // Assert
+        verify(completionClient, timeout(5000)).completeExceptionally(TOKEN, mapped);
+        assertEquals(0, asyncCompletionManager.outstandingCount());
+    }
+
+    @Test
+    void sweep_AfterTimeout_ShouldFailTokenOnCompletionPool() {
+        // Arrange
+        asyncCompletionManager.shutdown();
+        properties.setTimeout(Duration.ZERO);
+        asyncCompletionManager = new AsyncCompletionManager(completionClient, properties, new SimpleMeterRegistry());
+        AtomicReference<String> failingThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            failingThread.set(Thread.currentThread().getName());
+            return null;
+        }).when(completionClient).completeExceptionally(eq(TOKEN), any(ApplicationFailure.class));
+        asyncCompletionManager.dispatch(TOKEN, () -> { });
+
+        // Act
+        asyncCompletionManager.sweep();
+
+        // Assert
+        verify(completionClient, timeout(5000)).completeExceptionally(eq(TOKEN), any(ApplicationFailure.class));
+        assertEquals(0, asyncCompletionManager.outstandingCount());
+        assertTrue(failingThread.get().startsWith("async-completer-"), failingThread.get());
+        verify(completionClient, never()).heartbeat(any(byte[].class), any());
+    }
+
+    @Test
+    void dispatch_WithStartToCloseTimeout_ShouldFailTokenBeforeServerTimesOut() {
+        // Arrange
+        Duration startToClose = Duration.ofMillis(500);
+        long dispatchedAt = System.nanoTime();
+
+        // Act
+        asyncCompletionManager.dispatch(TOKEN, startToClose, () -> { });
+
+        // Assert
+        ArgumentCaptor<ApplicationFailure> failure = ArgumentCaptor.forClass(ApplicationFailure.class);
+        verify(completionClient, timeout(5000)).completeExceptionally(eq(TOKEN), failure.capture());
+        assertTrue(Duration.ofNanos(System.nanoTime() - dispatchedAt).compareTo(startToClose) < 0);
+        assertEquals(AsyncCompletionManager.TIMED_OUT_FAILURE, failure.getValue().getType());
+        assertEquals(0, asyncCompletionManager.outstandingCount());
+        assertEquals(1.0, meterRegistry.counter(AsyncCompletionManager.COMPLETIONS, "outcome", "expired").count());
+    }
+}
@@ -0,0 +1,170 @@
+package com.payments.frontdoor.service.unit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.payments.frontdoor.config.BulkPaymentCustomProperties;
+import com.payments.frontdoor.model.IdempotencyRecord;
+import com.payments.frontdoor.model.PaymentDetails;
+import com.payments.frontdoor.service.BulkPaymentService;
+import com.payments.frontdoor.service.IdempotencyService;
+import com.payments.frontdoor.service.PaymentWorkflowStarter;
+import com.payments.frontdoor.swagger.model.PaymentResponse;
+import io.temporal.api.common.v1.WorkflowExecution;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkPaymentServiceTest {
+
+    private static final String PAYMENT_TEMPLATE = "{ \"debtor\": { \"accountNumber\": \"123456789\" }, "
+            + "\"creditor\": { \"accountNumber\": \"987654321\" }, \"amount\": 100.5, \"currency\": \"USD\", "
+            + "\"paymentReference\": \"%s\", \"paymentDate\": \"2023-10-01\" }";
+
+    @Mock
+    private PaymentWorkflowStarter paymentWorkflowStarter;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private BulkPaymentService bulkPaymentService;
+
+    @BeforeEach
+    void setUp() {
+        BulkPaymentCustomProperties properties = new BulkPaymentCustomProperties();
+        properties.setMaxInFlight(2);
+        bulkPaymentService = new BulkPaymentService(paymentWorkflowStarter, properties, objectMapper,
+                idempotencyService, Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    void submitPayments_WithJsonArray_ShouldStartEachPayment() throws Exception {
+        // Arrange
+        when(paymentWorkflowStarter.startAsync(any(PaymentDetails.class)))
+                .thenReturn(CompletableFuture.completedFuture(WorkflowExecution.getDefaultInstance()));
+        String body = "[" + payment("REF-1") + "," + payment("REF-2") + "," + payment("REF-3") + "]";
+
+        // Act
+        List<JsonNode> results = submit(body);
+
+        // Assert
+        assertEquals(3, results.size());
+        results.forEach(result -> {
+            assertEquals("ACTC", result.get("status").asText());
+            assertNotNull(result.get("paymentId"));
+        });
+        verify(paymentWorkflowStarter, times(3)).startAsync(any(PaymentDetails.class));
+    }
+
+    @Test
+    void submitPayments_WithNdjson_ShouldRejectInvalidAndDuplicateItems() throws Exception {
+        // Arrange
+        when(paymentWorkflowStarter.startAsync(any(PaymentDetails.class)))
+                .thenReturn(CompletableFuture.completedFuture(WorkflowExecution.getDefaultInstance()));
+        String body = payment("REF-1") + "\n" + payment("REF-1") + "\n" + payment("") + "\n";
+
+        // Act
+        List<JsonNode> results = submit(body);
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals("ACTC", statusOf(results, 0));
+        assertEquals("RJCT", statusOf(results, 1));
+        assertEquals("RJCT", statusOf(results, 2));
+        verify(paymentWorkflowStarter, times(1)).startAsync(any(PaymentDetails.class));
+    }
+
+    @Test
+    void submitPayments_WithConstraintViolations_ShouldRejectItemWithoutStarting() throws Exception {
+        // Arrange
+        String body = payment("REF-1").replace("100.5", "0").replace("\"USD\"", "\"\"");
+
+        // Act
+        List<JsonNode> results = submit(body);
+
+        // Assert
+        assertEquals(1, results.size());
+        assertEquals("RJCT", statusOf(results, 0));
+        String error = results.get(0).get("error").asText();
+        assertTrue(error.contains("amount"));
+        assertTrue(error.contains("currency"));
+        verify(paymentWorkflowStarter, never()).startAsync(any(PaymentDetails.class));
+    }
+
+    @Test
+    void submitPayments_WhenStartFails_ShouldReportItemError() throws Exception {
+        // Arrange
+        when(paymentWorkflowStarter.startAsync(any(PaymentDetails.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("unavailable")));
+
+        // Act
+        List<JsonNode> results = submit(payment("REF-1"));
+
+        // Assert
+        assertEquals(1, results.size());
+        assertEquals("RJCT", statusOf(results, 0));
+        assertNotNull(results.get(0).get("error"));
+    }
+
+    @Test
+    void submitPayments_WithPreviouslySubmittedReference_ShouldReturnOriginalPayment() throws Exception {
+        // Arrange
+        when(idempotencyService.find(anyString(), anyString())).thenReturn(Optional.of(new IdempotencyRecord(
+                "REF-1", "request-hash", "original-uetr", PaymentResponse.StatusEnum.ACTC, 201, Instant.now())));
+
+        // Act
+        List<JsonNode> results = submit(payment("REF-1"));
+
+        // Assert
+        assertEquals(1, results.size());
+        assertEquals("original-uetr", results.get(0).get("paymentId").asText());
+        assertEquals("ACTC", statusOf(results, 0));
+        verify(paymentWorkflowStarter, never()).startAsync(any(PaymentDetails.class));
+    }
+
+    private List<JsonNode> submit(String body) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        bulkPaymentService.submitPayments(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), output, "123456");
+
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                results.add(objectMapper.readTree(line));
+            }
+        }
+        return results;
+    }
+
+    private String statusOf(List<JsonNode> results, int index) {
+        return results.stream()
+                .filter(result -> result.get("index").asInt() == index)
+                .findFirst()
+                .map(result -> result.get("status").asText())
+                .orElseThrow();
+    }
+
+    private String payment(String reference) {
+        return String.format(PAYMENT_TEMPLATE, reference);
+    }
+}
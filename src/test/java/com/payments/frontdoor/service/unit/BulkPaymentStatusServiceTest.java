@@ -0,0 +1,212 @@
+package com.payments.frontdoor.service.unit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+import com.payments.frontdoor.config.BulkPaymentCustomProperties;
+import com.payments.frontdoor.config.TemporalWorkflowConfig;
+import com.payments.frontdoor.exception.PaymentValidationException;
+import com.payments.frontdoor.model.PaymentPriority;
+import com.payments.frontdoor.service.BulkPaymentStatusService;
+import com.payments.frontdoor.service.PaymentStatusCache;
+import com.payments.frontdoor.swagger.model.PaymentStatusQuery;
+import io.temporal.api.common.v1.WorkflowExecution;
+import io.temporal.api.common.v1.WorkflowType;
+import io.temporal.api.enums.v1.WorkflowExecutionStatus;
+import io.temporal.api.workflow.v1.WorkflowExecutionInfo;
+import io.temporal.api.workflowservice.v1.ListWorkflowExecutionsRequest;
+import io.temporal.api.workflowservice.v1.ListWorkflowExecutionsResponse;
+import io.temporal.api.workflowservice.v1.WorkflowServiceGrpc;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowClientOptions;
+import io.temporal.serviceclient.WorkflowServiceStubs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkPaymentStatusServiceTest {
+
+    @Mock
+    private WorkflowClient workflowClient;
+
+    @Mock
+    private WorkflowServiceStubs service;
+
+    @Mock
+    private WorkflowServiceGrpc.WorkflowServiceBlockingStub blockingStub;
+
+    @Mock
+    private TemporalWorkflowConfig temporalWorkflowConfig;
+
+    @Mock
+    private PaymentStatusCache paymentStatusCache;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private BulkPaymentStatusService bulkPaymentStatusService;
+
+    @BeforeEach
+    void setUp() {
+        BulkPaymentCustomProperties properties = new BulkPaymentCustomProperties();
+        properties.setStatusQueryChunkSize(2);
+        bulkPaymentStatusService = new BulkPaymentStatusService(workflowClient, service, temporalWorkflowConfig,
+                paymentStatusCache, properties, objectMapper);
+    }
+
+    @Test
+    void streamStatuses_WithPaymentIds_ShouldQueryInChunksAndReportMissingIds() throws Exception {
+        // Arrange
+        stubTemporal();
+        when(blockingStub.listWorkflowExecutions(any(ListWorkflowExecutionsRequest.class)))
+                .thenReturn(page(ByteString.EMPTY, execution("uetr-1", WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_COMPLETED)))
+                .thenReturn(page(ByteString.EMPTY, execution("uetr-3", WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_RUNNING)));
+        PaymentStatusQuery query = new PaymentStatusQuery();
+        query.setPaymentIds(List.of("uetr-1", "uetr-2", "uetr-3", "bad id"));
+
+        // Act
+        List<JsonNode> results = stream(query);
+
+        // Assert
+        ArgumentCaptor<ListWorkflowExecutionsRequest> requests = ArgumentCaptor.forClass(ListWorkflowExecutionsRequest.class);
+        verify(blockingStub, times(2)).listWorkflowExecutions(requests.capture());
+        assertEquals("WorkflowId IN ('uetr-1','uetr-2')", requests.getAllValues().get(0).getQuery());
+        assertEquals("WorkflowId IN ('uetr-3')", requests.getAllValues().get(1).getQuery());
+
+        assertEquals(4, results.size());
+        assertEquals("Invalid payment id", errorOf(results, "bad id"));
+        assertEquals("ACSC", statusOf(results, "uetr-1"));
+        assertEquals("Payment not found", errorOf(results, "uetr-2"));
+        assertEquals("ACTC", statusOf(results, "uetr-3"));
+    }
+
+    @Test
+    void streamStatuses_WithFilter_ShouldFollowPages() throws Exception {
+        // Arrange
+        stubTemporal();
+        when(temporalWorkflowConfig.workflowTypeFor(PaymentPriority.HIGH)).thenReturn("HighPriorityWorkflow");
+        when(blockingStub.listWorkflowExecutions(any(ListWorkflowExecutionsRequest.class)))
+                .thenReturn(page(ByteString.copyFromUtf8("next"), execution("uetr-1", WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED)))
+                .thenReturn(page(ByteString.EMPTY, execution("uetr-2", WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED)));
+        PaymentStatusQuery query = new PaymentStatusQuery();
+        query.setPriority(PaymentStatusQuery.PriorityEnum.HIGH);
+        query.setStatus(PaymentStatusQuery.StatusEnum.RJCT);
+        query.setStartedFrom(OffsetDateTime.parse("2025-01-01T00:00:00Z"));
+
+        // Act
+        List<JsonNode> results = stream(query);
+
+        // Assert
+        ArgumentCaptor<ListWorkflowExecutionsRequest> requests = ArgumentCaptor.forClass(ListWorkflowExecutionsRequest.class);
+        verify(blockingStub, times(2)).listWorkflowExecutions(requests.capture());
+        assertEquals("WorkflowType IN ('PaymentWorkflow','HighPriorityWorkflow','CrossBoarderPaymentWorkflow')"
+                        + " AND WorkflowType = 'HighPriorityWorkflow'"
+                        + " AND StartTime >= '2025-01-01T00:00:00Z'"
+                        + " AND ExecutionStatus IN ('Failed','Terminated','TimedOut','Canceled')",
+                requests.getAllValues().get(0).getQuery());
+        assertEquals(ByteString.copyFromUtf8("next"), requests.getAllValues().get(1).getNextPageToken());
+        assertEquals(2, results.size());
+    }
+
+    @Test
+    void validate_WithoutIdsOrFilter_ShouldThrow() {
+        // Act & Assert
+        assertThrows(PaymentValidationException.class, () -> bulkPaymentStatusService.validate(new PaymentStatusQuery()));
+    }
+
+    @Test
+    void validate_WithPriorityThatSharesAWorkflowType_ShouldThrow() {
+        // Arrange
+        PaymentStatusQuery low = new PaymentStatusQuery();
+        low.setPriority(PaymentStatusQuery.PriorityEnum.LOW);
+        PaymentStatusQuery normal = new PaymentStatusQuery();
+        normal.setPriority(PaymentStatusQuery.PriorityEnum.NORMAL);
+        PaymentStatusQuery high = new PaymentStatusQuery();
+        high.setPriority(PaymentStatusQuery.PriorityEnum.HIGH);
+
+        // Act & Assert
+        assertThrows(PaymentValidationException.class, () -> bulkPaymentStatusService.validate(low));
+        assertThrows(PaymentValidationException.class, () -> bulkPaymentStatusService.validate(normal));
+        assertDoesNotThrow(() -> bulkPaymentStatusService.validate(high));
+    }
+
+    @Test
+    void streamStatuses_WithTerminatedPayment_ShouldReportRejected() throws Exception {
+        // Arrange
+        stubTemporal();
+        when(blockingStub.listWorkflowExecutions(any(ListWorkflowExecutionsRequest.class)))
+                .thenReturn(page(ByteString.EMPTY, execution("uetr-1", WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_TERMINATED)));
+        PaymentStatusQuery query = new PaymentStatusQuery();
+        query.setPaymentIds(List.of("uetr-1"));
+
+        // Act
+        List<JsonNode> results = stream(query);
+
+        // Assert
+        assertEquals("RJCT", statusOf(results, "uetr-1"));
+    }
+
+    private void stubTemporal() {
+        when(workflowClient.getOptions()).thenReturn(WorkflowClientOptions.newBuilder().setNamespace("default").build());
+        when(service.blockingStub()).thenReturn(blockingStub);
+    }
+
+    private ListWorkflowExecutionsResponse page(ByteString nextPageToken, WorkflowExecutionInfo execution) {
+        return ListWorkflowExecutionsResponse.newBuilder()
+                .addExecutions(execution)
+                .setNextPageToken(nextPageToken)
+                .build();
+    }
+
+    private WorkflowExecutionInfo execution(String workflowId, WorkflowExecutionStatus status) {
+        return WorkflowExecutionInfo.newBuilder()
+                .setExecution(WorkflowExecution.newBuilder().setWorkflowId(workflowId))
+                .setType(WorkflowType.newBuilder().setName("PaymentWorkflow"))
+                .setStatus(status)
+                .setStartTime(Timestamp.getDefaultInstance())
+                .build();
+    }
+
+    private List<JsonNode> stream(PaymentStatusQuery query) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        bulkPaymentStatusService.streamStatuses(query, output);
+
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                results.add(objectMapper.readTree(line));
+            }
+        }
+        return results;
+    }
+
+    private String statusOf(List<JsonNode> results, String paymentId) {
+        return lineFor(results, paymentId).get("status").asText();
+    }
+
+    private String errorOf(List<JsonNode> results, String paymentId) {
+        return lineFor(results, paymentId).get("error").asText();
+    }
+
+    private JsonNode lineFor(List<JsonNode> results, String paymentId) {
+        return results.stream()
+                .filter(result -> paymentId.equals(result.get("paymentId").asText()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
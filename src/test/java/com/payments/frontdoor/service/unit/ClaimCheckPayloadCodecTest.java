@@ -0,0 +1,93 @@
+package com.payments.frontdoor.service.unit;
+
+import com.google.protobuf.ByteString;
+import com.payments.frontdoor.service.ClaimCheckPayloadCodec;
+import com.payments.frontdoor.service.FileSystemPayloadStore;
+import com.payments.frontdoor.service.PayloadStore;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.common.converter.EncodingKeys;
+import io.temporal.payload.codec.PayloadCodecException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ClaimCheckPayloadCodecTest {
+
+    private static final Payload LARGE = payload("\"accountNumber\":\"123456789\",".repeat(40));
+
+    @TempDir
+    Path storeDirectory;
+
+    @Test
+    void encode_BelowThreshold_ShouldPassThrough() {
+        // Arrange
+        PayloadStore payloadStore = mock(PayloadStore.class);
+        ClaimCheckPayloadCodec codec = new ClaimCheckPayloadCodec(payloadStore, 256, 10);
+        Payload payload = payload("small");
+
+        // Act
+        List<Payload> encoded = codec.encode(List.of(payload));
+
+        // Assert
+        assertSame(payload, encoded.get(0));
+        verify(payloadStore, never()).save(anyString(), any());
+    }
+
+    @Test
+    void encode_SamePayloadTwice_ShouldStoreOnceAndWriteHashReferences() {
+        // Arrange
+        PayloadStore payloadStore = spy(new FileSystemPayloadStore(storeDirectory));
+        ClaimCheckPayloadCodec codec = new ClaimCheckPayloadCodec(payloadStore, 256, 10);
+
+        // Act
+        List<Payload> encoded = codec.encode(List.of(LARGE, LARGE));
+
+        // Assert
+        assertEquals(encoded.get(0), encoded.get(1));
+        assertEquals(ClaimCheckPayloadCodec.ENCODING,
+                encoded.get(0).getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY).toStringUtf8());
+        assertEquals(32, encoded.get(0).getData().size());
+        verify(payloadStore, times(1)).save(anyString(), any());
+    }
+
+    @Test
+    void decode_OnAnotherWorker_ShouldResolveFromStore() {
+        // Arrange
+        Payload reference = new ClaimCheckPayloadCodec(new FileSystemPayloadStore(storeDirectory), 256, 10)
+                .encode(List.of(LARGE)).get(0);
+        ClaimCheckPayloadCodec otherWorker = new ClaimCheckPayloadCodec(new FileSystemPayloadStore(storeDirectory),
+                256, 10);
+
+        // Act
+        Payload decoded = otherWorker.decode(List.of(reference)).get(0);
+
+        // Assert
+        assertEquals(LARGE, decoded);
+    }
+
+    @Test
+    void decode_WhenContentMissing_ShouldThrow() {
+        // Arrange
+        Payload reference = new ClaimCheckPayloadCodec(mock(PayloadStore.class), 256, 10)
+                .encode(List.of(LARGE)).get(0);
+        ClaimCheckPayloadCodec otherWorker = new ClaimCheckPayloadCodec(new FileSystemPayloadStore(storeDirectory),
+                256, 10);
+
+        // Act & Assert
+        assertThrows(PayloadCodecException.class, () -> otherWorker.decode(List.of(reference)));
+    }
+
+    private static Payload payload(String json) {
+        return Payload.newBuilder()
+                .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, ByteString.copyFromUtf8("json/plain"))
+                .setData(ByteString.copyFromUtf8(json))
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.payments.frontdoor.service.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.payments.frontdoor.config.IdempotencyCustomProperties;
+import com.payments.frontdoor.exception.IdempotencyKeyReuseException;
+import com.payments.frontdoor.model.IdempotencyRecord;
+import com.payments.frontdoor.service.FileSystemIdempotencyStore;
+import com.payments.frontdoor.service.IdempotencyService;
+import com.payments.frontdoor.swagger.model.Account;
+import com.payments.frontdoor.swagger.model.PaymentRequest;
+import com.payments.frontdoor.swagger.model.PaymentResponse;
+import com.payments.frontdoor.util.PaymentUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyServiceTest {
+
+    @TempDir
+    Path storeDirectory;
+
+    private FileSystemIdempotencyStore store;
+    private IdempotencyCustomProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        store = new FileSystemIdempotencyStore(storeDirectory, objectMapper, Duration.ofHours(1), Duration.ofHours(1));
+        properties = new IdempotencyCustomProperties();
+        properties.setCacheSize(2);
+        properties.setRetention(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void find_AfterRemember_ShouldReturnOriginalPayment() {
+        // Arrange
+        IdempotencyService idempotencyService = new IdempotencyService(store, properties);
+        idempotencyService.remember("INV-1", "hash-1", "uetr-1", PaymentResponse.StatusEnum.ACTC, HttpStatus.CREATED);
+
+        // Act
+        Optional<IdempotencyRecord> result = idempotencyService.find("INV-1", "hash-1");
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals("uetr-1", result.get().getPaymentId());
+        assertEquals(HttpStatus.CREATED.value(), result.get().getHttpStatus());
+    }
+
+    @Test
+    void find_AfterRestart_ShouldReadFromStore() {
+        // Arrange
+        new IdempotencyService(store, properties)
+                .remember("INV-1", "hash-1", "uetr-1", PaymentResponse.StatusEnum.ACSP, HttpStatus.OK);
+        IdempotencyService restarted = new IdempotencyService(store, properties);
+
+        // Act
+        Optional<IdempotencyRecord> result = restarted.find("INV-1", "hash-1");
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(PaymentResponse.StatusEnum.ACSP, result.get().getStatus());
+    }
+
+    @Test
+    void find_WithExpiredRecord_ShouldReturnEmpty() {
+        // Arrange
+        store.save(new IdempotencyRecord("INV-1", "hash-1", "uetr-1", PaymentResponse.StatusEnum.ACTC, 201,
+                Instant.now().minus(Duration.ofHours(2))));
+        IdempotencyService idempotencyService = new IdempotencyService(store, properties);
+
+        // Act
+        Optional<IdempotencyRecord> result = idempotencyService.find("INV-1", "hash-1");
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void find_WithDifferentRequestHash_ShouldRejectReusedKey() {
+        // Arrange
+        IdempotencyService idempotencyService = new IdempotencyService(store, properties);
+        idempotencyService.remember("INV-1", "hash-1", "uetr-1", PaymentResponse.StatusEnum.ACTC, HttpStatus.CREATED);
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyReuseException.class, () -> idempotencyService.find("INV-1", "hash-2"));
+    }
+
+    @Test
+    void purgeExpired_ShouldDeleteRecordsOlderThanRetention() throws Exception {
+        // Arrange
+        store.save(new IdempotencyRecord("INV-1", "hash-1", "uetr-1", PaymentResponse.StatusEnum.ACTC, 201,
+                Instant.now()));
+        try (Stream<Path> files = Files.list(storeDirectory)) {
+            for (Path file : files.toList()) {
+                Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+            }
+        }
+        store.save(new IdempotencyRecord("INV-2", "hash-2", "uetr-2", PaymentResponse.StatusEnum.ACTC, 201,
+                Instant.now()));
+
+        // Act
+        int purged = store.purgeExpired();
+
+        // Assert
+        assertEquals(1, purged);
+        assertTrue(store.find("INV-1").isEmpty());
+        assertTrue(store.find("INV-2").isPresent());
+    }
+
+    @Test
+    void deriveUetr_WithSameKey_ShouldReturnSameUetr() {
+        // Act & Assert
+        assertEquals(PaymentUtil.deriveUetr("INV-1"), PaymentUtil.deriveUetr("INV-1"));
+        assertNotEquals(PaymentUtil.deriveUetr("INV-1"), PaymentUtil.deriveUetr("INV-2"));
+    }
+
+    @Test
+    void scopedIdempotencyKey_WithDifferentDebtors_ShouldNotCollide() {
+        // Arrange
+        PaymentRequest first = paymentRequest("111111111");
+        PaymentRequest second = paymentRequest("222222222");
+
+        // Act & Assert
+        assertNotEquals(PaymentUtil.scopedIdempotencyKey(first, "INV-1"),
+                PaymentUtil.scopedIdempotencyKey(second, "INV-1"));
+        assertEquals(PaymentUtil.requestHash(first), PaymentUtil.requestHash(paymentRequest("111111111")));
+        assertNotEquals(PaymentUtil.requestHash(first), PaymentUtil.requestHash(second));
+    }
+
+    private static PaymentRequest paymentRequest(String debtorAccount) {
+        PaymentRequest request = new PaymentRequest();
+        request.setPaymentReference("INV-1");
+        request.setAmount(BigDecimal.TEN);
+        request.setCurrency("EUR");
+        Account debtor = new Account();
+        debtor.setAccountNumber(debtorAccount);
+        request.setDebtor(debtor);
+        return request;
+    }
+}
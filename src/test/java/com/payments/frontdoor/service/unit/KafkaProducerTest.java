@@ -5,14 +5,18 @@ package com.payments.frontdoor.service.unit;
 import com.payments.frontdoor.avro.PaymentRecord;
 import com.payments.frontdoor.service.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -53,6 +57,26 @@ class KafkaProducerTest {
         verify(kafkaTemplate).send(new ProducerRecord<>(topic, key, paymentRecord));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendMessage_WithHeaders_ShouldAddThemToRecord() {
+        // Arrange
+        String topic = "test-topic";
+        String key = "test-key";
+        PaymentRecord paymentRecord = mock(PaymentRecord.class);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+
+        // Act
+        kafkaProducer.sendMessage(topic, key, paymentRecord, Map.of("x-payment-priority", "HIGH"));
+
+        // Assert
+        ArgumentCaptor<ProducerRecord<String, PaymentRecord>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        Header priority = captor.getValue().headers().lastHeader("x-payment-priority");
+        assertNotNull(priority);
+        assertEquals("HIGH", new String(priority.value(), StandardCharsets.UTF_8));
+    }
+
 
     @Test
     @SuppressWarnings("unchecked")
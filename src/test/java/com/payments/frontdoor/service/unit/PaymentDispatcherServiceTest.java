@@ -5,10 +5,13 @@ package com.payments.frontdoor.service.unit;
 import com.payments.frontdoor.activities.PaymentStepStatus;
 import com.payments.frontdoor.avro.Account;
 import com.payments.frontdoor.avro.PaymentRecord;
+import com.payments.frontdoor.metrics.PaymentStepMetrics;
 import com.payments.frontdoor.service.KafkaProducer;
 import com.payments.frontdoor.service.PaymentDispatcherService;
 import com.payments.frontdoor.service.PaymentTopicService;
 import com.payments.frontdoor.model.PaymentInstruction;
+import com.payments.frontdoor.model.PaymentPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,7 +20,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,21 +37,27 @@ class PaymentDispatcherServiceTest {
     @Mock
     private PaymentTopicService paymentTopicService;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private PaymentDispatcherService paymentDispatcherService;
 
     @BeforeEach
     void setUp() {
-        paymentDispatcherService = new PaymentDispatcherService(kafkaProducer, paymentTopicService);
+        paymentDispatcherService = new PaymentDispatcherService(kafkaProducer, paymentTopicService,
+                new PaymentStepMetrics(meterRegistry));
     }
 
     @Test
     void dispatchPayment_ShouldSendKafkaMessage() {
         // Arrange
         PaymentInstruction instruction = createSamplePaymentInstruction();
+        instruction.setPriority(PaymentPriority.HIGH);
         PaymentStepStatus status = PaymentStepStatus.INITIATED;
         String expectedTopic = "payment.initiated";
 
         when(paymentTopicService.getTopicName(status)).thenReturn(expectedTopic);
+        when(kafkaProducer.sendMessage(anyString(), anyString(), any(PaymentRecord.class), anyMap()))
+                .thenReturn(CompletableFuture.completedFuture(null));
 
         // Act
         paymentDispatcherService.dispatchPayment(instruction, status, null);
@@ -55,8 +67,38 @@ class PaymentDispatcherServiceTest {
         verify(kafkaProducer).sendMessage(
                 eq(expectedTopic),
                 eq(instruction.getPaymentId()),
-                argThat(paymentRecord -> validatePaymentRecord(paymentRecord, instruction))
+                argThat(paymentRecord -> validatePaymentRecord(paymentRecord, instruction)),
+                eq(Map.of(PaymentStepMetrics.PRIORITY_HEADER, "HIGH"))
         );
+        assertEquals(1, meterRegistry.get(PaymentStepMetrics.DISPATCH_LATENCY)
+                .tag("step", status.name())
+                .tag("priority", "HIGH")
+                .tag("outcome", "success")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void dispatchPayment_WithoutPriority_ShouldTagDispatchAsUnknown() {
+        // Arrange
+        PaymentInstruction instruction = createSamplePaymentInstruction();
+        PaymentStepStatus status = PaymentStepStatus.CLEARED;
+
+        when(paymentTopicService.getTopicName(status)).thenReturn("payment.cleared");
+        when(kafkaProducer.sendMessage(anyString(), anyString(), any(PaymentRecord.class), anyMap()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        paymentDispatcherService.dispatchPayment(instruction, status, null);
+
+        // Assert
+        verify(kafkaProducer).sendMessage(eq("payment.cleared"), eq(instruction.getPaymentId()),
+                any(PaymentRecord.class), eq(Map.of()));
+        assertEquals(1, meterRegistry.get(PaymentStepMetrics.DISPATCH_LATENCY)
+                .tag("step", status.name())
+                .tag("priority", PaymentStepMetrics.UNKNOWN_PRIORITY)
+                .timer()
+                .count());
     }
 
     private boolean validatePaymentRecord(PaymentRecord paymentRecord, PaymentInstruction instruction) {
@@ -0,0 +1,68 @@
+package com.payments.frontdoor.service.unit;
+
+import com.google.protobuf.Timestamp;
+import com.payments.frontdoor.config.StatusCacheCustomProperties;
+import com.payments.frontdoor.model.WorkflowResult;
+import com.payments.frontdoor.service.PaymentStatusCache;
+import io.temporal.api.enums.v1.WorkflowExecutionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentStatusCacheTest {
+
+    private PaymentStatusCache paymentStatusCache;
+
+    @BeforeEach
+    void setUp() {
+        StatusCacheCustomProperties properties = new StatusCacheCustomProperties();
+        properties.setMaxEntries(2);
+        properties.setTerminalTtl(Duration.ofHours(1));
+        properties.setRunningTtl(Duration.ZERO.minusMillis(1));
+        paymentStatusCache = new PaymentStatusCache(properties);
+    }
+
+    @Test
+    void get_WithTerminalResult_ShouldReturnCachedResult() {
+        // Arrange
+        WorkflowResult completed = result(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_COMPLETED);
+        paymentStatusCache.put("uetr-1", false, completed);
+
+        // Act & Assert
+        assertSame(completed, paymentStatusCache.get("uetr-1", false).orElseThrow());
+        assertTrue(paymentStatusCache.get("uetr-1", true).isEmpty());
+    }
+
+    @Test
+    void get_WithExpiredRunningResult_ShouldReturnEmpty() {
+        // Arrange
+        paymentStatusCache.put("uetr-1", false, result(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_RUNNING));
+
+        // Act & Assert
+        assertTrue(paymentStatusCache.get("uetr-1", false).isEmpty());
+    }
+
+    @Test
+    void put_BeyondMaxEntries_ShouldEvictLeastRecentlyUsed() {
+        // Arrange
+        paymentStatusCache.put("uetr-1", false, result(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_COMPLETED));
+        paymentStatusCache.put("uetr-2", false, result(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_COMPLETED));
+        paymentStatusCache.get("uetr-1", false);
+
+        // Act
+        paymentStatusCache.put("uetr-3", false, result(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED));
+
+        // Assert
+        assertTrue(paymentStatusCache.get("uetr-1", false).isPresent());
+        assertTrue(paymentStatusCache.get("uetr-2", false).isEmpty());
+        assertTrue(paymentStatusCache.get("uetr-3", false).isPresent());
+    }
+
+    private WorkflowResult result(WorkflowExecutionStatus status) {
+        return new WorkflowResult(status, Timestamp.getDefaultInstance(), Timestamp.getDefaultInstance(),
+                "PaymentWorkflow", null);
+    }
+}
@@ -0,0 +1,62 @@
+package com.payments.frontdoor.service.unit;
+
+import com.payments.frontdoor.config.WorkerTuningCustomProperties;
+import com.payments.frontdoor.service.WorkerTuningService;
+import io.temporal.worker.WorkerOptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkerTuningServiceTest {
+
+    private WorkerTuningService workerTuningService;
+
+    @BeforeEach
+    void setUp() {
+        WorkerTuningCustomProperties properties = new WorkerTuningCustomProperties();
+        WorkerTuningCustomProperties.Worker high = new WorkerTuningCustomProperties.Worker();
+        high.setActivitySlots(400);
+        WorkerTuningCustomProperties.Worker normal = new WorkerTuningCustomProperties.Worker();
+        normal.setMode(WorkerTuningCustomProperties.Mode.RESOURCE_BASED);
+        properties.getWorkers().put("high-payment-worker", high);
+        properties.getWorkers().put("normal-payment-worker", normal);
+        workerTuningService = new WorkerTuningService(properties);
+    }
+
+    @Test
+    void customize_ShouldSetTunerAndPollers() {
+        // Act
+        WorkerOptions options = workerTuningService.customize(WorkerOptions.newBuilder(), "high-payment-worker")
+                .build();
+
+        // Assert
+        assertNotNull(options.getWorkerTuner());
+        assertEquals(5, options.getMaxConcurrentActivityTaskPollers());
+        assertEquals(400, workerTuningService.currentSlots().get("high-payment-worker").activities().limit());
+    }
+
+    @Test
+    void resize_ShouldChangeOnlyGivenLimits() {
+        // Arrange
+        workerTuningService.customize(WorkerOptions.newBuilder(), "high-payment-worker");
+
+        // Act
+        WorkerTuningService.WorkerSlots slots = workerTuningService.resize("high-payment-worker", null, 100, null);
+
+        // Assert
+        assertEquals(100, slots.activities().limit());
+        assertEquals(200, slots.workflowTasks().limit());
+    }
+
+    @Test
+    void resize_ForResourceBasedWorker_ShouldReject() {
+        // Arrange
+        workerTuningService.customize(WorkerOptions.newBuilder(), "normal-payment-worker");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> workerTuningService.resize("normal-payment-worker", null, 100, null));
+        assertFalse(workerTuningService.currentSlots().containsKey("normal-payment-worker"));
+    }
+}
@@ -0,0 +1,173 @@
+package com.payments.frontdoor.util.unit;
+
+import com.google.protobuf.Timestamp;
+import com.payments.frontdoor.model.ActivityResult;
+import com.payments.frontdoor.util.ActivityTimelineAccumulator;
+import com.payments.frontdoor.workflows.HighPriorityWorkflowImpl;
+import io.temporal.api.common.v1.ActivityType;
+import io.temporal.api.enums.v1.EventType;
+import io.temporal.api.failure.v1.Failure;
+import io.temporal.api.history.v1.ActivityTaskCompletedEventAttributes;
+import io.temporal.api.history.v1.ActivityTaskFailedEventAttributes;
+import io.temporal.api.history.v1.ActivityTaskScheduledEventAttributes;
+import io.temporal.api.history.v1.ActivityTaskStartedEventAttributes;
+import io.temporal.api.history.v1.HistoryEvent;
+import io.temporal.api.history.v1.MarkerRecordedEventAttributes;
+import io.temporal.common.converter.DefaultDataConverter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActivityTimelineAccumulatorTest {
+
+    @Test
+    void accept_WithCompletedAndFailedActivities_ShouldReportDurationsAndAttempts() {
+        // Arrange
+        ActivityTimelineAccumulator accumulator = new ActivityTimelineAccumulator();
+
+        // Act
+        accumulator.accept(scheduled(5, "InitiatePayment", 100));
+        accumulator.accept(started(6, 5, 1, 100));
+        accumulator.accept(completed(7, 5, 101));
+        accumulator.accept(scheduled(8, "AuthorizePayment", 102));
+        accumulator.accept(started(9, 8, 3, 110));
+        accumulator.accept(failed(10, 8, 112));
+
+        // Assert
+        List<ActivityResult> timeline = accumulator.timeline();
+        assertEquals(2, timeline.size());
+        assertEquals("InitiatePayment", timeline.get(0).getActivityName());
+        assertEquals("successful", timeline.get(0).getStatus());
+        assertEquals(1_000L, timeline.get(0).getDurationMillis());
+        assertEquals(1, timeline.get(0).getAttempts());
+        assertEquals("AuthorizePayment", timeline.get(1).getActivityName());
+        assertEquals("failed", timeline.get(1).getStatus());
+        assertEquals(10_000L, timeline.get(1).getDurationMillis());
+        assertEquals(3, timeline.get(1).getAttempts());
+        assertFalse(accumulator.isWorkflowClosed());
+    }
+
+    @Test
+    void accept_AcrossManyScheduledActivities_ShouldKeepIndexSearchable() {
+        // Arrange
+        ActivityTimelineAccumulator accumulator = new ActivityTimelineAccumulator();
+        for (int i = 0; i < 100; i++) {
+            accumulator.accept(scheduled(i * 2 + 1, "Activity" + i, i));
+        }
+
+        // Act
+        accumulator.accept(completed(500, 99, 200));
+
+        // Assert
+        assertEquals("Activity49", accumulator.timeline().get(0).getActivityName());
+    }
+
+    @Test
+    void accept_WithWorkflowCloseEvent_ShouldMarkTimelineFinal() {
+        // Arrange
+        ActivityTimelineAccumulator accumulator = new ActivityTimelineAccumulator();
+
+        // Act
+        accumulator.accept(HistoryEvent.newBuilder()
+                .setEventId(20)
+                .setEventType(EventType.EVENT_TYPE_WORKFLOW_EXECUTION_COMPLETED)
+                .build());
+
+        // Assert
+        assertTrue(accumulator.isWorkflowClosed());
+        assertTrue(accumulator.timeline().isEmpty());
+    }
+
+    @Test
+    void accept_WithInlineInitiationAndLocalActivities_ShouldListEveryStep() {
+        // Arrange
+        ActivityTimelineAccumulator accumulator = new ActivityTimelineAccumulator();
+
+        // Act
+        accumulator.accept(event(1, EventType.EVENT_TYPE_WORKFLOW_EXECUTION_STARTED, 100).build());
+        accumulator.accept(marker(5, "Version", 101, Map.of("changeId", HighPriorityWorkflowImpl.LOCAL_STEPS_CHANGE,
+                "version", 1), false));
+        accumulator.accept(marker(20, "LocalActivity", 110, Map.of("type", "ClearAndSettlePayment",
+                "meta", Map.of("firstSkd", 108_000L, "atpt", 2)), false));
+        accumulator.accept(marker(21, "LocalActivity", 110, Map.of("type", "SendNotification"), true));
+        accumulator.accept(marker(22, "SideEffect", 110, Map.of(), false));
+
+        // Assert
+        List<ActivityResult> timeline = accumulator.timeline();
+        assertEquals(3, timeline.size());
+        assertEquals(ActivityTimelineAccumulator.INITIATE_PAYMENT, timeline.get(0).getActivityName());
+        assertEquals("successful", timeline.get(0).getStatus());
+        assertEquals(1_000L, timeline.get(0).getDurationMillis());
+        assertEquals("ClearAndSettlePayment", timeline.get(1).getActivityName());
+        assertEquals(2_000L, timeline.get(1).getDurationMillis());
+        assertEquals(2, timeline.get(1).getAttempts());
+        assertEquals("SendNotification", timeline.get(2).getActivityName());
+        assertEquals("failed", timeline.get(2).getStatus());
+        assertEquals(1, timeline.get(2).getAttempts());
+    }
+
+    @Test
+    void accept_WithUnrelatedVersionMarker_ShouldNotAddInitiation() {
+        // Arrange
+        ActivityTimelineAccumulator accumulator = new ActivityTimelineAccumulator();
+
+        // Act
+        accumulator.accept(marker(5, "Version", 101, Map.of("changeId", "some-other-change", "version", 1), false));
+
+        // Assert
+        assertTrue(accumulator.timeline().isEmpty());
+    }
+
+    private HistoryEvent marker(long eventId, String markerName, long seconds, Map<String, Object> details,
+                                boolean failed) {
+        MarkerRecordedEventAttributes.Builder attributes = MarkerRecordedEventAttributes.newBuilder()
+                .setMarkerName(markerName);
+        details.forEach((key, value) -> attributes.putDetails(key,
+                DefaultDataConverter.STANDARD_INSTANCE.toPayloads(value).orElseThrow()));
+        if (failed) {
+            attributes.setFailure(Failure.newBuilder().setMessage("Kafka unavailable"));
+        }
+        return event(eventId, EventType.EVENT_TYPE_MARKER_RECORDED, seconds)
+                .setMarkerRecordedEventAttributes(attributes)
+                .build();
+    }
+
+    private HistoryEvent scheduled(long eventId, String activityName, long seconds) {
+        return event(eventId, EventType.EVENT_TYPE_ACTIVITY_TASK_SCHEDULED, seconds)
+                .setActivityTaskScheduledEventAttributes(ActivityTaskScheduledEventAttributes.newBuilder()
+                        .setActivityType(ActivityType.newBuilder().setName(activityName)))
+                .build();
+    }
+
+    private HistoryEvent started(long eventId, long scheduledEventId, int attempt, long seconds) {
+        return event(eventId, EventType.EVENT_TYPE_ACTIVITY_TASK_STARTED, seconds)
+                .setActivityTaskStartedEventAttributes(ActivityTaskStartedEventAttributes.newBuilder()
+                        .setScheduledEventId(scheduledEventId)
+                        .setAttempt(attempt))
+                .build();
+    }
+
+    private HistoryEvent completed(long eventId, long scheduledEventId, long seconds) {
+        return event(eventId, EventType.EVENT_TYPE_ACTIVITY_TASK_COMPLETED, seconds)
+                .setActivityTaskCompletedEventAttributes(ActivityTaskCompletedEventAttributes.newBuilder()
+                        .setScheduledEventId(scheduledEventId))
+                .build();
+    }
+
+    private HistoryEvent failed(long eventId, long scheduledEventId, long seconds) {
+        return event(eventId, EventType.EVENT_TYPE_ACTIVITY_TASK_FAILED, seconds)
+                .setActivityTaskFailedEventAttributes(ActivityTaskFailedEventAttributes.newBuilder()
+                        .setScheduledEventId(scheduledEventId))
+                .build();
+    }
+
+    private HistoryEvent.Builder event(long eventId, EventType eventType, long seconds) {
+        return HistoryEvent.newBuilder()
+                .setEventId(eventId)
+                .setEventType(eventType)
+                .setEventTime(Timestamp.newBuilder().setSeconds(seconds));
+    }
+}
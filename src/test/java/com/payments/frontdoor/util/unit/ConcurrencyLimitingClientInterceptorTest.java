@@ -0,0 +1,140 @@
+package com.payments.frontdoor.util.unit;
+
+import com.payments.frontdoor.exception.PaymentServiceUnavailableException;
+import com.payments.frontdoor.util.ConcurrencyLimitingClientInterceptor;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.temporal.api.workflowservice.v1.StartWorkflowExecutionRequest;
+import io.temporal.api.workflowservice.v1.StartWorkflowExecutionResponse;
+import io.temporal.api.workflowservice.v1.WorkflowServiceGrpc;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitingClientInterceptorTest {
+
+    @Mock
+    private Channel channel;
+
+    @Mock
+    private ClientCall<StartWorkflowExecutionRequest, StartWorkflowExecutionResponse> delegate;
+
+    @Mock
+    private ClientCall<StartWorkflowExecutionRequest, StartWorkflowExecutionResponse> queuedDelegate;
+
+    @Mock
+    private ClientCall.Listener<StartWorkflowExecutionResponse> listener;
+
+    private final ConcurrencyLimitingClientInterceptor interceptor = new ConcurrencyLimitingClientInterceptor(
+            1, Set.of("StartWorkflowExecution"), Duration.ZERO);
+
+    @Test
+    void interceptCall_WhenPermitsExhausted_ShouldFailWithoutRetryableStatus() {
+        // Arrange
+        when(channel.newCall(WorkflowServiceGrpc.getStartWorkflowExecutionMethod(), CallOptions.DEFAULT))
+                .thenReturn(delegate);
+        newCall().start(listener, new Metadata());
+
+        // Act
+        ClientCall<StartWorkflowExecutionRequest, StartWorkflowExecutionResponse> rejected = newCall();
+        rejected.start(listener, new Metadata());
+        rejected.sendMessage(StartWorkflowExecutionRequest.getDefaultInstance());
+
+        // Assert
+        ArgumentCaptor<Status> status = ArgumentCaptor.forClass(Status.class);
+        verify(listener).onClose(status.capture(), any(Metadata.class));
+        assertEquals(Status.Code.FAILED_PRECONDITION, status.getValue().getCode());
+        assertTrue(ConcurrencyLimitingClientInterceptor.isRejected(status.getValue().asRuntimeException()));
+        verify(delegate, times(1)).start(any(), any(Metadata.class));
+        verify(delegate, never()).sendMessage(any());
+    }
+
+    @Test
+    void translateRejection_ShouldOnlyTranslateCallsRejectedForLackOfPermits() {
+        // Arrange
+        StatusRuntimeException rejected = Status.FAILED_PRECONDITION
+                .withDescription(ConcurrencyLimitingClientInterceptor.REJECTED_DESCRIPTION)
+                .asRuntimeException();
+        StatusRuntimeException otherPrecondition = Status.FAILED_PRECONDITION
+                .withDescription("Namespace is not active")
+                .asRuntimeException();
+
+        // Act & Assert
+        assertInstanceOf(PaymentServiceUnavailableException.class, ConcurrencyLimitingClientInterceptor
+                .translateRejection(new IllegalStateException("start failed", rejected)));
+        assertSame(otherPrecondition, ConcurrencyLimitingClientInterceptor.translateRejection(otherPrecondition));
+    }
+
+    @Test
+    void interceptCall_WhenCallCloses_ShouldReleasePermit() {
+        // Arrange
+        when(channel.newCall(WorkflowServiceGrpc.getStartWorkflowExecutionMethod(), CallOptions.DEFAULT))
+                .thenReturn(delegate);
+        newCall().start(listener, new Metadata());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ClientCall.Listener<StartWorkflowExecutionResponse>> wrapped =
+                ArgumentCaptor.forClass(ClientCall.Listener.class);
+        verify(delegate).start(wrapped.capture(), any(Metadata.class));
+
+        // Act
+        wrapped.getValue().onClose(Status.OK, new Metadata());
+
+        // Assert
+        assertEquals(1, interceptor.availablePermits());
+    }
+
+    @Test
+    void interceptCall_WhenPermitsExhausted_ShouldQueueCallUntilPermitReleased() {
+        // Arrange
+        ConcurrencyLimitingClientInterceptor queueing = new ConcurrencyLimitingClientInterceptor(
+                1, Set.of("StartWorkflowExecution"), Duration.ofMinutes(1));
+        when(channel.newCall(WorkflowServiceGrpc.getStartWorkflowExecutionMethod(), CallOptions.DEFAULT))
+                .thenReturn(delegate, queuedDelegate);
+        newCall(queueing).start(listener, new Metadata());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ClientCall.Listener<StartWorkflowExecutionResponse>> wrapped =
+                ArgumentCaptor.forClass(ClientCall.Listener.class);
+        verify(delegate).start(wrapped.capture(), any(Metadata.class));
+
+        // Act
+        ClientCall<StartWorkflowExecutionRequest, StartWorkflowExecutionResponse> queued = newCall(queueing);
+        queued.start(listener, new Metadata());
+        queued.sendMessage(StartWorkflowExecutionRequest.getDefaultInstance());
+        queued.halfClose();
+        int waitingBeforeRelease = queueing.waitingCalls();
+        wrapped.getValue().onClose(Status.OK, new Metadata());
+
+        // Assert
+        assertEquals(1, waitingBeforeRelease);
+        assertEquals(0, queueing.waitingCalls());
+        InOrder inOrder = inOrder(queuedDelegate);
+        inOrder.verify(queuedDelegate).start(any(), any(Metadata.class));
+        inOrder.verify(queuedDelegate).sendMessage(StartWorkflowExecutionRequest.getDefaultInstance());
+        inOrder.verify(queuedDelegate).halfClose();
+        assertEquals(0, queueing.availablePermits());
+    }
+
+    private ClientCall<StartWorkflowExecutionRequest, StartWorkflowExecutionResponse> newCall() {
+        return newCall(interceptor);
+    }
+
+    private ClientCall<StartWorkflowExecutionRequest, StartWorkflowExecutionResponse> newCall(
+            ConcurrencyLimitingClientInterceptor limiter) {
+        return limiter.interceptCall(WorkflowServiceGrpc.getStartWorkflowExecutionMethod(), CallOptions.DEFAULT, channel);
+    }
+}
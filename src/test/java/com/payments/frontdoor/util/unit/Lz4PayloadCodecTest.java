@@ -0,0 +1,105 @@
+package com.payments.frontdoor.util.unit;
+
+import com.google.protobuf.ByteString;
+import com.payments.frontdoor.config.PayloadCustomProperties;
+import com.payments.frontdoor.config.TemporalDataConverterConfig;
+import com.payments.frontdoor.service.PayloadStore;
+import com.payments.frontdoor.util.Lz4PayloadCodec;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.DefaultDataConverter;
+import io.temporal.common.converter.EncodingKeys;
+import io.temporal.payload.codec.PayloadCodecException;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class Lz4PayloadCodecTest {
+
+    private final Lz4PayloadCodec codec = new Lz4PayloadCodec(256);
+
+    @Test
+    void encode_BelowThreshold_ShouldPassThrough() {
+        // Arrange
+        Payload payload = payload("small");
+
+        // Act
+        List<Payload> encoded = codec.encode(List.of(payload));
+
+        // Assert
+        assertSame(payload, encoded.get(0));
+    }
+
+    @Test
+    void encode_AboveThreshold_ShouldCompressAndDecodeToOriginal() {
+        // Arrange
+        Payload payload = payload("\"accountNumber\":\"123456789\",".repeat(40));
+
+        // Act
+        Payload encoded = codec.encode(List.of(payload)).get(0);
+        Payload decoded = codec.decode(List.of(encoded)).get(0);
+
+        // Assert
+        assertEquals(Lz4PayloadCodec.ENCODING,
+                encoded.getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY).toStringUtf8());
+        assertTrue(encoded.getSerializedSize() < payload.getSerializedSize());
+        assertEquals(payload, decoded);
+    }
+
+    @Test
+    void decode_WithoutLz4Encoding_ShouldPassThrough() {
+        // Arrange
+        Payload payload = payload("\"accountNumber\":\"123456789\",".repeat(40));
+
+        // Act
+        List<Payload> decoded = codec.decode(List.of(payload));
+
+        // Assert
+        assertSame(payload, decoded.get(0));
+    }
+
+    @Test
+    void decode_WithCorruptData_ShouldThrow() {
+        // Arrange
+        Payload corrupt = Payload.newBuilder()
+                .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, ByteString.copyFromUtf8(Lz4PayloadCodec.ENCODING))
+                .setData(ByteString.copyFromUtf8("not lz4"))
+                .build();
+
+        // Act & Assert
+        assertThrows(PayloadCodecException.class, () -> codec.decode(List.of(corrupt)));
+    }
+
+    @Test
+    void mainDataConverter_WithCompressionEnabled_ShouldReadPayloadsFromPreviousConverter() {
+        // Arrange
+        PayloadCustomProperties properties = new PayloadCustomProperties();
+        properties.setBinary(true);
+        properties.setCompression(true);
+        properties.setCompressionThreshold(DataSize.ofBytes(256));
+        DataConverter dataConverter = new TemporalDataConverterConfig().mainDataConverter(properties,
+                mock(PayloadStore.class));
+        List<String> references = Collections.nCopies(40, "\"accountNumber\":\"123456789\"");
+        Payload previousPayload = DefaultDataConverter.newDefaultInstance().toPayload(references).orElseThrow();
+
+        // Act
+        List<String> decoded = dataConverter.fromPayload(previousPayload, List.class, List.class);
+
+        // Assert
+        assertEquals(references, decoded);
+        assertEquals(Lz4PayloadCodec.ENCODING, dataConverter.toPayload(references).orElseThrow()
+                .getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY).toStringUtf8());
+    }
+
+    private Payload payload(String json) {
+        return Payload.newBuilder()
+                .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, ByteString.copyFromUtf8("json/plain"))
+                .setData(ByteString.copyFromUtf8(json))
+                .build();
+    }
+}
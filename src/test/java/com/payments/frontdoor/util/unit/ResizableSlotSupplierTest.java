@@ -0,0 +1,71 @@
+package com.payments.frontdoor.util.unit;
+
+import com.payments.frontdoor.util.ResizableSlotSupplier;
+import io.temporal.worker.tuning.ActivitySlotInfo;
+import io.temporal.worker.tuning.SlotPermit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResizableSlotSupplierTest {
+
+    @Test
+    void tryReserveSlot_WhenLimitReached_ShouldReturnEmpty() {
+        // Arrange
+        ResizableSlotSupplier<ActivitySlotInfo> supplier = new ResizableSlotSupplier<>(2);
+
+        // Act
+        Optional<SlotPermit> first = supplier.tryReserveSlot(null);
+        Optional<SlotPermit> second = supplier.tryReserveSlot(null);
+        Optional<SlotPermit> third = supplier.tryReserveSlot(null);
+
+        // Assert
+        assertTrue(first.isPresent());
+        assertTrue(second.isPresent());
+        assertTrue(third.isEmpty());
+    }
+
+    @Test
+    void resize_WhenGrowing_ShouldAllowMoreSlotsImmediately() {
+        // Arrange
+        ResizableSlotSupplier<ActivitySlotInfo> supplier = new ResizableSlotSupplier<>(1);
+        supplier.tryReserveSlot(null);
+
+        // Act
+        supplier.resize(3);
+
+        // Assert
+        assertEquals(3, supplier.getLimit());
+        assertTrue(supplier.tryReserveSlot(null).isPresent());
+        assertTrue(supplier.tryReserveSlot(null).isPresent());
+        assertTrue(supplier.tryReserveSlot(null).isEmpty());
+    }
+
+    @Test
+    void resize_WhenShrinkingBelowSlotsInUse_ShouldWaitForReleases() {
+        // Arrange
+        ResizableSlotSupplier<ActivitySlotInfo> supplier = new ResizableSlotSupplier<>(3);
+        supplier.tryReserveSlot(null);
+        supplier.tryReserveSlot(null);
+
+        // Act
+        supplier.resize(1);
+        supplier.releaseSlot(null);
+
+        // Assert
+        assertTrue(supplier.tryReserveSlot(null).isEmpty());
+        supplier.releaseSlot(null);
+        assertTrue(supplier.tryReserveSlot(null).isPresent());
+    }
+
+    @Test
+    void resize_WithNonPositiveLimit_ShouldReject() {
+        // Arrange
+        ResizableSlotSupplier<ActivitySlotInfo> supplier = new ResizableSlotSupplier<>(3);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> supplier.resize(0));
+    }
+}
@@ -0,0 +1,86 @@
+package com.payments.frontdoor.util.unit;
+
+import com.payments.frontdoor.util.SingleFlight;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void execute_WithConcurrentCallsForSameKey_ShouldShareOneCall() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> rpc = new CompletableFuture<>();
+
+        // Act
+        SingleFlight.Call<String> first = singleFlight.execute("payment-1", () -> {
+            calls.incrementAndGet();
+            return rpc;
+        });
+        SingleFlight.Call<String> second = singleFlight.execute("payment-1", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        rpc.complete("RUNNING");
+
+        // Assert
+        assertEquals(1, calls.get());
+        assertFalse(first.shared());
+        assertTrue(second.shared());
+        assertEquals("RUNNING", first.result().join());
+        assertEquals("RUNNING", second.result().join());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void execute_AfterCallCompletes_ShouldStartNewCall() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        singleFlight.execute("payment-1", () -> CompletableFuture.completedFuture("v" + calls.incrementAndGet()));
+        SingleFlight.Call<String> next = singleFlight.execute("payment-1",
+                () -> CompletableFuture.completedFuture("v" + calls.incrementAndGet()));
+
+        // Assert
+        assertEquals(2, calls.get());
+        assertFalse(next.shared());
+        assertEquals("v2", next.result().join());
+    }
+
+    @Test
+    void execute_WhenCallerCancels_ShouldNotCancelSharedCall() {
+        // Arrange
+        CompletableFuture<String> rpc = new CompletableFuture<>();
+        SingleFlight.Call<String> first = singleFlight.execute("payment-1", () -> rpc);
+        SingleFlight.Call<String> second = singleFlight.execute("payment-1", () -> rpc);
+
+        // Act
+        first.result().cancel(true);
+        rpc.complete("COMPLETED");
+
+        // Assert
+        assertFalse(rpc.isCancelled());
+        assertEquals("COMPLETED", second.result().join());
+    }
+
+    @Test
+    void execute_WhenCallThrows_ShouldFailFutureAndReleaseKey() {
+        // Act
+        SingleFlight.Call<String> call = singleFlight.execute("payment-1", () -> {
+            throw new IllegalStateException("unavailable");
+        });
+
+        // Assert
+        CompletionException error = assertThrows(CompletionException.class, () -> call.result().join());
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertEquals(0, singleFlight.inFlight());
+    }
+}
@@ -0,0 +1,114 @@
+package com.payments.frontdoor.util.unit;
+
+import com.payments.frontdoor.config.PayloadCustomProperties;
+import com.payments.frontdoor.config.TemporalDataConverterConfig;
+import com.payments.frontdoor.model.PaymentDetails;
+import com.payments.frontdoor.model.PaymentInstruction;
+import com.payments.frontdoor.service.PayloadStore;
+import com.payments.frontdoor.swagger.model.Account;
+import com.payments.frontdoor.util.PaymentUtil;
+import com.payments.frontdoor.util.SmilePayloadConverter;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.DefaultDataConverter;
+import io.temporal.common.converter.EncodingKeys;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SmilePayloadConverterTest {
+
+    private final SmilePayloadConverter converter = new SmilePayloadConverter();
+
+    @Test
+    void toData_ShouldRoundTripPaymentInstruction() {
+        // Arrange
+        PaymentInstruction instruction = PaymentUtil.toPaymentInstruction(paymentDetails());
+
+        // Act
+        Payload payload = converter.toData(instruction).orElseThrow();
+        PaymentInstruction decoded = converter.fromData(payload, PaymentInstruction.class, PaymentInstruction.class);
+
+        // Assert
+        assertEquals(SmilePayloadConverter.ENCODING,
+                payload.getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY).toStringUtf8());
+        assertEquals(instruction, decoded);
+    }
+
+    @Test
+    void mainDataConverter_ByDefault_ShouldWriteJsonForRollingDeploys() {
+        // Arrange
+        DataConverter dataConverter = new TemporalDataConverterConfig().mainDataConverter(new PayloadCustomProperties(),
+                mock(PayloadStore.class));
+
+        // Act
+        Payload payload = dataConverter.toPayload(paymentDetails()).orElseThrow();
+
+        // Assert
+        assertEquals("json/plain", payload.getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY).toStringUtf8());
+    }
+
+    @Test
+    void mainDataConverter_ShouldReadJsonPayloadsFromExistingHistories() {
+        // Arrange
+        PayloadCustomProperties properties = new PayloadCustomProperties();
+        properties.setBinary(true);
+        DataConverter dataConverter = new TemporalDataConverterConfig().mainDataConverter(properties,
+                mock(PayloadStore.class));
+        PaymentDetails details = paymentDetails();
+        Payload jsonPayload = DefaultDataConverter.newDefaultInstance().toPayload(details).orElseThrow();
+
+        // Act
+        PaymentDetails decoded = dataConverter.fromPayload(jsonPayload, PaymentDetails.class, PaymentDetails.class);
+
+        // Assert
+        assertEquals(details, decoded);
+        assertEquals(SmilePayloadConverter.ENCODING, dataConverter.toPayload(details).orElseThrow()
+                .getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY).toStringUtf8());
+    }
+
+    @Test
+    void mainDataConverter_WithBinaryDisabled_ShouldWriteJsonAndReadSmile() {
+        // Arrange
+        PayloadCustomProperties properties = new PayloadCustomProperties();
+        properties.setBinary(false);
+        DataConverter dataConverter = new TemporalDataConverterConfig().mainDataConverter(properties, mock(PayloadStore.class));
+        PaymentDetails details = paymentDetails();
+        Payload smilePayload = converter.toData(details).orElseThrow();
+
+        // Act
+        PaymentDetails decoded = dataConverter.fromPayload(smilePayload, PaymentDetails.class, PaymentDetails.class);
+
+        // Assert
+        assertEquals(details, decoded);
+        assertEquals("json/plain", dataConverter.toPayload(details).orElseThrow()
+                .getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY).toStringUtf8());
+    }
+
+    private PaymentDetails paymentDetails() {
+        Account debtor = new Account();
+        debtor.setAccountNumber("123456789");
+        debtor.setAccountName("John Doe");
+        Account creditor = new Account();
+        creditor.setAccountNumber("987654321");
+        creditor.setAccountName("Jane Doe");
+
+        return PaymentDetails.builder()
+                .paymentId("12345")
+                .amount(new BigDecimal("100.00"))
+                .currency("AUD")
+                .paymentReference("REF123")
+                .debtor(debtor)
+                .creditor(creditor)
+                .paymentDate(LocalDate.of(2025, 1, 1))
+                .headers(Map.of(
+                        "CORRELATION_ID", "123e4567-e89b-12d3-a456-426614174000",
+                        "x-idempotency-key", "TRANS-12345"))
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.payments.frontdoor.workflow.benchmark;
+
+import io.temporal.activity.ActivityInterface;
+import io.temporal.activity.ActivityOptions;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.client.WorkflowStub;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import io.temporal.worker.WorkerOptions;
+import io.temporal.workflow.Workflow;
+import io.temporal.workflow.WorkflowInterface;
+import io.temporal.workflow.WorkflowMethod;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures activities per second for one worker when each activity blocks on a downstream call, with the
+ * activity executor on platform threads and on virtual threads. Run with {@code ./gradlew benchmark}; the
+ * numbers are logged, not asserted, since they depend on the machine.
+ */
+@Slf4j
+@Tag("benchmark")
+class ActivityThroughputBenchmarkTest {
+
+    private static final String TASK_QUEUE = "activity-throughput-benchmark";
+    private static final int PAYMENTS = Integer.getInteger("benchmark.payments", 2000);
+    private static final Duration DOWNSTREAM_LATENCY = Duration.ofMillis(Long.getLong("benchmark.latencyMs", 200));
+
+    @Test
+    void platformThreads() {
+        run("platform", WorkerOptions.newBuilder()
+                .setMaxConcurrentActivityExecutionSize(200)
+                .build());
+    }
+
+    @Test
+    void virtualThreads() {
+        run("virtual", WorkerOptions.newBuilder()
+                .setMaxConcurrentActivityExecutionSize(PAYMENTS)
+                .setUsingVirtualThreads(true)
+                .build());
+    }
+
+    private void run(String label, WorkerOptions workerOptions) {
+        try (TestWorkflowEnvironment environment = TestWorkflowEnvironment.newInstance()) {
+            Worker worker = environment.newWorker(TASK_QUEUE, workerOptions);
+            worker.registerWorkflowImplementationTypes(BlockingWorkflowImpl.class);
+            worker.registerActivitiesImplementations(new BlockingActivityImpl());
+            environment.start();
+
+            WorkflowClient client = environment.getWorkflowClient();
+            long started = System.nanoTime();
+            List<WorkflowStub> stubs = new ArrayList<>(PAYMENTS);
+            for (int i = 0; i < PAYMENTS; i++) {
+                BlockingWorkflow workflow = client.newWorkflowStub(BlockingWorkflow.class, WorkflowOptions.newBuilder()
+                        .setTaskQueue(TASK_QUEUE)
+                        .setWorkflowId(label + "-" + i)
+                        .build());
+                WorkflowClient.start(workflow::process);
+                stubs.add(WorkflowStub.fromTyped(workflow));
+            }
+            int completed = 0;
+            for (WorkflowStub stub : stubs) {
+                completed += stub.getResult(Integer.class);
+            }
+            double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+            assertEquals(PAYMENTS, completed);
+            log.info("{} threads: {} activities in {} s = {} activities/s ({} ms downstream latency)", label,
+                    PAYMENTS, String.format("%.2f", seconds), String.format("%.0f", PAYMENTS / seconds),
+                    DOWNSTREAM_LATENCY.toMillis());
+        }
+    }
+
+    @WorkflowInterface
+    public interface BlockingWorkflow {
+        @WorkflowMethod
+        int process();
+    }
+
+    public static class BlockingWorkflowImpl implements BlockingWorkflow {
+        private final BlockingActivity activity = Workflow.newActivityStub(BlockingActivity.class,
+                ActivityOptions.newBuilder().setStartToCloseTimeout(Duration.ofSeconds(30)).build());
+
+        @Override
+        public int process() {
+            return activity.callDownstream();
+        }
+    }
+
+    @ActivityInterface
+    public interface BlockingActivity {
+        int callDownstream();
+    }
+
+    public static class BlockingActivityImpl implements BlockingActivity {
+        @Override
+        public int callDownstream() {
+            try {
+                Thread.sleep(DOWNSTREAM_LATENCY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.payments.frontdoor.workflow.benchmark;
+
+import com.payments.frontdoor.config.PayloadCustomProperties;
+import com.payments.frontdoor.config.TemporalDataConverterConfig;
+import com.payments.frontdoor.model.CrossBoarderPaymentDetails;
+import com.payments.frontdoor.model.PaymentDetails;
+import com.payments.frontdoor.service.FileSystemPayloadStore;
+import com.payments.frontdoor.swagger.model.Account;
+import com.payments.frontdoor.swagger.model.CrossBorderPaymentRequestBeneficiary;
+import com.payments.frontdoor.swagger.model.CrossBorderPaymentRequestCustomer;
+import com.payments.frontdoor.swagger.model.CrossBorderPaymentRequestFees;
+import com.payments.frontdoor.swagger.model.CrossBorderPaymentRequestTransactionDetails;
+import com.payments.frontdoor.util.PaymentUtil;
+import io.temporal.api.common.v1.Payloads;
+import io.temporal.common.converter.DataConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares history payload bytes and codec time per payment type uncompressed, with LZ4 compression, and with
+ * compression plus claim-check, where history holds only content hashes. A domestic payment carries its details
+ * into the workflow and an instruction into each of its activities; a cross-border payment carries the full
+ * details into each of its saga activities. Run with {@code ./gradlew benchmark} and tune
+ * {@code -Dbenchmark.compressionThresholdBytes} and {@code -Dbenchmark.claimCheckThresholdBytes}; the numbers
+ * are logged, not asserted.
+ */
+@Slf4j
+@Tag("benchmark")
+class PayloadCompressionBenchmarkTest {
+
+    private static final int PAYMENTS = Integer.getInteger("benchmark.payments", 20000);
+    private static final long THRESHOLD_BYTES = Long.getLong("benchmark.compressionThresholdBytes", 256);
+    private static final long CLAIM_CHECK_THRESHOLD_BYTES = Long.getLong("benchmark.claimCheckThresholdBytes", 64);
+    private static final int DOMESTIC_ACTIVITIES = 8;
+    private static final int CROSS_BORDER_ACTIVITIES = 9;
+
+    @Test
+    void payloadCompression(@TempDir Path storeDirectory) {
+        PaymentDetails domestic = paymentDetails();
+        Object instruction = PaymentUtil.toPaymentInstruction(domestic);
+        CrossBoarderPaymentDetails crossBorder = crossBorderPaymentDetails();
+
+        for (String mode : new String[]{"uncompressed", "lz4", "lz4+claim-check"}) {
+            PayloadCustomProperties properties = new PayloadCustomProperties();
+            properties.setBinary(true);
+            properties.setCompression(!mode.equals("uncompressed"));
+            properties.setCompressionThreshold(DataSize.ofBytes(THRESHOLD_BYTES));
+            properties.setClaimCheck(mode.endsWith("claim-check"));
+            properties.setClaimCheckThreshold(DataSize.ofBytes(CLAIM_CHECK_THRESHOLD_BYTES));
+            DataConverter converter = new TemporalDataConverterConfig().mainDataConverter(properties,
+                    new FileSystemPayloadStore(storeDirectory));
+
+            measure(mode + " domestic", converter, domestic, instruction, DOMESTIC_ACTIVITIES);
+            measure(mode + " cross-border", converter, crossBorder, crossBorder, CROSS_BORDER_ACTIVITIES);
+        }
+    }
+
+    private void measure(String label, DataConverter converter, Object input, Object activityInput, int activities) {
+        // Warm up the mapper and codec before timing
+        history(converter, input, activityInput, activities);
+
+        long bytes = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < PAYMENTS; i++) {
+            bytes = history(converter, input, activityInput, activities);
+        }
+        double micros = (System.nanoTime() - started) / 1_000.0 / PAYMENTS;
+
+        log.info("{}: {} payload bytes per payment history, {} us to encode and decode them", label, bytes,
+                String.format("%.1f", micros));
+    }
+
+    private long history(DataConverter converter, Object input, Object activityInput, int activities) {
+        long bytes = roundTrip(converter, input);
+        for (int i = 0; i < activities; i++) {
+            bytes += roundTrip(converter, activityInput);
+        }
+        return bytes;
+    }
+
+    private long roundTrip(DataConverter converter, Object value) {
+        Payloads payloads = converter.toPayloads(value).orElseThrow();
+        assertEquals(value, converter.fromPayloads(0, Optional.of(payloads), value.getClass(), value.getClass()));
+        return payloads.getSerializedSize();
+    }
+
+    private PaymentDetails paymentDetails() {
+        Account debtor = new Account();
+        debtor.setAccountNumber("123456789");
+        debtor.setAccountName("John Doe");
+        Account creditor = new Account();
+        creditor.setAccountNumber("987654321");
+        creditor.setAccountName("Jane Doe");
+
+        return PaymentDetails.builder()
+                .paymentId("4b1c8a1e-8f59-3c2e-9a8e-2f1f6d5e7c21")
+                .amount(new BigDecimal("100.00"))
+                .currency("AUD")
+                .paymentReference("REF123")
+                .debtor(debtor)
+                .creditor(creditor)
+                .paymentDate(LocalDate.of(2025, 1, 1))
+                .headers(headers())
+                .build();
+    }
+
+    private CrossBoarderPaymentDetails crossBorderPaymentDetails() {
+        CrossBorderPaymentRequestCustomer customer = new CrossBorderPaymentRequestCustomer();
+        customer.setAccountNumber("123456789");
+        customer.setCustomerId("123");
+        customer.setName("John Doe");
+        CrossBorderPaymentRequestBeneficiary beneficiary = new CrossBorderPaymentRequestBeneficiary();
+        beneficiary.setAccountNumber("987654321");
+        beneficiary.setName("Jane Smith");
+        beneficiary.setBankCode("Bank of America");
+        CrossBorderPaymentRequestTransactionDetails transactionDetails = new CrossBorderPaymentRequestTransactionDetails();
+        transactionDetails.setExchangeRate(1.0);
+        transactionDetails.setForeignCurrencyAmount(100D);
+        transactionDetails.description("Payment for goods");
+        CrossBorderPaymentRequestFees fees = new CrossBorderPaymentRequestFees();
+        fees.setTransferFee(10D);
+        fees.setTotalDebit(110D);
+
+        return CrossBoarderPaymentDetails.builder()
+                .paymentId("4b1c8a1e-8f59-3c2e-9a8e-2f1f6d5e7c22")
+                .paymentReference("REF124")
+                .customer(customer)
+                .beneficiary(beneficiary)
+                .transactionDetails(transactionDetails)
+                .fees(fees)
+                .headers(headers())
+                .build();
+    }
+
+    private Map<String, String> headers() {
+        return Map.of(
+                "CORRELATION_ID", "123e4567-e89b-12d3-a456-426614174000",
+                "x-idempotency-key", "TRANS-12345",
+                "Content-Type", "application/json",
+                "x-request-status", "201");
+    }
+}
@@ -0,0 +1,90 @@
+package com.payments.frontdoor.workflow.benchmark;
+
+import com.payments.frontdoor.model.PaymentDetails;
+import com.payments.frontdoor.model.PaymentInstruction;
+import com.payments.frontdoor.swagger.model.Account;
+import com.payments.frontdoor.util.PaymentUtil;
+import com.payments.frontdoor.util.SmilePayloadConverter;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.common.converter.JacksonJsonPayloadConverter;
+import io.temporal.common.converter.PayloadConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the payload bytes one payment adds to its history, and the time to encode and decode them, for the
+ * JSON and Smile converters. A payment carries its details into the workflow and the same instruction into
+ * each activity. Run with {@code ./gradlew benchmark}; the numbers are logged, not asserted.
+ */
+@Slf4j
+@Tag("benchmark")
+class PayloadEncodingBenchmarkTest {
+
+    private static final int PAYMENTS = Integer.getInteger("benchmark.payments", 20000);
+    private static final int ACTIVITIES_PER_PAYMENT = 8;
+
+    @Test
+    void payloadEncoding() {
+        PaymentDetails details = paymentDetails();
+        PaymentInstruction instruction = PaymentUtil.toPaymentInstruction(details);
+
+        for (PayloadConverter converter : new PayloadConverter[]{
+                new JacksonJsonPayloadConverter(), new SmilePayloadConverter()}) {
+            // Warm up the mapper's serializer caches before timing
+            encodeAndDecode(converter, details, instruction);
+
+            long bytes = 0;
+            long started = System.nanoTime();
+            for (int i = 0; i < PAYMENTS; i++) {
+                bytes = encodeAndDecode(converter, details, instruction);
+            }
+            double micros = (System.nanoTime() - started) / 1_000.0 / PAYMENTS;
+
+            log.info("{}: {} payload bytes per payment history, {} us to encode and decode them",
+                    converter.getEncodingType(), bytes, String.format("%.1f", micros));
+        }
+    }
+
+    private long encodeAndDecode(PayloadConverter converter, PaymentDetails details, PaymentInstruction instruction) {
+        Payload input = converter.toData(details).orElseThrow();
+        assertEquals(details, converter.fromData(input, PaymentDetails.class, PaymentDetails.class));
+        long bytes = input.getSerializedSize();
+        for (int i = 0; i < ACTIVITIES_PER_PAYMENT; i++) {
+            Payload activityInput = converter.toData(instruction).orElseThrow();
+            converter.fromData(activityInput, PaymentInstruction.class, PaymentInstruction.class);
+            bytes += activityInput.getSerializedSize();
+        }
+        return bytes;
+    }
+
+    private PaymentDetails paymentDetails() {
+        Account debtor = new Account();
+        debtor.setAccountNumber("123456789");
+        debtor.setAccountName("John Doe");
+        Account creditor = new Account();
+        creditor.setAccountNumber("987654321");
+        creditor.setAccountName("Jane Doe");
+
+        return PaymentDetails.builder()
+                .paymentId("4b1c8a1e-8f59-3c2e-9a8e-2f1f6d5e7c21")
+                .amount(new BigDecimal("100.00"))
+                .currency("AUD")
+                .paymentReference("REF123")
+                .debtor(debtor)
+                .creditor(creditor)
+                .paymentDate(LocalDate.of(2025, 1, 1))
+                .headers(Map.of(
+                        "CORRELATION_ID", "123e4567-e89b-12d3-a456-426614174000",
+                        "x-idempotency-key", "TRANS-12345",
+                        "Content-Type", "application/json",
+                        "x-request-status", "201"))
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.payments.frontdoor.workflow.benchmark;
+
+import io.temporal.activity.ActivityInterface;
+import io.temporal.activity.ActivityOptions;
+import io.temporal.activity.LocalActivityOptions;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import io.temporal.workflow.Workflow;
+import io.temporal.workflow.WorkflowInterface;
+import io.temporal.workflow.WorkflowMethod;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures end-to-end workflow latency for a cheap mapping step run as a regular activity, as a local activity
+ * and inline in the workflow, which is the choice made for payment initiation and the short HIGH priority
+ * steps. Run with {@code ./gradlew benchmark}; the numbers are logged, not asserted, since the in-memory test
+ * server has none of the network hops a real cluster adds to each activity task.
+ */
+@Slf4j
+@Tag("benchmark")
+class StepLatencyBenchmarkTest {
+
+    private static final String TASK_QUEUE = "step-latency-benchmark";
+    private static final int PAYMENTS = Integer.getInteger("benchmark.payments", 500);
+    private static final int STEPS = 3;
+
+    @Test
+    void stepLatency() {
+        try (TestWorkflowEnvironment environment = TestWorkflowEnvironment.newInstance()) {
+            Worker worker = environment.newWorker(TASK_QUEUE);
+            worker.registerWorkflowImplementationTypes(StepWorkflowImpl.class);
+            worker.registerActivitiesImplementations(new MappingActivityImpl());
+            environment.start();
+
+            WorkflowClient client = environment.getWorkflowClient();
+            for (Mode mode : Mode.values()) {
+                long[] latencies = new long[PAYMENTS];
+                for (int i = 0; i < PAYMENTS; i++) {
+                    StepWorkflow workflow = client.newWorkflowStub(StepWorkflow.class, WorkflowOptions.newBuilder()
+                            .setTaskQueue(TASK_QUEUE)
+                            .setWorkflowId(mode + "-" + i)
+                            .build());
+                    long started = System.nanoTime();
+                    assertEquals(STEPS, workflow.process(mode));
+                    latencies[i] = System.nanoTime() - started;
+                }
+                Arrays.sort(latencies);
+                log.info("{}: {} steps per payment, p50 {} ms, p99 {} ms over {} payments", mode, STEPS,
+                        millis(latencies[PAYMENTS / 2]), millis(latencies[PAYMENTS * 99 / 100]), PAYMENTS);
+            }
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+
+    public enum Mode {
+        ACTIVITY, LOCAL_ACTIVITY, IN_WORKFLOW
+    }
+
+    @WorkflowInterface
+    public interface StepWorkflow {
+        @WorkflowMethod
+        int process(Mode mode);
+    }
+
+    public static class StepWorkflowImpl implements StepWorkflow {
+        private final MappingActivity activity = Workflow.newActivityStub(MappingActivity.class,
+                ActivityOptions.newBuilder().setStartToCloseTimeout(Duration.ofSeconds(5)).build());
+        private final MappingActivity localActivity = Workflow.newLocalActivityStub(MappingActivity.class,
+                LocalActivityOptions.newBuilder().setStartToCloseTimeout(Duration.ofSeconds(1)).build());
+
+        @Override
+        public int process(Mode mode) {
+            int steps = 0;
+            for (int i = 0; i < STEPS; i++) {
+                steps += switch (mode) {
+                    case ACTIVITY -> activity.map(i);
+                    case LOCAL_ACTIVITY -> localActivity.map(i);
+                    case IN_WORKFLOW -> MappingActivityImpl.mapStep(i);
+                };
+            }
+            return steps;
+        }
+    }
+
+    @ActivityInterface
+    public interface MappingActivity {
+        int map(int step);
+    }
+
+    public static class MappingActivityImpl implements MappingActivity {
+        static int mapStep(int step) {
+            return step >= 0 ? 1 : 0;
+        }
+
+        @Override
+        public int map(int step) {
+            return mapStep(step);
+        }
+    }
+}
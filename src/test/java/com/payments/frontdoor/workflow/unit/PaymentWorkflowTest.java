@@ -2,19 +2,34 @@ package com.payments.frontdoor.workflow.unit;
 
 import com.payments.frontdoor.activities.PaymentActivityImpl;
 import com.payments.frontdoor.activities.PaymentStepStatus;
+import com.payments.frontdoor.config.AsyncCompletionCustomProperties;
+import com.payments.frontdoor.config.PaymentActivityCustomProperties;
+import com.payments.frontdoor.config.TemporalRpcCustomProperties;
+import com.payments.frontdoor.config.TemporalWorkflowConfig;
 import com.payments.frontdoor.model.*;
+import com.payments.frontdoor.service.ActivityTimelineBuilder;
+import com.payments.frontdoor.service.AsyncCompletionManager;
 import com.payments.frontdoor.service.PaymentApiConnector;
 import com.payments.frontdoor.service.PaymentDispatcherService;
+import com.payments.frontdoor.service.PaymentProcessService;
+import com.payments.frontdoor.service.PaymentStatusCache;
+import com.payments.frontdoor.service.TemporalQueryGateway;
 import com.payments.frontdoor.swagger.model.Account;
 import com.payments.frontdoor.swagger.model.PaymentResponse;
 import com.payments.frontdoor.workflows.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.temporal.api.enums.v1.WorkflowIdConflictPolicy;
+import io.temporal.api.enums.v1.WorkflowIdReusePolicy;
 import io.temporal.client.ActivityCompletionClient;
 import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowFailedException;
 import io.temporal.client.WorkflowOptions;
+import io.temporal.failure.ApplicationFailure;
 import io.temporal.testing.TestWorkflowEnvironment;
 import io.temporal.testing.TestWorkflowExtension;
 import io.temporal.testing.WorkflowInitialTime;
 import io.temporal.worker.Worker;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.extension.RegisterExtension;
@@ -22,11 +37,13 @@ import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -37,17 +54,35 @@ import static org.mockito.Mockito.*;
 @RunWith(MockitoJUnitRunner.class)
 class PaymentWorkflowTest {
 
+    // StartToClose timeout of the PaymentWorkflowImpl activities, including the asynchronously completed post
+    private static final Duration POST_START_TO_CLOSE_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration AUTHORIZATION_TIMEOUT = Duration.ofSeconds(10);
+
     private final PaymentDispatcherService paymentDispatcherService = mock(PaymentDispatcherService.class);
     private final PaymentApiConnector paymentApiConnector = mock(PaymentApiConnector.class);
+    private final ActivityCompletionClient completionClient = mock(ActivityCompletionClient.class);
+    private final AsyncCompletionManager asyncCompletionManager = new AsyncCompletionManager(
+            completionClient, new AsyncCompletionCustomProperties(), new SimpleMeterRegistry());
 
     @RegisterExtension
     public final TestWorkflowExtension testWorkflow =
             TestWorkflowExtension.newBuilder()
                     .registerWorkflowImplementationTypes(PaymentWorkflowImpl.class, RefundWorkflowImpl.class, ReportWorkflowImpl.class)
-                    .setActivityImplementations(new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService))
+                    .setActivityImplementations(new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService, asyncCompletionManager,
+                            new PaymentActivityCustomProperties()))
                     .setInitialTime(Instant.parse("2021-10-10T10:01:00Z"))
                     .build();
 
+    private PaymentProcessService paymentProcessService;
+
+    @AfterEach
+    void tearDown() {
+        asyncCompletionManager.shutdown();
+        if (paymentProcessService != null) {
+            paymentProcessService.shutdown();
+        }
+    }
+
     private PaymentDetails createPaymentDetails() {
         Account debtor = new Account();
         debtor.setAccountNumber("123456789");
@@ -228,4 +263,137 @@ class PaymentWorkflowTest {
                         Instant.ofEpochMilli(testEnv.currentTimeMillis()).truncatedTo(ChronoUnit.HOURS))
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUncompletedPostIsFailedBeforeStartToCloseTimeout(PaymentWorkflow workflow) {
+
+        when(paymentApiConnector.callOrderPayment(any(PaymentInstruction.class)))
+                .thenReturn(PaymentOrderResponse.builder().status("completed").build());
+        when(paymentApiConnector.callAuthorizePayment(any(PaymentInstruction.class)))
+                .thenReturn(PaymentAuthorizationResponse.builder().status("success").build());
+        AtomicLong dispatchedAt = new AtomicLong();
+        doAnswer(invocation -> {
+            // The Kafka event never arrives, so the task token is left outstanding
+            dispatchedAt.set(System.nanoTime());
+            return null;
+        }).when(paymentDispatcherService).dispatchPayment(any(), eq(PaymentStepStatus.POSTED), any());
+
+        WorkflowClient.start(workflow::processPayment, createPaymentDetails());
+
+        verify(completionClient, timeout(10_000)).completeExceptionally(any(byte[].class), any(ApplicationFailure.class));
+        Duration failedAfter = Duration.ofNanos(System.nanoTime() - dispatchedAt.get());
+        assertTrue(failedAfter.compareTo(POST_START_TO_CLOSE_TIMEOUT) < 0,
+                "Token failed after " + failedAfter + ", the server would already have timed the activity out");
+        assertEquals(0, asyncCompletionManager.outstandingCount());
+    }
+
+    @Test
+    void testAwaitAuthorizationReturnsAcspOnceAuthorized(
+            TestWorkflowEnvironment testEnv,
+            WorkflowClient workflowClient,
+            WorkflowOptions workflowOptions) {
+
+        when(paymentApiConnector.callOrderPayment(any(PaymentInstruction.class)))
+                .thenReturn(PaymentOrderResponse.builder().status("completed").build());
+        when(paymentApiConnector.callAuthorizePayment(any(PaymentInstruction.class)))
+                .thenReturn(PaymentAuthorizationResponse.builder().status("success").build());
+        PaymentProcessService paymentProcessService = paymentProcessService(testEnv, workflowClient, workflowOptions);
+
+        PaymentResponse response = paymentProcessService
+                .submitPaymentAndAwaitAuthorization(createPaymentDetails(), AUTHORIZATION_TIMEOUT)
+                .join();
+
+        assertEquals(PaymentResponse.StatusEnum.ACSP, response.getStatus());
+        assertEquals("12345", response.getPaymentId());
+    }
+
+    @Test
+    void testAwaitAuthorizationReturnsRjctWhenAuthorizationFails(
+            TestWorkflowEnvironment testEnv,
+            WorkflowClient workflowClient,
+            WorkflowOptions workflowOptions) {
+
+        when(paymentApiConnector.callOrderPayment(any(PaymentInstruction.class)))
+                .thenReturn(PaymentOrderResponse.builder().status("completed").build());
+        when(paymentApiConnector.callAuthorizePayment(any(PaymentInstruction.class)))
+                .thenReturn(PaymentAuthorizationResponse.builder().status("failed").build());
+        PaymentProcessService paymentProcessService = paymentProcessService(testEnv, workflowClient, workflowOptions);
+
+        PaymentResponse response = paymentProcessService
+                .submitPaymentAndAwaitAuthorization(createPaymentDetails(), AUTHORIZATION_TIMEOUT)
+                .join();
+
+        assertEquals(PaymentResponse.StatusEnum.RJCT, response.getStatus());
+    }
+
+    @Test
+    void testAwaitAuthorizationAfterWorkflowFailedReturnsRjct(
+            TestWorkflowEnvironment testEnv,
+            WorkflowClient workflowClient,
+            WorkflowOptions workflowOptions) {
+
+        when(paymentApiConnector.callOrderPayment(any(PaymentInstruction.class)))
+                .thenReturn(PaymentOrderResponse.builder().status("completed").build());
+        when(paymentApiConnector.callAuthorizePayment(any(PaymentInstruction.class)))
+                .thenReturn(PaymentAuthorizationResponse.builder().status("failed").build());
+        PaymentProcessService paymentProcessService = paymentProcessService(testEnv, workflowClient, workflowOptions);
+        PaymentDetails paymentDetails = createPaymentDetails();
+        paymentProcessService.submitPaymentAndAwaitAuthorization(paymentDetails, AUTHORIZATION_TIMEOUT).join();
+        assertThrows(WorkflowFailedException.class,
+                () -> workflowClient.newUntypedWorkflowStub(paymentDetails.getPaymentId())
+                        .getResult(PaymentResponse.class));
+
+        // A retried request sends the update again, after the workflow has closed
+        PaymentResponse response = paymentProcessService
+                .submitPaymentAndAwaitAuthorization(paymentDetails, AUTHORIZATION_TIMEOUT)
+                .join();
+
+        assertEquals(PaymentResponse.StatusEnum.RJCT, response.getStatus());
+    }
+
+    @Test
+    void testAwaitAuthorizationFallsBackToActcWhenUpdateWithStartIsSlow(WorkflowClient workflowClient) {
+        TemporalWorkflowConfig temporalWorkflowConfig = mock(TemporalWorkflowConfig.class);
+        when(temporalWorkflowConfig.sendPaymentWorkflowForUpdateWithStart(eq(workflowClient), any()))
+                .thenAnswer(invocation -> {
+                    // Stands in for an update-with-start that waits for a busy worker to accept the update
+                    Thread.sleep(2_000);
+                    throw new IllegalStateException("No worker accepted the update");
+                });
+        paymentProcessService = new PaymentProcessService(workflowClient, temporalWorkflowConfig,
+                mock(TemporalQueryGateway.class), mock(ActivityTimelineBuilder.class), mock(PaymentStatusCache.class),
+                new TemporalRpcCustomProperties(), new SimpleMeterRegistry());
+
+        long started = System.nanoTime();
+        PaymentResponse response = paymentProcessService
+                .submitPaymentAndAwaitAuthorization(createPaymentDetails(), Duration.ofMillis(200))
+                .join();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertEquals(PaymentResponse.StatusEnum.ACTC, response.getStatus());
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(1)) < 0, "Answered after " + elapsed);
+    }
+
+    /**
+     * The service under test, with update-with-start stubs on the extension's task queue instead of the
+     * production one.
+     */
+    private PaymentProcessService paymentProcessService(TestWorkflowEnvironment testEnv,
+                                                        WorkflowClient workflowClient,
+                                                        WorkflowOptions workflowOptions) {
+        TemporalWorkflowConfig temporalWorkflowConfig = mock(TemporalWorkflowConfig.class);
+        when(temporalWorkflowConfig.sendPaymentWorkflowForUpdateWithStart(eq(workflowClient), any()))
+                .thenAnswer(invocation -> workflowClient.newWorkflowStub(PaymentWorkflow.class,
+                        WorkflowOptions.newBuilder(workflowOptions)
+                                .setWorkflowId(invocation.getArgument(1))
+                                .setWorkflowIdReusePolicy(WorkflowIdReusePolicy.WORKFLOW_ID_REUSE_POLICY_REJECT_DUPLICATE)
+                                .setWorkflowIdConflictPolicy(WorkflowIdConflictPolicy.WORKFLOW_ID_CONFLICT_POLICY_USE_EXISTING)
+                                .build()));
+        TemporalQueryGateway temporalQueryGateway = new TemporalQueryGateway(testEnv.getWorkflowServiceStubs(),
+                workflowClient, new TemporalRpcCustomProperties(), new SimpleMeterRegistry());
+        paymentProcessService = new PaymentProcessService(workflowClient, temporalWorkflowConfig, temporalQueryGateway,
+                mock(ActivityTimelineBuilder.class), mock(PaymentStatusCache.class), new TemporalRpcCustomProperties(),
+                new SimpleMeterRegistry());
+        return paymentProcessService;
+    }
+}
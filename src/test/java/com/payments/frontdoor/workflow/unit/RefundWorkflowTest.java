@@ -1,6 +1,8 @@
 package com.payments.frontdoor.workflow.unit;
 
 import com.payments.frontdoor.activities.PaymentActivityImpl;
+import com.payments.frontdoor.config.PaymentActivityCustomProperties;
+import com.payments.frontdoor.service.AsyncCompletionManager;
 import com.payments.frontdoor.service.PaymentApiConnector;
 import com.payments.frontdoor.service.PaymentDispatcherService;
 import com.payments.frontdoor.swagger.model.Account;
@@ -36,12 +38,14 @@ class RefundWorkflowTest {
 
     PaymentDispatcherService paymentDispatcherService = Mockito.mock(PaymentDispatcherService.class);
     PaymentApiConnector paymentApiConnector = Mockito.mock(PaymentApiConnector.class);
+    AsyncCompletionManager asyncCompletionManager = Mockito.mock(AsyncCompletionManager.class);
 
     @RegisterExtension
     public  final TestWorkflowExtension testWorkflow =
             TestWorkflowExtension.newBuilder()
                     .registerWorkflowImplementationTypes(RefundWorkflowImpl.class, ReportWorkflowImpl.class)
-                   .setActivityImplementations(new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService))
+                   .setActivityImplementations(new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService, asyncCompletionManager,
+                            new PaymentActivityCustomProperties()))
                     .setInitialTime(Instant.parse("2021-10-10T10:01:00Z"))
                     .build();
 
@@ -1,7 +1,9 @@
 package com.payments.frontdoor.workflow.unit;
 
 import com.payments.frontdoor.activities.PaymentActivityImpl;
+import com.payments.frontdoor.config.PaymentActivityCustomProperties;
 import com.payments.frontdoor.model.PaymentInstruction;
+import com.payments.frontdoor.service.AsyncCompletionManager;
 import com.payments.frontdoor.service.PaymentApiConnector;
 import com.payments.frontdoor.service.PaymentDispatcherService;
 import com.payments.frontdoor.swagger.model.Account;
@@ -34,12 +36,14 @@ class ReportWorkflowTest {
 
     PaymentDispatcherService paymentDispatcherService = Mockito.mock(PaymentDispatcherService.class);
     PaymentApiConnector paymentApiConnector = Mockito.mock(PaymentApiConnector.class);
+    AsyncCompletionManager asyncCompletionManager = Mockito.mock(AsyncCompletionManager.class);
 
     @RegisterExtension
     public  final TestWorkflowExtension testWorkflow =
             TestWorkflowExtension.newBuilder()
                     .registerWorkflowImplementationTypes(ReportWorkflowImpl.class)
-                   .setActivityImplementations(new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService))
+                   .setActivityImplementations(new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService, asyncCompletionManager,
+                            new PaymentActivityCustomProperties()))
                     .setInitialTime(Instant.parse("2021-10-10T10:01:00Z"))
                     .build();
 
@@ -0,0 +1,363 @@
+package com.payments.frontdoor.workflow.unit;
+
+import com.payments.frontdoor.activities.PaymentActivity;
+import com.payments.frontdoor.activities.PaymentActivityImpl;
+import com.payments.frontdoor.activities.PaymentStepStatus;
+import com.payments.frontdoor.config.PaymentActivityCustomProperties;
+import com.payments.frontdoor.metrics.PaymentStepWorkerInterceptor;
+import com.payments.frontdoor.model.*;
+import com.payments.frontdoor.service.AsyncCompletionManager;
+import com.payments.frontdoor.service.PaymentApiConnector;
+import com.payments.frontdoor.service.PaymentDispatcherService;
+import com.payments.frontdoor.swagger.model.Account;
+import com.payments.frontdoor.swagger.model.PaymentResponse;
+import com.payments.frontdoor.util.PaymentUtil;
+import com.payments.frontdoor.workflows.HighPriorityWorkflow;
+import com.payments.frontdoor.workflows.HighPriorityWorkflowImpl;
+import com.payments.frontdoor.workflows.PaymentWorkflow;
+import com.payments.frontdoor.workflows.PaymentWorkflowImpl;
+import com.uber.m3.tally.RootScopeBuilder;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.temporal.activity.ActivityOptions;
+import io.temporal.api.enums.v1.EventType;
+import io.temporal.api.history.v1.HistoryEvent;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.common.RetryOptions;
+import io.temporal.common.WorkflowExecutionHistory;
+import io.temporal.common.reporter.MicrometerClientStatsReporter;
+import io.temporal.testing.TestEnvironmentOptions;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.testing.WorkflowReplayer;
+import io.temporal.worker.Worker;
+import io.temporal.worker.WorkerFactoryOptions;
+import io.temporal.workflow.Async;
+import io.temporal.workflow.Promise;
+import io.temporal.workflow.Workflow;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replays payment histories against the current workflow implementations, so a change to the commands a
+ * workflow issues cannot slip past its {@link Workflow#getVersion} guard. Histories from before initiation
+ * moved into the workflow are recorded from the legacy implementations kept below, which issue the commands
+ * the workflows did at the time. Posting is never completed, so each history stops at an open activity, the
+ * same as a payment still in flight when a worker is upgraded.
+ */
+@Timeout(value = 30, unit = TimeUnit.SECONDS)
+class WorkflowReplayTest {
+
+    private static final String TASK_QUEUE = "workflow-replay";
+    private static final String LOCAL_ACTIVITY_MARKER = "LocalActivity";
+
+    private final PaymentApiConnector paymentApiConnector = mock(PaymentApiConnector.class);
+    private final PaymentDispatcherService paymentDispatcherService = mock(PaymentDispatcherService.class);
+    private final AsyncCompletionManager asyncCompletionManager = mock(AsyncCompletionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TestWorkflowEnvironment testEnv;
+    private Worker worker;
+    private WorkflowClient workflowClient;
+
+    @BeforeEach
+    void setUp() {
+        testEnv = TestWorkflowEnvironment.newInstance(TestEnvironmentOptions.newBuilder()
+                .setWorkerFactoryOptions(WorkerFactoryOptions.newBuilder()
+                        .setWorkerInterceptors(new PaymentStepWorkerInterceptor())
+                        .build())
+                .setMetricsScope(new RootScopeBuilder()
+                        .reporter(new MicrometerClientStatsReporter(meterRegistry))
+                        .reportEvery(com.uber.m3.util.Duration.ofMillis(10)))
+                .build());
+        worker = testEnv.newWorker(TASK_QUEUE);
+        worker.registerActivitiesImplementations(new PaymentActivityImpl(paymentApiConnector, paymentDispatcherService,
+                asyncCompletionManager, new PaymentActivityCustomProperties()));
+        workflowClient = testEnv.getWorkflowClient();
+
+        when(paymentApiConnector.callOrderPayment(any(PaymentInstruction.class)))
+                .thenReturn(PaymentOrderResponse.builder().status("completed").build());
+        when(paymentApiConnector.callAuthorizePayment(any(PaymentInstruction.class)))
+                .thenReturn(PaymentAuthorizationResponse.builder().status("success").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        testEnv.close();
+    }
+
+    @Test
+    void replay_PaymentHistoryWithInitiationActivity_ShouldReplayOnCurrentWorkflow() throws Exception {
+        // Arrange
+        worker.registerWorkflowImplementationTypes(LegacyPaymentWorkflowImpl.class);
+        testEnv.start();
+        PaymentWorkflow workflow = workflowClient.newWorkflowStub(PaymentWorkflow.class, options("legacy-normal"));
+
+        // Act
+        WorkflowClient.start(workflow::processPayment, createPaymentDetails("legacy-normal"));
+        awaitStep(workflow::getCompletedSteps, PaymentStepStatus.INITIATED);
+        workflow.waitForStep(PaymentStepStatus.EXECUTED);
+        awaitStep(workflow::getCompletedSteps, PaymentStepStatus.RECONCILED);
+        WorkflowExecutionHistory history = workflowClient.fetchHistory("legacy-normal");
+
+        // Assert
+        assertEquals(1, scheduledActivities(history, "InitiatePayment"));
+        WorkflowReplayer.replayWorkflowExecution(history, PaymentWorkflowImpl.class);
+    }
+
+    @Test
+    void replay_PaymentHistoryWithInWorkflowInitiation_ShouldReplayOnCurrentWorkflow() throws Exception {
+        // Arrange
+        worker.registerWorkflowImplementationTypes(PaymentWorkflowImpl.class);
+        testEnv.start();
+        PaymentWorkflow workflow = workflowClient.newWorkflowStub(PaymentWorkflow.class, options("normal"));
+
+        // Act
+        WorkflowClient.start(workflow::processPayment, createPaymentDetails("normal"));
+        awaitStep(workflow::getCompletedSteps, PaymentStepStatus.INITIATED);
+        workflow.waitForStep(PaymentStepStatus.EXECUTED);
+        awaitStep(workflow::getCompletedSteps, PaymentStepStatus.RECONCILED);
+        WorkflowExecutionHistory history = workflowClient.fetchHistory("normal");
+
+        // Assert
+        assertEquals(0, scheduledActivities(history, "InitiatePayment"));
+        WorkflowReplayer.replayWorkflowExecution(history, PaymentWorkflowImpl.class);
+    }
+
+    @Test
+    void replay_HighPriorityHistoryWithActivitySteps_ShouldReplayOnCurrentWorkflow() throws Exception {
+        // Arrange
+        worker.registerWorkflowImplementationTypes(LegacyHighPriorityWorkflowImpl.class);
+        testEnv.start();
+        HighPriorityWorkflow workflow = workflowClient.newWorkflowStub(HighPriorityWorkflow.class, options("legacy-high"));
+
+        // Act
+        WorkflowClient.start(workflow::processPayment, createPaymentDetails("legacy-high"));
+        awaitStep(workflow::getCompletedSteps, PaymentStepStatus.NOTIFIED);
+        WorkflowExecutionHistory history = workflowClient.fetchHistory("legacy-high");
+
+        // Assert
+        assertAll(
+                () -> assertEquals(1, scheduledActivities(history, "InitiatePayment")),
+                () -> assertEquals(1, scheduledActivities(history, "ClearAndSettlePayment")),
+                () -> assertEquals(1, scheduledActivities(history, "SendNotification"))
+        );
+        WorkflowReplayer.replayWorkflowExecution(history, HighPriorityWorkflowImpl.class);
+    }
+
+    @Test
+    void replay_HighPriorityHistoryWithLocalSteps_ShouldReplayOnCurrentWorkflow() throws Exception {
+        // Arrange
+        worker.registerWorkflowImplementationTypes(HighPriorityWorkflowImpl.class);
+        testEnv.start();
+        HighPriorityWorkflow workflow = workflowClient.newWorkflowStub(HighPriorityWorkflow.class, options("high"));
+
+        // Act
+        WorkflowClient.start(workflow::processPayment, createPaymentDetails("high"));
+        awaitStep(workflow::getCompletedSteps, PaymentStepStatus.NOTIFIED);
+        WorkflowExecutionHistory history = workflowClient.fetchHistory("high");
+
+        // Assert
+        long localActivities = history.getEvents().stream()
+                .filter(event -> event.getEventType() == EventType.EVENT_TYPE_MARKER_RECORDED)
+                .filter(event -> LOCAL_ACTIVITY_MARKER.equals(event.getMarkerRecordedEventAttributes().getMarkerName()))
+                .count();
+        assertAll(
+                () -> assertEquals(2, localActivities),
+                () -> assertEquals(0, scheduledActivities(history, "InitiatePayment")),
+                () -> assertEquals(0, scheduledActivities(history, "ClearAndSettlePayment")),
+                () -> assertEquals(0, scheduledActivities(history, "SendNotification"))
+        );
+        WorkflowReplayer.replayWorkflowExecution(history, HighPriorityWorkflowImpl.class);
+    }
+
+    @Test
+    void processPayment_WithInWorkflowInitiation_ShouldRecordInitiatedStepLatency() {
+        // Arrange
+        worker.registerWorkflowImplementationTypes(HighPriorityWorkflowImpl.class);
+        testEnv.start();
+        HighPriorityWorkflow workflow = workflowClient.newWorkflowStub(HighPriorityWorkflow.class, options("metrics"));
+
+        // Act
+        WorkflowClient.start(workflow::processPayment, createPaymentDetails("metrics"));
+        awaitStep(workflow::getCompletedSteps, PaymentStepStatus.NOTIFIED);
+
+        // Assert
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> {
+                    Timer initiated = meterRegistry.find(PaymentStepWorkerInterceptor.STEP_LATENCY)
+                            .tags("from", "SUBMITTED", "to", PaymentStepStatus.INITIATED.name(),
+                                    "priority", PaymentPriority.HIGH.name())
+                            .timer();
+                    assertNotNull(initiated);
+                    assertEquals(1, initiated.count());
+                });
+    }
+
+    private WorkflowOptions options(String workflowId) {
+        return WorkflowOptions.newBuilder()
+                .setWorkflowId(workflowId)
+                .setTaskQueue(TASK_QUEUE)
+                .build();
+    }
+
+    private static void awaitStep(Supplier<Set<PaymentStepStatus>> completedSteps,
+                                  PaymentStepStatus step) {
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(10))
+                .pollInterval(Duration.ofMillis(50))
+                .until(() -> {
+                    Set<PaymentStepStatus> steps = completedSteps.get();
+                    return steps != null && steps.contains(step);
+                });
+    }
+
+    private static long scheduledActivities(WorkflowExecutionHistory history, String activityType) {
+        List<HistoryEvent> events = history.getEvents();
+        return events.stream()
+                .filter(event -> event.getEventType() == EventType.EVENT_TYPE_ACTIVITY_TASK_SCHEDULED)
+                .filter(event -> activityType.equals(
+                        event.getActivityTaskScheduledEventAttributes().getActivityType().getName()))
+                .count();
+    }
+
+    private static PaymentDetails createPaymentDetails(String paymentId) {
+        Account debtor = new Account();
+        debtor.setAccountNumber("123456789");
+        debtor.setAccountName("John Doe");
+        Account creditor = new Account();
+        creditor.setAccountNumber("987654321");
+        creditor.setAccountName("Jane Doe");
+
+        return PaymentDetails.builder()
+                .paymentId(paymentId)
+                .amount(new BigDecimal("100.00"))
+                .currency("AUD")
+                .paymentReference("REF123")
+                .priority(PaymentPriority.HIGH)
+                .debtor(debtor)
+                .creditor(creditor)
+                .paymentDate(LocalDate.now())
+                .headers(Map.of("CORRELATION_ID", "123e4567-e89b-12d3-a456-426614174000"))
+                .build();
+    }
+
+    private static PaymentActivity legacyActivities(Duration startToCloseTimeout, int maximumAttempts) {
+        return Workflow.newActivityStub(PaymentActivity.class, ActivityOptions.newBuilder()
+                .setRetryOptions(RetryOptions.newBuilder().setMaximumAttempts(maximumAttempts).build())
+                .setStartToCloseTimeout(startToCloseTimeout)
+                .build());
+    }
+
+    /**
+     * {@link PaymentWorkflowImpl} as it was before initiation moved into the workflow, up to posting.
+     */
+    public static class LegacyPaymentWorkflowImpl implements PaymentWorkflow {
+        private final PaymentActivity activities = legacyActivities(Duration.ofSeconds(2), 5);
+        private Set<PaymentStepStatus> steps;
+        private PaymentResponse authorizationResult;
+
+        @Override
+        public PaymentResponse processPayment(PaymentDetails paymentDetails) {
+            steps = new LinkedHashSet<>();
+            PaymentInstruction instruction = activities.initiatePayment(paymentDetails);
+            steps.add(PaymentStepStatus.INITIATED);
+
+            Promise<Boolean> isOrderValidPromise = Async.function(activities::managePaymentOrder, instruction);
+            Promise<Boolean> isAuthorizedPromise = Async.function(activities::authorizePayment, instruction);
+            Promise.allOf(isAuthorizedPromise, isOrderValidPromise).get();
+            authorizationResult = PaymentUtil.createPaymentResponse(instruction.getPaymentId(), PaymentResponse.StatusEnum.ACSP);
+
+            activities.executePayment(instruction);
+            Workflow.await(() -> steps.contains(PaymentStepStatus.EXECUTED));
+
+            Promise<PaymentStepStatus> clearAndSettlePromise = Async.function(activities::clearAndSettlePayment, instruction);
+            Promise<PaymentStepStatus> sendNotificationPromise = Async.function(activities::sendNotification, instruction);
+            Promise<PaymentStepStatus> reconcilePromise = Async.function(activities::reconcilePayment, instruction);
+            Promise.allOf(clearAndSettlePromise, sendNotificationPromise, reconcilePromise).get();
+            steps.add(clearAndSettlePromise.get());
+            steps.add(sendNotificationPromise.get());
+            steps.add(reconcilePromise.get());
+
+            steps.add(activities.postPayment(instruction));
+            return PaymentUtil.createPaymentResponse(instruction.getPaymentId(), PaymentResponse.StatusEnum.ACSC);
+        }
+
+        @Override
+        public void waitForStep(PaymentStepStatus paymentStepStatus) {
+            steps.add(paymentStepStatus);
+        }
+
+        @Override
+        public Set<PaymentStepStatus> getCompletedSteps() {
+            return steps;
+        }
+
+        @Override
+        public PaymentResponse awaitAuthorization() {
+            Workflow.await(() -> authorizationResult != null);
+            return authorizationResult;
+        }
+    }
+
+    /**
+     * {@link HighPriorityWorkflowImpl} as it was before initiation moved into the workflow and clearing and
+     * notification became local activities, up to posting.
+     */
+    public static class LegacyHighPriorityWorkflowImpl implements HighPriorityWorkflow {
+        private final PaymentActivity activities = legacyActivities(Duration.ofSeconds(1), 1);
+        private Set<PaymentStepStatus> steps;
+        private PaymentResponse authorizationResult;
+
+        @Override
+        public PaymentResponse processPayment(PaymentDetails paymentDetails) {
+            steps = new LinkedHashSet<>();
+            PaymentInstruction instruction = activities.initiatePayment(paymentDetails);
+            steps.add(PaymentStepStatus.INITIATED);
+
+            Promise<Boolean> isOrderValidPromise = Async.function(activities::managePaymentOrder, instruction);
+            Promise<Boolean> isAuthorizedPromise = Async.function(activities::authorizePayment, instruction);
+            Promise.allOf(isAuthorizedPromise, isOrderValidPromise).get();
+            authorizationResult = PaymentUtil.createPaymentResponse(instruction.getPaymentId(), PaymentResponse.StatusEnum.ACSP);
+
+            Promise<PaymentStepStatus> clearAndSettlePromise = Async.function(activities::clearAndSettlePayment, instruction);
+            Promise<PaymentStepStatus> sendNotificationPromise = Async.function(activities::sendNotification, instruction);
+            Promise.allOf(clearAndSettlePromise, sendNotificationPromise).get();
+            steps.add(clearAndSettlePromise.get());
+            steps.add(sendNotificationPromise.get());
+
+            steps.add(activities.postPayment(instruction));
+            return PaymentUtil.createPaymentResponse(instruction.getPaymentId(), PaymentResponse.StatusEnum.ACSC);
+        }
+
+        @Override
+        public Set<PaymentStepStatus> getCompletedSteps() {
+            return steps;
+        }
+
+        @Override
+        public PaymentResponse awaitAuthorization() {
+            Workflow.await(() -> authorizationResult != null);
+            return authorizationResult;
+        }
+    }
+}